@@ -0,0 +1,141 @@
+package uk.ac.soton.comp1206.bench;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Stored benchmark results to compare new runs against. Each line of the file holds a benchmark and its parameters,
+ * its average time in nanoseconds and the bytes it allocates per operation, separated by tabs.
+ */
+public class Baseline {
+
+    /**
+     * Name of the secondary result the GC profiler reports allocation per operation under
+     */
+    private static final String ALLOCATION = "gc.alloc.rate.norm";
+
+    /**
+     * Allocation differences smaller than this many bytes per operation are ignored as noise
+     */
+    private static final double ALLOCATION_SLACK = 16;
+
+    /**
+     * Time and allocation of each benchmark, by key
+     */
+    private final TreeMap<String, double[]> entries = new TreeMap<>();
+
+    /**
+     * Create a baseline from the results of a run.
+     *
+     * @param results results of a run with the GC profiler
+     * @return baseline
+     */
+    public static Baseline of(Collection<RunResult> results) {
+        Baseline baseline = new Baseline();
+        for (RunResult result : results) {
+            double allocation = Double.NaN;
+            for (Map.Entry<String, Result> secondary : result.getSecondaryResults().entrySet()) {
+                if (secondary.getKey().endsWith(ALLOCATION)) {
+                    allocation = secondary.getValue().getScore();
+                }
+            }
+            baseline.entries.put(key(result.getParams()), new double[]{result.getPrimaryResult().getScore(),
+                    allocation});
+        }
+        return baseline;
+    }
+
+    /**
+     * Load a baseline from a file.
+     *
+     * @param path file to load
+     * @return baseline
+     * @throws IOException if the file could not be read or is malformed
+     */
+    public static Baseline load(Path path) throws IOException {
+        Baseline baseline = new Baseline();
+        for (String line : Files.readAllLines(path)) {
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split("\t");
+            if (fields.length != 3) {
+                throw new IOException("Malformed baseline line: " + line);
+            }
+            try {
+                baseline.entries.put(fields[0], new double[]{Double.parseDouble(fields[1]),
+                        Double.parseDouble(fields[2])});
+            } catch (NumberFormatException e) {
+                throw new IOException("Malformed baseline line: " + line, e);
+            }
+        }
+        return baseline;
+    }
+
+    /**
+     * Save the baseline to a file.
+     *
+     * @param path file to write
+     * @throws IOException if the file could not be written
+     */
+    public void save(Path path) throws IOException {
+        StringBuilder result = new StringBuilder("# benchmark\tns/op\tB/op\n");
+        for (Map.Entry<String, double[]> entry : entries.entrySet()) {
+            result.append(entry.getKey()).append("\t").append(entry.getValue()[0]).append("\t")
+                    .append(entry.getValue()[1]).append("\n");
+        }
+        Files.writeString(path, result.toString());
+    }
+
+    /**
+     * Compare a run against this baseline. Benchmarks missing from either side are skipped.
+     *
+     * @param current   baseline built from the new run
+     * @param threshold fraction by which a time or allocation may grow before it counts as a regression
+     * @return a description of each regression, empty if there are none
+     */
+    public List<String> compare(Baseline current, double threshold) {
+        ArrayList<String> regressions = new ArrayList<>();
+        for (Map.Entry<String, double[]> entry : current.entries.entrySet()) {
+            double[] base = entries.get(entry.getKey());
+            if (base == null) {
+                continue;
+            }
+            double[] now = entry.getValue();
+            if (now[0] > base[0] * (1 + threshold)) {
+                regressions.add(String.format("%s: %.1f ns/op, baseline %.1f", entry.getKey(), now[0], base[0]));
+            }
+            if (!Double.isNaN(base[1])
+                    && now[1] > base[1] + Math.max(ALLOCATION_SLACK, base[1] * threshold)) {
+                regressions.add(String.format("%s: %.0f B/op, baseline %.0f", entry.getKey(), now[1], base[1]));
+            }
+        }
+        return regressions;
+    }
+
+    /**
+     * Build the key identifying a benchmark and its parameters.
+     *
+     * @param params parameters of the run
+     * @return key
+     */
+    private static String key(BenchmarkParams params) {
+        String benchmark = params.getBenchmark();
+        StringBuilder key = new StringBuilder(benchmark.substring(benchmark.lastIndexOf('.',
+                benchmark.lastIndexOf('.') - 1) + 1));
+        for (String param : params.getParamsKeys()) {
+            key.append(" ").append(param).append("=").append(params.getParam(param));
+        }
+        return key.toString();
+    }
+}
@@ -0,0 +1,84 @@
+package uk.ac.soton.comp1206.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Runs the benchmarks with the GC profiler and compares the results against a stored baseline.
+ * <p>
+ * Options: {@code --baseline <file>} to compare against, {@code --update} to write the results to the baseline
+ * instead, and {@code --threshold <fraction>} for how much slower a benchmark may get, 0.15 by default. Any other
+ * arguments are passed to JMH, e.g. a benchmark name pattern. A benchmark which throws, such as a failed round trip
+ * check, fails the run.
+ */
+public class BenchmarkRunner {
+
+    /**
+     * Default fraction by which a benchmark may get slower before it counts as a regression
+     */
+    private static final double DEFAULT_THRESHOLD = 0.15;
+
+    /**
+     * Run the benchmarks.
+     *
+     * @param args options described above
+     * @throws IOException      if the baseline could not be read or written
+     * @throws RunnerException  if the benchmarks failed
+     * @throws CommandLineOptionException if the JMH arguments were invalid
+     */
+    public static void main(String[] args) throws IOException, RunnerException, CommandLineOptionException {
+        Path baselinePath = null;
+        boolean update = false;
+        double threshold = DEFAULT_THRESHOLD;
+        ArrayList<String> jmhArgs = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--baseline" -> baselinePath = Path.of(args[++i]);
+                case "--update" -> update = true;
+                case "--threshold" -> threshold = Double.parseDouble(args[++i]);
+                default -> jmhArgs.add(args[i]);
+            }
+        }
+
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(jmhArgs.toArray(new String[0])))
+                .addProfiler(GCProfiler.class)
+                .shouldFailOnError(true)
+                .build();
+        Collection<RunResult> results = new Runner(options).run();
+        Baseline current = Baseline.of(results);
+
+        if (baselinePath == null) {
+            return;
+        }
+        if (update || Files.notExists(baselinePath)) {
+            current.save(baselinePath);
+            System.out.println("Baseline written to " + baselinePath);
+            return;
+        }
+
+        List<String> regressions = Baseline.load(baselinePath).compare(current, threshold);
+        if (regressions.isEmpty()) {
+            System.out.println("No regressions against " + baselinePath);
+            return;
+        }
+        System.out.println(regressions.size() + " regressions against " + baselinePath + ":");
+        for (String regression : regressions) {
+            System.out.println("  " + regression);
+        }
+        System.exit(1);
+    }
+}
@@ -0,0 +1,122 @@
+package uk.ac.soton.comp1206.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.ac.soton.comp1206.game.Grid;
+import uk.ac.soton.comp1206.game.MultiplayerGame;
+import uk.ac.soton.comp1206.network.BoardEncoder;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the round trip of a board update through BoardEncoder, at several snapshot intervals.
+ * <p>
+ * Each update changes a few random cells, is encoded as the client would send it, and is decoded onto a stand-in for
+ * the server's board, which must then match the client's grid or the benchmark fails. Every iteration replays the same
+ * updates from an empty server board, so the first message is always a full board. The bytes sent, and the bytes full
+ * boards would have taken, are printed at the end of each trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BoardDeltaBenchmark {
+
+    /**
+     * Most cells changed by one update, as many as a piece places
+     */
+    private static final int MAX_CHANGES = 5;
+
+    /**
+     * Width and height of the grid
+     */
+    @Param({"5", "10", "20"})
+    public int size;
+
+    /**
+     * Number of boards sent between full boards
+     */
+    @Param({"1", "5", "50"})
+    public int interval;
+
+    private Grid grid;
+    private int[] server;
+    private BoardEncoder encoder;
+    private SplittableRandom random;
+
+    /**
+     * Bytes sent, and bytes full boards would have taken, over the whole trial
+     */
+    private long sentBytes = 0;
+    private long fullBytes = 0;
+
+    /**
+     * Start again from an empty grid, an empty server board and a fresh encoder.
+     */
+    @Setup(Level.Iteration)
+    public void setup() {
+        grid = new Grid(size, size);
+        server = new int[size * size];
+        encoder = new BoardEncoder();
+        encoder.setSnapshotInterval(interval);
+        random = new SplittableRandom(Boards.SEED);
+    }
+
+    /**
+     * Report how much of the bandwidth of full boards was used.
+     */
+    @TearDown(Level.Trial)
+    public void report() {
+        System.out.printf("%nInterval %d, %dx%d: sent %d of %d bytes, %.1f%%%n", interval, size, size, sentBytes,
+                fullBytes, fullBytes == 0 ? 0 : 100.0 * sentBytes / fullBytes);
+    }
+
+    /**
+     * Change a few cells, send the board and apply it to the server's board, then check the two match.
+     *
+     * @return message sent, or null if nothing changed
+     */
+    @Benchmark
+    public String roundTrip() {
+        int changes = 1 + random.nextInt(MAX_CHANGES);
+        for (int i = 0; i < changes; i++) {
+            grid.set(random.nextInt(size), random.nextInt(size), random.nextInt(16));
+        }
+
+        // Without the encoder every board would be sent in full, changed or not
+        String message = "BOARD " + MultiplayerGame.encodeBoardStatus(grid);
+        fullBytes += message.length();
+        String sent = encoder.encode(message);
+        if (sent == null) {
+            return null;
+        }
+        if (!BoardEncoder.decode(server, sent)) {
+            throw new IllegalStateException("Server could not apply: " + sent);
+        }
+        sentBytes += sent.length();
+
+        // Cells are sent column by column
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++) {
+                if (server[x * size + y] != grid.get(x, y)) {
+                    throw new IllegalStateException("Server board differs from the client at " + x + "," + y);
+                }
+            }
+        }
+        return sent;
+    }
+}
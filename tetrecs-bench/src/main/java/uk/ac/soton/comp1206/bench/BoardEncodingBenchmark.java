@@ -0,0 +1,63 @@
+package uk.ac.soton.comp1206.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.ac.soton.comp1206.game.Grid;
+import uk.ac.soton.comp1206.game.MultiplayerGame;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for encoding the board to send to the multiplayer server.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BoardEncodingBenchmark {
+
+    /**
+     * Width and height of the grid
+     */
+    @Param({"5", "10", "20"})
+    public int size;
+
+    /**
+     * Fraction of cells filled
+     */
+    @Param({"0.0", "0.3", "0.6"})
+    public double density;
+
+    private Grid grid;
+
+    /**
+     * Fill the grid.
+     */
+    @Setup
+    public void setup() {
+        grid = new Grid(size, size);
+        Boards.fill(grid, density, new SplittableRandom(Boards.SEED));
+    }
+
+    /**
+     * Encode the whole board.
+     *
+     * @return encoded board
+     */
+    @Benchmark
+    public String encodeBoardStatus() {
+        return MultiplayerGame.encodeBoardStatus(grid);
+    }
+}
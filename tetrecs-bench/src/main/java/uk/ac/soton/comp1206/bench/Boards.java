@@ -0,0 +1,65 @@
+package uk.ac.soton.comp1206.bench;
+
+import uk.ac.soton.comp1206.game.Grid;
+
+import java.util.SplittableRandom;
+
+/**
+ * Builds the boards the benchmarks run on, filled to a given density with a fixed seed so every run sees the same
+ * boards.
+ */
+final class Boards {
+
+    /**
+     * Seed for the cells filled on every board
+     */
+    static final long SEED = 1206;
+
+    private Boards() {
+    }
+
+    /**
+     * Fill a fraction of the cells of a grid with random colours.
+     *
+     * @param grid    grid to fill
+     * @param density fraction of cells to fill, between 0 and 1
+     * @param random  random source
+     */
+    static void fill(Grid grid, double density, SplittableRandom random) {
+        for (int y = 0; y < grid.getRows(); y++) {
+            for (int x = 0; x < grid.getCols(); x++) {
+                grid.set(x, y, random.nextDouble() < density ? 1 + random.nextInt(15) : 0);
+            }
+        }
+    }
+
+    /**
+     * Copy the value of every cell of a grid.
+     *
+     * @param grid grid to copy
+     * @return values indexed by y * cols + x
+     */
+    static int[] snapshot(Grid grid) {
+        int[] cells = new int[grid.getCols() * grid.getRows()];
+        for (int y = 0; y < grid.getRows(); y++) {
+            for (int x = 0; x < grid.getCols(); x++) {
+                cells[y * grid.getCols() + x] = grid.get(x, y);
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * Put every cell of a grid back to a snapshot.
+     *
+     * @param grid  grid to restore
+     * @param cells values taken by snapshot
+     */
+    static void restore(Grid grid, int[] cells) {
+        for (int y = 0; y < grid.getRows(); y++) {
+            for (int x = 0; x < grid.getCols(); x++) {
+                grid.set(x, y, cells[y * grid.getCols() + x]);
+            }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package uk.ac.soton.comp1206.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.ac.soton.comp1206.game.Game;
+import uk.ac.soton.comp1206.game.GamePiece;
+import uk.ac.soton.comp1206.game.Grid;
+import uk.ac.soton.comp1206.game.PieceSource;
+import uk.ac.soton.comp1206.game.SingleplayerGame;
+import uk.ac.soton.comp1206.timer.GameScheduler;
+import uk.ac.soton.comp1206.timer.VirtualScheduler;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for Game.afterPiece, both when the last piece clears nothing and when it completes a row and a column.
+ * <p>
+ * Clearing lines changes the board, score, level and multiplier, so every clearing invocation first puts the whole game
+ * back and plays the dot again. Per-invocation setup would cost more timing error than an operation this short takes,
+ * so the restore is timed with it instead, and {@link #restoreClearing} times the restore alone: subtract it from
+ * {@link #afterPieceClearsLines} for the cost of afterPiece.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameBenchmark {
+
+    /**
+     * Width and height of the grid
+     */
+    @Param({"5", "10", "20"})
+    public int size;
+
+    /**
+     * Fraction of cells filled
+     */
+    @Param({"0.0", "0.3", "0.6"})
+    public double density;
+
+    private BenchGame clearing;
+    private int[] clearingBoard;
+    private Game quiet;
+
+    /**
+     * Create the games. The clearing game has row 0 and column 0 full apart from the corner, which a dot fills.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        clearing = createGame();
+        Grid grid = clearing.getGrid();
+        for (int i = 1; i < size; i++) {
+            grid.set(i, 0, 1);
+            grid.set(0, i, 1);
+        }
+        grid.set(0, 0, 0);
+        clearingBoard = Boards.snapshot(grid);
+
+        // The quiet game has a dot played in the corner of an otherwise empty row and column
+        quiet = createGame();
+        quiet.getGrid().set(0, 0, 0);
+        for (int i = 1; i < size; i++) {
+            quiet.getGrid().set(i, 0, 0);
+            quiet.getGrid().set(0, i, 0);
+        }
+        quiet.getGrid().playPiece(GamePiece.createPiece(3), 0, 0);
+    }
+
+    /**
+     * Put the clearing game back as it was set up and play the dot which completes its lines.
+     */
+    private void restore() {
+        clearing.resetState();
+        Grid grid = clearing.getGrid();
+        Boards.restore(grid, clearingBoard);
+        grid.playPiece(GamePiece.createPiece(3), 0, 0);
+    }
+
+    /**
+     * Check for lines after a piece that clears nothing.
+     *
+     * @return score
+     */
+    @Benchmark
+    public int afterPieceNoLines() {
+        quiet.afterPiece();
+        return quiet.getScore();
+    }
+
+    /**
+     * Restore the clearing game and clear the full row and column the dot completes.
+     *
+     * @return score
+     */
+    @Benchmark
+    public int afterPieceClearsLines() {
+        restore();
+        clearing.afterPiece();
+        return clearing.getScore();
+    }
+
+    /**
+     * Restore the clearing game without clearing anything, to subtract from afterPieceClearsLines.
+     *
+     * @return score
+     */
+    @Benchmark
+    public int restoreClearing() {
+        restore();
+        return clearing.getScore();
+    }
+
+    /**
+     * Create a started game on a virtual clock, with its board filled.
+     *
+     * @return game
+     */
+    private BenchGame createGame() {
+        BenchGame game = new BenchGame(size, new VirtualScheduler(), new PieceSource(Boards.SEED));
+        game.start();
+        Boards.fill(game.getGrid(), density, new SplittableRandom(Boards.SEED));
+        return game;
+    }
+
+    /**
+     * A single player game whose score, level, lives and multiplier can be put back between invocations.
+     */
+    private static class BenchGame extends SingleplayerGame {
+
+        /**
+         * Create a new square game.
+         *
+         * @param size      width and height of the grid
+         * @param scheduler scheduler for the game loop
+         * @param pieces    source of pieces
+         */
+        BenchGame(int size, GameScheduler scheduler, PieceSource pieces) {
+            super(size, size, scheduler, pieces);
+        }
+
+        /**
+         * Reset score, level, lives and multiplier to their values at the start of a game.
+         */
+        @Override
+        public void resetState() {
+            super.resetState();
+        }
+    }
+}
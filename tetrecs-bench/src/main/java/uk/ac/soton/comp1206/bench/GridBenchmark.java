@@ -0,0 +1,138 @@
+package uk.ac.soton.comp1206.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.ac.soton.comp1206.game.GamePiece;
+import uk.ac.soton.comp1206.game.Grid;
+
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for testing and playing pieces on a Grid.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GridBenchmark {
+
+    /**
+     * Number of placements cycled through, a power of two
+     */
+    private static final int PLACEMENTS = 1024;
+
+    /**
+     * Width and height of the grid
+     */
+    @Param({"5", "10", "20"})
+    public int size;
+
+    /**
+     * Fraction of cells filled
+     */
+    @Param({"0.0", "0.3", "0.6"})
+    public double density;
+
+    private Grid grid;
+
+    /**
+     * Pieces and origins to test, legal or not
+     */
+    private final GamePiece[] testPieces = new GamePiece[PLACEMENTS];
+    private final int[] testX = new int[PLACEMENTS];
+    private final int[] testY = new int[PLACEMENTS];
+    private int test;
+
+    /**
+     * Pieces and origins which can be played
+     */
+    private GamePiece[] playPieces;
+    private int[] playX;
+    private int[] playY;
+    private int play;
+
+    /**
+     * Fill the grid and pick the placements to cycle through.
+     */
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(Boards.SEED);
+        grid = new Grid(size, size);
+        Boards.fill(grid, density, random);
+
+        ArrayList<int[]> legal = new ArrayList<>();
+        for (int i = 0; i < PLACEMENTS; i++) {
+            GamePiece piece = GamePiece.createPiece(random.nextInt(GamePiece.PIECES), random.nextInt(4));
+            testPieces[i] = piece;
+            testX[i] = random.nextInt(-1, size - 1);
+            testY[i] = random.nextInt(-1, size - 1);
+        }
+        for (int attempt = 0; attempt < PLACEMENTS * 64 && legal.size() < PLACEMENTS; attempt++) {
+            int shape = random.nextInt(GamePiece.PIECES);
+            int rotation = random.nextInt(4);
+            int x = random.nextInt(-1, size - 1);
+            int y = random.nextInt(-1, size - 1);
+            if (grid.canPlayPiece(GamePiece.createPiece(shape, rotation), x, y)) {
+                legal.add(new int[]{shape, rotation, x, y});
+            }
+        }
+
+        // A full board may have nowhere to play, so fall back to testing a placement that fails
+        if (legal.isEmpty()) {
+            legal.add(new int[]{3, 0, -1, -1});
+        }
+        playPieces = new GamePiece[legal.size()];
+        playX = new int[legal.size()];
+        playY = new int[legal.size()];
+        for (int i = 0; i < legal.size(); i++) {
+            int[] placement = legal.get(i);
+            playPieces[i] = GamePiece.createPiece(placement[0], placement[1]);
+            playX[i] = placement[2];
+            playY[i] = placement[3];
+        }
+    }
+
+    /**
+     * Test whether a piece fits, cycling through legal and illegal placements.
+     *
+     * @return whether the piece fits
+     */
+    @Benchmark
+    public boolean canPlayPiece() {
+        int i = test++ & (PLACEMENTS - 1);
+        return grid.canPlayPiece(testPieces[i], testX[i], testY[i]);
+    }
+
+    /**
+     * Play a piece which fits and then empty its cells again, so the board is the same for every call.
+     *
+     * @return whether the piece was played
+     */
+    @Benchmark
+    public boolean playPiece() {
+        int i = play++ % playPieces.length;
+        GamePiece piece = playPieces[i];
+
+        // playPiece takes the centre of the piece
+        boolean played = grid.playPiece(piece, playX[i] + 1, playY[i] + 1);
+        if (played) {
+            for (int cell = 0; cell < piece.getCellCount(); cell++) {
+                grid.set(playX[i] + piece.getCellX(cell), playY[i] + piece.getCellY(cell), 0);
+            }
+        }
+        return played;
+    }
+}
@@ -0,0 +1,51 @@
+package uk.ac.soton.comp1206.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.ac.soton.comp1206.game.GamePiece;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for creating and rotating pieces.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PieceBenchmark {
+
+    private GamePiece piece = GamePiece.createPiece(1);
+    private int next;
+
+    /**
+     * Create each piece in turn.
+     *
+     * @return piece
+     */
+    @Benchmark
+    public GamePiece createPiece() {
+        next = next == GamePiece.PIECES - 1 ? 0 : next + 1;
+        return GamePiece.createPiece(next);
+    }
+
+    /**
+     * Rotate a piece once clockwise, keeping the result so it is rotated again next time.
+     *
+     * @return piece
+     */
+    @Benchmark
+    public GamePiece rotate() {
+        piece = piece.rotate();
+        return piece;
+    }
+}
@@ -0,0 +1,15 @@
+package uk.ac.soton.comp1206.component;
+
+/**
+ * Animation Listener is used to draw a frame of an effect run by an Animator.
+ */
+public interface AnimationListener {
+
+    /**
+     * Draw a frame of the effect.
+     *
+     * @param key   key of what is being animated, such as a cell index
+     * @param value progress of the effect, falling from 1 at the start to 0 on the last frame
+     */
+    void frame(int key, double value);
+}
@@ -0,0 +1,158 @@
+package uk.ac.soton.comp1206.component;
+
+import javafx.animation.AnimationTimer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Arrays;
+
+/**
+ * An Animator runs every effect on a board from a single pulse callback.
+ * <p>
+ * Effects are kept in a pool of slots allocated up front, one per key, so starting an effect never allocates and a
+ * whole board clearing at once still costs one pulse handler walking a packed array. Each effect is identified by an
+ * int key, such as a cell index; playing a key that is already running restarts it. The timer only runs while there
+ * are effects playing.
+ */
+public class Animator {
+
+    private static final Logger logger = LogManager.getLogger(Animator.class);
+
+    /**
+     * Key of the effect in each slot. Active effects are packed into the first count slots.
+     */
+    private final int[] keys;
+
+    /**
+     * Progress of the effect in each slot, falling from 1 to 0.
+     */
+    private final double[] values;
+
+    /**
+     * Amount the progress of the effect in each slot falls per frame.
+     */
+    private final double[] steps;
+
+    /**
+     * Listener drawing the effect in each slot.
+     */
+    private final AnimationListener[] listeners;
+
+    /**
+     * Slot holding each key, or -1 if the key is not playing.
+     */
+    private final int[] slots;
+
+    /**
+     * Number of effects playing.
+     */
+    private int count = 0;
+
+    /**
+     * Advances every effect once per pulse.
+     */
+    private final AnimationTimer timer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            pulse();
+        }
+    };
+
+    /**
+     * Create a new Animator for keys from 0 up to the given capacity.
+     *
+     * @param capacity number of keys, such as the number of cells on a board
+     */
+    public Animator(int capacity) {
+        this.keys = new int[capacity];
+        this.values = new double[capacity];
+        this.steps = new double[capacity];
+        this.listeners = new AnimationListener[capacity];
+        this.slots = new int[capacity];
+        Arrays.fill(slots, -1);
+    }
+
+    /**
+     * Play an effect, restarting it if the key is already playing.
+     *
+     * @param key      key of what is being animated
+     * @param frames   number of frames the effect lasts
+     * @param listener listener to draw each frame
+     */
+    public void play(int key, int frames, AnimationListener listener) {
+        int slot = slots[key];
+        if (slot < 0) {
+            slot = count++;
+            slots[key] = slot;
+            keys[slot] = key;
+        }
+        values[slot] = 1;
+        steps[slot] = 1.0 / frames;
+        listeners[slot] = listener;
+
+        if (count == 1) {
+            timer.start();
+        }
+    }
+
+    /**
+     * Stop an effect without drawing its last frame.
+     *
+     * @param key key of what is being animated
+     */
+    public void cancel(int key) {
+        if (slots[key] >= 0) {
+            remove(slots[key]);
+        }
+    }
+
+    /**
+     * Get the number of effects playing.
+     *
+     * @return number of effects
+     */
+    public int getActiveCount() {
+        return count;
+    }
+
+    /**
+     * Advance every effect by a frame, removing the ones that have finished.
+     */
+    private void pulse() {
+        int slot = 0;
+        while (slot < count) {
+            double value = Math.max(0, values[slot] - steps[slot]);
+            values[slot] = value;
+            listeners[slot].frame(keys[slot], value);
+
+            if (value > 0) {
+                slot++;
+            } else {
+                // The last slot moves into this one, so look at it again
+                remove(slot);
+            }
+        }
+    }
+
+    /**
+     * Free a slot by moving the last active effect into it.
+     *
+     * @param slot slot to free
+     */
+    private void remove(int slot) {
+        int last = --count;
+        slots[keys[slot]] = -1;
+        if (slot != last) {
+            keys[slot] = keys[last];
+            values[slot] = values[last];
+            steps[slot] = steps[last];
+            listeners[slot] = listeners[last];
+            slots[keys[slot]] = slot;
+        }
+        listeners[last] = null;
+        if (count == 0) {
+            logger.debug("All effects finished");
+            timer.stop();
+        }
+    }
+}
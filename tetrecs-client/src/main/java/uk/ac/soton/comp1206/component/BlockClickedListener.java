@@ -0,0 +1,16 @@
+package uk.ac.soton.comp1206.component;
+
+/**
+ * The Block Clicked listener is used to handle the event when a block in a board is clicked. It passes the column and
+ * row of the block that was clicked in the message
+ */
+public interface BlockClickedListener {
+
+    /**
+     * Handle a block clicked event
+     *
+     * @param x the column of the block that was clicked
+     * @param y the row of the block that was clicked
+     */
+    void blockClicked(int x, int y);
+}
@@ -0,0 +1,352 @@
+package uk.ac.soton.comp1206.component;
+
+import javafx.scene.input.MouseButton;
+import javafx.scene.layout.GridPane;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import uk.ac.soton.comp1206.game.Game;
+import uk.ac.soton.comp1206.game.GameBlockCoordinate;
+import uk.ac.soton.comp1206.game.GamePiece;
+import uk.ac.soton.comp1206.game.Grid;
+import uk.ac.soton.comp1206.game.PlacementMap;
+
+import java.util.Collection;
+
+/**
+ * A BoardView is a visual component showing the cells of a Grid, with hover effects for placing the current piece and
+ * fade effects for cleared lines. Subclasses decide how the cells are drawn.
+ * <p>
+ * The renderer used for the main board is chosen with the {@code tetrecs.board} system property: {@code canvas} for
+ * a CanvasBoard drawing every cell on one canvas, otherwise a GameBoard with one GameBlock per cell.
+ * <p>
+ * Hover effects are worked out here from a PlacementMap of where the current piece fits, and only the cells entering
+ * or leaving the highlight, or changing between valid and invalid, are passed on to be repainted.
+ */
+public abstract class BoardView extends GridPane {
+
+    private static final Logger logger = LogManager.getLogger(BoardView.class);
+
+    /**
+     * Hover state of a cell.
+     */
+    protected static final byte NOT_HOVERED = 0;
+    protected static final byte HOVER_VALID = 1;
+    protected static final byte HOVER_INVALID = 2;
+
+    /**
+     * The grid this board represents.
+     */
+    protected final Grid grid;
+    /**
+     * Number of columns in the board.
+     */
+    protected final int cols;
+    /**
+     * Number of rows in the board.
+     */
+    protected final int rows;
+    /**
+     * The visual width of the board.
+     */
+    protected final double width;
+    /**
+     * The visual height of the board.
+     */
+    protected final double height;
+    /**
+     * The listener to call when a specific block is clicked.
+     */
+    private BlockClickedListener blockClickedListener;
+    /**
+     * The listener to call when a specific block is right-clicked.
+     */
+    protected RightClickedListener rightClickListener;
+    /**
+     * Column and row of the block last hovered over.
+     */
+    private int hoveredX;
+    private int hoveredY;
+    /**
+     * Variable storing game instance.
+     */
+    private Game game;
+    /**
+     * Where the current piece can be placed, rebuilt when the piece or grid changes.
+     */
+    private final PlacementMap placements;
+    /**
+     * Hover state of each cell, indexed by y * cols + x.
+     */
+    private final byte[] hover;
+    /**
+     * Hover state each cell is about to have, only set while the hover is being updated.
+     */
+    private final byte[] nextHover;
+    /**
+     * Cells currently showing a hover effect, and the cells about to.
+     */
+    private int[] hoverCells = new int[GamePiece.SIZE * GamePiece.SIZE];
+    private int[] nextHoverCells = new int[GamePiece.SIZE * GamePiece.SIZE];
+    private int hoverCount = 0;
+
+    /**
+     * Create a new BoardView of a grid, with a visual width and height. Subclasses should call build once they are
+     * ready.
+     *
+     * @param grid   linked grid
+     * @param width  the visual width
+     * @param height the visual height
+     */
+    protected BoardView(Grid grid, double width, double height) {
+        this.grid = grid;
+        this.cols = grid.getCols();
+        this.rows = grid.getRows();
+        this.width = width;
+        this.height = height;
+        this.placements = new PlacementMap(grid);
+        this.hover = new byte[cols * rows];
+        this.nextHover = new byte[cols * rows];
+
+        // The placements are only valid until the grid changes
+        grid.addListener((x, y, oldValue, newValue) -> placements.invalidate());
+    }
+
+    /**
+     * Create the board to show the main game grid, using the renderer chosen by the tetrecs.board system property.
+     *
+     * @param grid   linked grid
+     * @param width  the visual width
+     * @param height the visual height
+     * @return the board
+     */
+    public static BoardView create(Grid grid, double width, double height) {
+        if ("canvas".equals(System.getProperty("tetrecs.board"))) {
+            logger.info("Using canvas board renderer");
+            return new CanvasBoard(grid, width, height);
+        }
+        return new GameBoard(grid, width, height);
+    }
+
+    /**
+     * Build the visual parts of the board.
+     */
+    protected abstract void build();
+
+    /**
+     * Show where the current piece would go if the block at the given column and row was clicked. Only cells whose
+     * hover effect changes are repainted.
+     *
+     * @param x column hovered over
+     * @param y row hovered over
+     */
+    public void hovered(int x, int y) {
+        hoveredX = x;
+        hoveredY = y;
+
+        // Work out the cells the piece covers
+        int nextCount = 0;
+        if (game != null && game.getCurrentPiece() != null) {
+            GamePiece piece = game.getCurrentPiece();
+            byte state = placements.canPlace(piece, x, y) ? HOVER_VALID : HOVER_INVALID;
+            for (int i = 0; i < piece.getCellCount(); i++) {
+                int cellX = x - 1 + piece.getCellX(i);
+                int cellY = y - 1 + piece.getCellY(i);
+                if (checkBounds(cellX, cellY)) {
+                    int cell = cellY * cols + cellX;
+                    nextHover[cell] = state;
+                    nextHoverCells[nextCount++] = cell;
+                }
+            }
+        }
+
+        // Clear the cells leaving the highlight
+        for (int i = 0; i < hoverCount; i++) {
+            int cell = hoverCells[i];
+            if (nextHover[cell] == NOT_HOVERED) {
+                hover[cell] = NOT_HOVERED;
+                hoverChanged(cell % cols, cell / cols, NOT_HOVERED);
+            }
+        }
+
+        // Paint the cells entering it or changing state
+        for (int i = 0; i < nextCount; i++) {
+            int cell = nextHoverCells[i];
+            if (hover[cell] != nextHover[cell]) {
+                hover[cell] = nextHover[cell];
+                hoverChanged(cell % cols, cell / cols, hover[cell]);
+            }
+            nextHover[cell] = NOT_HOVERED;
+        }
+
+        int[] cells = hoverCells;
+        hoverCells = nextHoverCells;
+        nextHoverCells = cells;
+        hoverCount = nextCount;
+    }
+
+    /**
+     * Remove all hover effects, repainting only the cells showing them.
+     */
+    public void resetHovered() {
+        for (int i = 0; i < hoverCount; i++) {
+            int cell = hoverCells[i];
+            hover[cell] = NOT_HOVERED;
+            hoverChanged(cell % cols, cell / cols, NOT_HOVERED);
+        }
+        hoverCount = 0;
+    }
+
+    /**
+     * Show hover effects for the given block, in place of the current ones.
+     *
+     * @param x column hovered over
+     * @param y row hovered over
+     */
+    public void refreshHovered(int x, int y) {
+        hovered(x, y);
+    }
+
+    /**
+     * Show hover effects for the block last hovered over again, such as after the piece is rotated.
+     */
+    public void refreshHovered() {
+        hovered(hoveredX, hoveredY);
+    }
+
+    /**
+     * Repaint a cell whose hover effect has changed.
+     *
+     * @param x     column
+     * @param y     row
+     * @param state the new hover state
+     */
+    protected abstract void hoverChanged(int x, int y, byte state);
+
+    /**
+     * Get the hover state of a cell.
+     *
+     * @param x column
+     * @param y row
+     * @return hover state
+     */
+    protected byte getHover(int x, int y) {
+        return hover[y * cols + x];
+    }
+
+    /**
+     * Check whether any cell is showing a hover effect.
+     *
+     * @return whether the board is showing a hover effect
+     */
+    protected boolean isHovering() {
+        return hoverCount > 0;
+    }
+
+    /**
+     * Fade out the given blocks after they are cleared.
+     *
+     * @param blocks blocks to fade
+     */
+    public abstract void fadeBlocks(Collection<GameBlockCoordinate> blocks);
+
+    /**
+     * Triggered when a block is clicked. Call the attached listener.
+     *
+     * @param button mouse button clicked
+     * @param x      column clicked
+     * @param y      row clicked
+     */
+    protected void blockClicked(MouseButton button, int x, int y) {
+        logger.info("Block clicked: {}, {}", x, y);
+
+        if (button == MouseButton.PRIMARY && blockClickedListener != null) {
+            blockClickedListener.blockClicked(x, y);
+        }
+        if (button == MouseButton.SECONDARY && rightClickListener != null) {
+            rightClickListener.rightClicked();
+        }
+    }
+
+    /**
+     * Check if a cell is within game board bounds.
+     *
+     * @param x column
+     * @param y row
+     * @return whether the cell is within bounds or not
+     */
+    protected boolean checkBounds(int x, int y) {
+        return y >= 0 && y <= rows - 1 && x >= 0 && x <= cols - 1;
+    }
+
+    /**
+     * Number of columns getter.
+     *
+     * @return number of columns
+     */
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * Number of rows getter.
+     *
+     * @return number of rows
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Get the column of the block last hovered over.
+     *
+     * @return column
+     */
+    public int getHoveredX() {
+        return hoveredX;
+    }
+
+    /**
+     * Get the row of the block last hovered over.
+     *
+     * @return row
+     */
+    public int getHoveredY() {
+        return hoveredY;
+    }
+
+    /**
+     * Get the game shown on the board.
+     *
+     * @return the game, or null if none has been set
+     */
+    public Game getGame() {
+        return game;
+    }
+
+    /**
+     * Set the game instance to the game board game variable.
+     *
+     * @param game the game
+     */
+    public void setGame(Game game) {
+        this.game = game;
+    }
+
+    /**
+     * Set the listener to handle an event when a block is clicked.
+     *
+     * @param listener listener to add
+     */
+    public void setOnBlockClick(BlockClickedListener listener) {
+        this.blockClickedListener = listener;
+    }
+
+    /**
+     * Setter for right-click listener.
+     *
+     * @param listener the listener to set
+     */
+    public void setOnRightClick(RightClickedListener listener) {
+        rightClickListener = listener;
+    }
+}
@@ -0,0 +1,305 @@
+package uk.ac.soton.comp1206.component;
+
+import javafx.animation.AnimationTimer;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.input.MouseEvent;
+import javafx.beans.InvalidationListener;
+import javafx.beans.WeakInvalidationListener;
+import javafx.scene.paint.Color;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import uk.ac.soton.comp1206.game.GameBlockCoordinate;
+import uk.ac.soton.comp1206.game.Grid;
+
+import java.util.Collection;
+
+/**
+ * A CanvasBoard draws every cell of a grid on a single Canvas, looking the same as a GameBoard but without a scene
+ * graph node per cell.
+ * <p>
+ * Cells are only repainted when they are marked dirty, by a change to the grid, a change of hover or a fade frame.
+ * Dirty cells are collected and painted together once per pulse, so a cell changed several times in one frame is only
+ * painted once, and nothing is painted at all while the board is still.
+ */
+public class CanvasBoard extends BoardView {
+
+    private static final Logger logger = LogManager.getLogger(CanvasBoard.class);
+
+    /**
+     * Amount the fade overlay's opacity drops each frame.
+     */
+    private static final double FADE_STEP = 0.02;
+
+    /**
+     * The canvas every cell is drawn on.
+     */
+    private final Canvas canvas;
+
+    /**
+     * Size of a cell on the canvas.
+     */
+    private final double cellWidth;
+    private final double cellHeight;
+
+    /**
+     * Whether each cell shows a centre dot.
+     */
+    private final boolean[] centre;
+
+    /**
+     * Opacity of the fade overlay on each cell, 0 when not fading.
+     */
+    private final double[] fade;
+
+    /**
+     * Cells currently fading.
+     */
+    private final int[] fadeCells;
+    private int fadeCount = 0;
+
+    /**
+     * Whether each cell needs repainting, and the list of cells that do.
+     */
+    private final boolean[] dirty;
+    private final int[] dirtyCells;
+    private int dirtyCount = 0;
+
+    /**
+     * Paints dirty cells and advances fades each pulse, running only while there is something to do.
+     */
+    private final AnimationTimer painter = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            pulse();
+        }
+    };
+    private boolean painting = false;
+
+    /**
+     * Tiles for this board's cell size.
+     */
+    private TileAtlas atlas;
+
+    /**
+     * Repaints every cell from a new atlas when the display scale changes.
+     */
+    private final InvalidationListener scaleListener = observable -> {
+        for (int i = 0; i < cols * rows; i++) {
+            markDirty(i);
+        }
+    };
+
+    /**
+     * Create a new CanvasBoard, based off a given grid, with a visual width and height.
+     *
+     * @param grid   linked grid
+     * @param width  the visual width
+     * @param height the visual height
+     */
+    public CanvasBoard(Grid grid, double width, double height) {
+        super(grid, width, height);
+
+        int cells = cols * rows;
+        this.canvas = new Canvas(width, height);
+        this.cellWidth = width / cols;
+        this.cellHeight = height / rows;
+        this.centre = new boolean[cells];
+        this.fade = new double[cells];
+        this.fadeCells = new int[cells];
+        this.dirty = new boolean[cells];
+        this.dirtyCells = new int[cells];
+
+        build();
+    }
+
+    /**
+     * Add the canvas, paint every cell and start listening for changes.
+     */
+    @Override
+    protected void build() {
+        logger.info("Building canvas grid: {} x {}", cols, rows);
+
+        setMaxWidth(width);
+        setMaxHeight(height);
+        add(canvas, 0, 0);
+
+        // Paint everything once
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        for (int i = 0; i < cols * rows; i++) {
+            paintCell(gc, i);
+        }
+
+        // Repaint cells the model changes
+        grid.addListener((x, y, oldValue, newValue) -> markDirty(y * cols + x));
+        TileAtlas.scaleProperty().addListener(new WeakInvalidationListener(scaleListener));
+
+        // Work out which cell the mouse is over
+        canvas.setOnMouseMoved(this::mouseMoved);
+        canvas.setOnMouseExited(e -> resetHovered());
+        canvas.setOnMouseClicked(e -> {
+            int x = cellX(e);
+            int y = cellY(e);
+            if (checkBounds(x, y)) {
+                blockClicked(e.getButton(), x, y);
+            }
+        });
+    }
+
+    /**
+     * Update the hover effect when the mouse moves onto a different cell.
+     *
+     * @param event mouse event
+     */
+    private void mouseMoved(MouseEvent event) {
+        int x = cellX(event);
+        int y = cellY(event);
+        if (!checkBounds(x, y)) {
+            return;
+        }
+        if (!isHovering() || x != getHoveredX() || y != getHoveredY()) {
+            refreshHovered(x, y);
+        }
+    }
+
+    /**
+     * Repaint a cell whose hover effect has changed.
+     *
+     * @param x     column
+     * @param y     row
+     * @param state the new hover state
+     */
+    @Override
+    protected void hoverChanged(int x, int y, byte state) {
+        markDirty(y * cols + x);
+    }
+
+    /**
+     * Start fading out the given cells.
+     *
+     * @param blocks list of blocks
+     */
+    @Override
+    public void fadeBlocks(Collection<GameBlockCoordinate> blocks) {
+        for (GameBlockCoordinate block : blocks) {
+            int cell = block.getY() * cols + block.getX();
+            if (fade[cell] <= 0) {
+                fadeCells[fadeCount++] = cell;
+            }
+            fade[cell] = 1;
+            markDirty(cell);
+        }
+    }
+
+    /**
+     * Show a centre dot on the given cell.
+     *
+     * @param x column
+     * @param y row
+     */
+    public void setCentre(int x, int y) {
+        int cell = y * cols + x;
+        centre[cell] = true;
+        markDirty(cell);
+    }
+
+    /**
+     * Mark a cell as needing to be repainted on the next pulse.
+     *
+     * @param cell index of the cell
+     */
+    private void markDirty(int cell) {
+        if (!dirty[cell]) {
+            dirty[cell] = true;
+            dirtyCells[dirtyCount++] = cell;
+        }
+        if (!painting) {
+            painting = true;
+            painter.start();
+        }
+    }
+
+    /**
+     * Advance fades, then repaint every dirty cell. Stops the painter once there is nothing left to do.
+     */
+    private void pulse() {
+        // Step each fade, dropping the ones that have finished
+        int remaining = 0;
+        for (int i = 0; i < fadeCount; i++) {
+            int cell = fadeCells[i];
+            fade[cell] -= FADE_STEP;
+            if (fade[cell] > 0) {
+                fadeCells[remaining++] = cell;
+            } else {
+                fade[cell] = 0;
+            }
+            markDirty(cell);
+        }
+        fadeCount = remaining;
+
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        for (int i = 0; i < dirtyCount; i++) {
+            int cell = dirtyCells[i];
+            dirty[cell] = false;
+            paintCell(gc, cell);
+        }
+        dirtyCount = 0;
+
+        if (fadeCount == 0) {
+            painter.stop();
+            painting = false;
+        }
+    }
+
+    /**
+     * Paint a cell with its value, centre dot, hover and fade effects.
+     *
+     * @param gc   graphics context of the canvas
+     * @param cell index of the cell
+     */
+    private void paintCell(GraphicsContext gc, int cell) {
+        int x = cell % cols;
+        int y = cell / cols;
+        double left = x * cellWidth;
+        double top = y * cellHeight;
+
+        if (atlas == null || atlas.isStale()) {
+            atlas = TileAtlas.get(cellWidth, cellHeight);
+        }
+
+        gc.clearRect(left, top, cellWidth, cellHeight);
+        atlas.draw(gc, grid.get(x, y), left, top);
+
+        if (centre[cell]) {
+            atlas.draw(gc, TileAtlas.CENTRE, left, top);
+        }
+        byte hover = getHover(x, y);
+        if (hover != NOT_HOVERED) {
+            atlas.draw(gc, hover == HOVER_VALID ? TileAtlas.HOVER_VALID : TileAtlas.HOVER_INVALID, left, top);
+        }
+        if (fade[cell] > 0) {
+            gc.setFill(Color.color(0, 1, 0, fade[cell]));
+            gc.fillRect(left, top, cellWidth, cellHeight);
+        }
+    }
+
+    /**
+     * Get the column under the mouse.
+     *
+     * @param event mouse event
+     * @return column
+     */
+    private int cellX(MouseEvent event) {
+        return (int) Math.floor(event.getX() / cellWidth);
+    }
+
+    /**
+     * Get the row under the mouse.
+     *
+     * @param event mouse event
+     * @return row
+     */
+    private int cellY(MouseEvent event) {
+        return (int) Math.floor(event.getY() / cellHeight);
+    }
+}
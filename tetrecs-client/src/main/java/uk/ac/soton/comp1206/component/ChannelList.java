@@ -12,9 +12,12 @@ import org.apache.logging.log4j.Logger;
 import uk.ac.soton.comp1206.scene.LobbyScene;
 import uk.ac.soton.comp1206.util.Multimedia;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -63,8 +66,8 @@ public class ChannelList extends VBox {
         newChannelField.setOnKeyPressed(e -> {
             if (e.getCode().equals(KeyCode.ENTER)) {
                 Multimedia.playAudio("rotate.wav");
+                // The channel list is refreshed once the server confirms the channel was joined
                 LobbyScene.send("CREATE " + newChannelField.getText().trim());
-                LobbyScene.send("LIST");
                 newChannelField.setVisible(false);
                 newChannelField.clear();
             }
@@ -89,35 +92,58 @@ public class ChannelList extends VBox {
         if (channelList.containsKey(name)) {
             return;
         }
+        Text channelText = createChannel(name);
+        getChildren().add(channelText);
+        channelList.put(name, channelText);
+    }
+
+    /**
+     * Create the text for a channel.
+     *
+     * @param name of channel
+     * @return channel text, which joins the channel when clicked
+     */
+    private Text createChannel(String name) {
         logger.info("Adding {}", name);
         Text channelText = new Text(name);
         channelText.getStyleClass().add("channelItem");
-        getChildren().add(channelText);
-        channelList.put(name, channelText);
         channelText.setOnMouseClicked(e -> LobbyScene.requestJoin(name));
+        return channelText;
     }
 
     /**
-     * Compares channel list with new channel list and updates channel list.
+     * Compares channel list with new channel list and updates channel list, removing and adding the differences in one
+     * change each.
      *
      * @param channels new channel list
      */
     public void setChannels(List<String> channels) {
-        Set<String> existing = channelList.keySet();
-        if (existing.size() == channels.size() && existing.containsAll(channels)) {
+        Set<String> current = new HashSet<>(channels);
+        if (current.size() == channelList.size() && channelList.keySet().containsAll(current)) {
             return;
         }
-        HashSet<String> removeChannels = new HashSet<>();
-        for (String existingChannel : existing) {
-            if (channels.contains(existingChannel)) continue;
-            removeChannels.add(existingChannel);
-        }
-        for (String removing : removeChannels) {
-            getChildren().remove(channelList.get(removing));
+
+        // Remove channels which have gone
+        HashSet<Text> removing = new HashSet<>();
+        Iterator<Map.Entry<String, Text>> entries = channelList.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<String, Text> entry = entries.next();
+            if (!current.contains(entry.getKey())) {
+                removing.add(entry.getValue());
+                entries.remove();
+            }
         }
-        channelList.keySet().removeAll(removeChannels);
+        getChildren().removeAll(removing);
+
+        // Add channels which are new
+        ArrayList<Text> adding = new ArrayList<>();
         for (String channelName : channels) {
-            addChannel(channelName);
+            if (!channelList.containsKey(channelName)) {
+                Text channelText = createChannel(channelName);
+                channelList.put(channelName, channelText);
+                adding.add(channelText);
+            }
         }
+        getChildren().addAll(adding);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,151 @@
+package uk.ac.soton.comp1206.component;
+
+import javafx.geometry.Insets;
+import javafx.scene.control.Button;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TextField;
+import javafx.scene.input.KeyCode;
+import javafx.scene.layout.AnchorPane;
+import javafx.scene.layout.VBox;
+import uk.ac.soton.comp1206.chat.ChatLog;
+import uk.ac.soton.comp1206.chat.ChatMessage;
+import uk.ac.soton.comp1206.scene.LobbyScene;
+
+import java.nio.file.Paths;
+
+/**
+ * Chat extends VBox.
+ * Visual element for chat functionality in multiplayer.
+ * Messages are kept in a bounded ChatLog and shown in a ListView, so only the rows on screen exist as nodes however
+ * long the lobby has been open. Set -Dtetrecs.chatHistory to change how many are kept, and -Dtetrecs.chatLog to a file
+ * to append older messages to it.
+ */
+public class Chat extends VBox {
+
+    /**
+     * Messages shown
+     */
+    private final ChatLogList messages;
+
+    /**
+     * List showing the messages
+     */
+    private final ListView<ChatMessage> messageView;
+
+    /**
+     * Build chat UI.
+     */
+    public Chat() {
+
+        setSpacing(10.0);
+        setPadding(new Insets(5.0, 5.0, 5.0, 5.0));
+        getStyleClass().add("gameBox");
+
+        // Generate player list in the channel
+        LobbyScene.playerList = new PlayerList();
+        getChildren().add(LobbyScene.playerList);
+
+        // Generate the list of chat messages, which only creates cells for the rows on screen
+        String spill = System.getProperty("tetrecs.chatLog");
+        messages = new ChatLogList(new ChatLog(Integer.getInteger("tetrecs.chatHistory", ChatLog.DEFAULT_CAPACITY),
+                spill == null ? null : Paths.get(spill)));
+        messageView = new ListView<>(messages);
+        messageView.setPrefHeight(LobbyScene.gameWindow.getHeight() / 2.0);
+        messageView.getStyleClass().add("messages");
+        messageView.setFocusTraversable(false);
+        messageView.setCellFactory(list -> new MessageCell());
+        getChildren().add(messageView);
+
+        // Generate field to send messages, or change name with /nick
+        TextField messageField = new TextField();
+        messageField.setPromptText("Send a message");
+        messageField.setOnKeyPressed(e -> {
+            if (e.getCode().equals(KeyCode.ENTER)) {
+                send(messageField.getText().trim());
+                messageField.clear();
+            }
+        });
+        getChildren().add(messageField);
+
+        // Generate anchor pane with leave and start buttons on the left and right
+        AnchorPane buttons = new AnchorPane();
+        getChildren().add(buttons);
+        Button partButton = new Button("Leave game");
+        partButton.setOnAction(e -> LobbyScene.send("PART"));
+        buttons.getChildren().add(partButton);
+        AnchorPane.setRightAnchor(partButton, 0.0);
+        Button startButton = new Button("Start game");
+        startButton.visibleProperty().bind(LobbyScene.host);
+        startButton.setOnAction(e -> LobbyScene.requestStart());
+        buttons.getChildren().add(startButton);
+        AnchorPane.setLeftAnchor(startButton, 0.0);
+    }
+
+    /**
+     * Add a message and scroll to it.
+     *
+     * @param message message to add
+     */
+    public void addMessage(ChatMessage message) {
+        messages.addMessage(message);
+        messageView.scrollTo(messages.size() - 1);
+    }
+
+    /**
+     * Remove every message.
+     */
+    public void clear() {
+        messages.clearMessages();
+    }
+
+    /**
+     * Close the chat log, writing any older messages still buffered.
+     */
+    public void close() {
+        messages.close();
+    }
+
+    /**
+     * Send a message typed by the player.
+     *
+     * @param text text typed
+     */
+    private void send(String text) {
+        if (text.isEmpty()) {
+            return;
+        }
+        if (text.startsWith("/nick ")) {
+            LobbyScene.send("NICK " + text.substring(6).trim());
+        } else {
+            LobbyScene.send("MSG " + text);
+        }
+    }
+
+    /**
+     * Cell showing one message, wrapped to the width of the list.
+     */
+    private static class MessageCell extends ListCell<ChatMessage> {
+
+        /**
+         * Create a message cell.
+         */
+        MessageCell() {
+            setWrapText(true);
+            // Let the text wrap rather than widening the list
+            setPrefWidth(0);
+        }
+
+        /**
+         * Show a message, or nothing if the cell is empty.
+         *
+         * @param message message to show
+         * @param empty   whether the cell is empty
+         */
+        @Override
+        protected void updateItem(ChatMessage message, boolean empty) {
+            super.updateItem(message, empty);
+            setText(empty || message == null ? null : message.toString());
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package uk.ac.soton.comp1206.component;
+
+import javafx.collections.ObservableListBase;
+import uk.ac.soton.comp1206.chat.ChatLog;
+import uk.ac.soton.comp1206.chat.ChatMessage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ChatLogList is a read-only observable view of a ChatLog, so a ListView can show the ring buffer directly.
+ * Adding a message fires a single change, removing the oldest message too if it was pushed out.
+ */
+public class ChatLogList extends ObservableListBase<ChatMessage> {
+
+    /**
+     * The log shown.
+     */
+    private final ChatLog log;
+
+    /**
+     * Create a view of a chat log.
+     *
+     * @param log log to show
+     */
+    public ChatLogList(ChatLog log) {
+        this.log = log;
+    }
+
+    /**
+     * Add a message to the log.
+     *
+     * @param message message to add
+     */
+    public void addMessage(ChatMessage message) {
+        beginChange();
+        ChatMessage evicted = log.add(message);
+        if (evicted != null) {
+            nextRemove(0, evicted);
+        }
+        nextAdd(log.size() - 1, log.size());
+        endChange();
+    }
+
+    /**
+     * Remove every message from the log.
+     */
+    public void clearMessages() {
+        if (log.size() == 0) {
+            return;
+        }
+        List<ChatMessage> removed = new ArrayList<>(this);
+        beginChange();
+        log.clear();
+        nextRemove(0, removed);
+        endChange();
+    }
+
+    /**
+     * Close the log, writing any spilled messages.
+     */
+    public void close() {
+        log.close();
+    }
+
+    /**
+     * Get a message.
+     *
+     * @param index index from the oldest message
+     * @return message
+     */
+    @Override
+    public ChatMessage get(int index) {
+        return log.get(index);
+    }
+
+    /**
+     * Get the number of messages.
+     *
+     * @return size
+     */
+    @Override
+    public int size() {
+        return log.size();
+    }
+}
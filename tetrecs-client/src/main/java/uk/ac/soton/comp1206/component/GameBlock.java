@@ -1,8 +1,9 @@
 package uk.ac.soton.comp1206.component;
 
-import javafx.animation.AnimationTimer;
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.InvalidationListener;
+import javafx.beans.WeakInvalidationListener;
 import javafx.beans.value.ObservableValue;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.paint.*;
@@ -14,6 +15,7 @@ import org.apache.logging.log4j.Logger;
  * Extends Canvas and is responsible for drawing itself.
  * Displays an empty square (when the value is 0) or a coloured square depending on value.
  * The GameBlock value should be bound to a corresponding block in the Grid model.
+ * Each look is copied from the TileAtlas for the block's size rather than drawn from scratch.
  */
 public class GameBlock extends Canvas {
 
@@ -39,10 +41,6 @@ public class GameBlock extends Canvas {
             Color.PURPLE
     };
     private static final Logger logger = LogManager.getLogger(GameBlock.class);
-    /**
-     * Animation timer for when row is cleared.
-     */
-    private static AnimationTimer timer = null;
     private final double width;
     /**
      * Height of canvas
@@ -70,9 +68,19 @@ public class GameBlock extends Canvas {
     private boolean hovering;
 
     /**
-     * Hover color.
+     * Whether the piece being hovered can be placed.
+     */
+    private boolean canPlace;
+
+    /**
+     * Tiles for this block's size.
      */
-    private Color hoverColour;
+    private TileAtlas atlas;
+
+    /**
+     * Repaints the block from a new atlas when the display scale changes.
+     */
+    private final InvalidationListener scaleListener = observable -> paint();
 
     /**
      * Create a new single Game Block
@@ -97,6 +105,9 @@ public class GameBlock extends Canvas {
 
         // When the value property is updated, call the internal updateValue method
         value.addListener(this::updateValue);
+
+        // Weak, so blocks from old scenes can still be collected
+        TileAtlas.scaleProperty().addListener(new WeakInvalidationListener(scaleListener));
     }
 
     /**
@@ -124,125 +135,57 @@ public class GameBlock extends Canvas {
      * Handle painting of the block canvas.
      */
     private void paint() {
+        var gc = getGraphicsContext2D();
+        gc.clearRect(0, 0, width, height);
 
-        // If the block is empty, paint as empty
-        if (value.get() == 0) {
-            paintEmpty();
-        } else {
-            // If the block is not empty, paint with the colour represented by the value
-            paintColor(COLOURS[value.get()]);
-        }
+        // Paint the empty or coloured tile for the value
+        var atlas = getAtlas();
+        atlas.draw(gc, value.get(), 0, 0);
 
         // Check if the block has centre dot and, if it does, paint it
         if (centre) {
-            paintCentre();
+            atlas.draw(gc, TileAtlas.CENTRE, 0, 0);
         }
 
         // Check if the block has a hover effect and, if it does, paint it
         if (hovering) {
-            paintHovered();
+            atlas.draw(gc, canPlace ? TileAtlas.HOVER_VALID : TileAtlas.HOVER_INVALID, 0, 0);
         }
     }
 
-    /**
-     * Paint hovered effect.
-     */
-    private void paintHovered() {
-        var gc = getGraphicsContext2D();
-        gc.setFill(hoverColour);
-        gc.fillRect(0, 0, width, height);
-    }
-
     /**
      * Paint this canvas empty.
      */
     private void paintEmpty() {
         var gc = getGraphicsContext2D();
-
-        // Clear
         gc.clearRect(0, 0, width, height);
-
-        // Setting up empty block gradient
-        var start = new Stop(0, Color.color(0, 0, 0, 0.3));
-        var end = new Stop(1, Color.color(0, 0, 0, 0.5));
-
-        // Fill
-        gc.setFill(new LinearGradient(0, 0, 1, 1, true, CycleMethod.REFLECT, start, end));
-        gc.fillRect(0, 0, width, height);
-
-        // Border
-        gc.setStroke(Color.color(1, 1, 1, 0.5));
-        gc.strokeRect(0, 0, width, height);
+        getAtlas().draw(gc, 0, 0, 0);
     }
 
     /**
-     * Paint this canvas with the given colour.
+     * Get the atlas for this block's size, fetching a new one if the display scale has changed.
      *
-     * @param colour the colour to paint
-     */
-    private void paintColor(Paint colour) {
-        var gc = getGraphicsContext2D();
-
-        // Clear
-        gc.clearRect(0, 0, width, height);
-
-        // Fill
-        gc.setFill(colour);
-        gc.fillRect(0, 0, width, height);
-
-        // Making lighter side
-        gc.setFill(Color.color(1, 1, 1, 0.3));
-        gc.fillPolygon(new double[]{0, width, 0}, new double[]{0, 0, height}, 3);
-
-        // Adding dark accent
-        gc.setFill(Color.color(1, 1, 1, 0.4));
-        gc.fillRect(0, 0, width, 3);
-        gc.setFill(Color.color(1, 1, 1, 0.4));
-        gc.fillRect(0, 0, 3, height);
-
-        // Adding light accent
-        gc.setFill(Color.color(0, 0, 0, 0.4));
-        gc.fillRect(width - 3, 0, width, height);
-        gc.setFill(Color.color(0, 0, 0, 0.4));
-        gc.fillRect(0, height - 3, width, height);
-
-        // Border
-        gc.setStroke(Color.color(0, 0, 0, 0.6));
-        gc.strokeRect(0, 0, width, height);
-    }
-
-    /**
-     * Paint centre dot.
+     * @return the atlas
      */
-    protected void paintCentre() {
-        var gc = getGraphicsContext2D();
-        gc.setFill(Color.color(1, 1, 1, 0.7));
-        gc.fillOval(width / 4, height / 4, width / 2, height / 2);
+    private TileAtlas getAtlas() {
+        if (atlas == null || atlas.isStale()) {
+            atlas = TileAtlas.get(width, height);
+        }
+        return atlas;
     }
 
     /**
-     * Set fade out effect on single game block.
-     */
-    protected void fadeOut() {
-        timer =
-                new AnimationTimer() {
-                    double opacity = 1;
-
-                    @Override
-                    public void handle(long l) {
-                        paintEmpty();
-                        opacity -= 0.02;
-                        if (opacity <= 0) {
-                            stop();
-                            timer = null;
-                        } else {
-                            var gc = getGraphicsContext2D();
-                            gc.setFill(Color.color(0, 1, 0, opacity));
-                            gc.fillRect(0, 0, width, height);
-                        }
-                    }
-                };
-        timer.start();
+     * Paint a frame of the fade out effect on this block, played by the board's Animator.
+     *
+     * @param opacity opacity of the fade, 0 on the last frame
+     */
+    protected void paintFade(double opacity) {
+        paintEmpty();
+        if (opacity > 0) {
+            var gc = getGraphicsContext2D();
+            gc.setFill(Color.color(0, 1, 0, opacity));
+            gc.fillRect(0, 0, width, height);
+        }
     }
 
     /**
@@ -272,11 +215,7 @@ public class GameBlock extends Canvas {
     protected void setHovered(boolean hovered, boolean canPlace) {
         hovering = hovered;
         // Grey if block can be placed, red if cannot
-        if (canPlace) {
-            hoverColour = Color.color(1, 1, 1, 0.5);
-        } else {
-            hoverColour = Color.color(1, 0.2, 0.2, 0.5);
-        }
+        this.canPlace = canPlace;
 
         // Repaint block
         paint();
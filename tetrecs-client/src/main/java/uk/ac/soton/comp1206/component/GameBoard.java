@@ -0,0 +1,172 @@
+package uk.ac.soton.comp1206.component;
+
+import javafx.scene.input.MouseEvent;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import uk.ac.soton.comp1206.game.GameBlockCoordinate;
+import uk.ac.soton.comp1206.game.Grid;
+
+import java.util.Collection;
+
+/**
+ * A GameBoard is a visual component to represent the visual GameBoard.
+ * It extends BoardView, using a GridPane to hold a grid of GameBlocks.
+ * <p>
+ * The GameBoard can hold an internal grid of it's own, for example, for displaying an upcoming block. It also be
+ * linked to an external grid, for the main game board.
+ * <p>
+ * The GameBoard is only a visual representation and should not contain game logic or model logic in it, which should
+ * take place in the Grid.
+ */
+public class GameBoard extends BoardView {
+
+    private static final Logger logger = LogManager.getLogger(GameBoard.class);
+    /**
+     * Number of frames a cleared block takes to fade out.
+     */
+    private static final int FADE_FRAMES = 50;
+    /**
+     * Observable view of the grid which the blocks are bound to.
+     */
+    private final ObservableGrid observableGrid;
+    /**
+     * The blocks inside the grid.
+     */
+    GameBlock[][] blocks;
+    /**
+     * Plays the effects on every block, keyed by y * cols + x.
+     */
+    private final Animator animator;
+    /**
+     * Draws a frame of a block fading out.
+     */
+    private final AnimationListener fadeListener =
+            (cell, opacity) -> blocks[cell % cols][cell / cols].paintFade(opacity);
+
+    /**
+     * Create a new GameBoard, based off a given grid, with a visual width and height.
+     *
+     * @param grid   linked grid
+     * @param width  the visual width
+     * @param height the visual height
+     */
+    public GameBoard(Grid grid, double width, double height) {
+        super(grid, width, height);
+        this.observableGrid = new ObservableGrid(grid);
+        this.animator = new Animator(cols * rows);
+
+        // Build the GameBoard
+        build();
+    }
+
+    /**
+     * Create a new GameBoard with it's own internal grid, specifying the number of columns and rows, along with the
+     * visual width and height.
+     *
+     * @param cols   number of columns for internal grid
+     * @param rows   number of rows for internal grid
+     * @param width  the visual width
+     * @param height the visual height
+     */
+    public GameBoard(int cols, int rows, double width, double height) {
+        this(new Grid(cols, rows), width, height);
+    }
+
+    /**
+     * Build the GameBoard by creating a block at every x and y column and row
+     */
+    @Override
+    protected void build() {
+        logger.info("Building grid: {} x {}", cols, rows);
+
+        setMaxWidth(width);
+        setMaxHeight(height);
+
+        setGridLinesVisible(true);
+
+        blocks = new GameBlock[cols][rows];
+
+        for (var y = 0; y < rows; y++) {
+            for (var x = 0; x < cols; x++) {
+                createBlock(x, y);
+            }
+        }
+    }
+
+    /**
+     * Create a block at the given x and y position in the GameBoard
+     *
+     * @param x column
+     * @param y row
+     */
+    protected void createBlock(int x, int y) {
+        logger.info("Creating block at {}, {}", x, y);
+
+        var blockWidth = width / cols;
+        var blockHeight = height / rows;
+
+        //Create a new GameBlock UI component
+        GameBlock block = new GameBlock(x, y, blockWidth, blockHeight);
+
+        // Add to the GridPane
+        add(block, x, y);
+
+        // Add to our block directory
+        blocks[x][y] = block;
+
+        // Link the GameBlock component to the corresponding value in the Grid
+        block.bind(observableGrid.getCellProperty(x, y));
+
+        //Add a mouse click listener to the block to trigger GameBoard blockClicked method
+        block.setOnMouseClicked((e) -> blockClicked(e, block));
+
+        // Generate hover effects when mouse is moved
+        block.setOnMouseEntered((e) -> hovered(block.getX(), block.getY()));
+        block.setOnMouseExited((e) -> resetHovered());
+    }
+
+    /**
+     * Repaint a block whose hover effect has changed.
+     *
+     * @param x     column
+     * @param y     row
+     * @param state the new hover state
+     */
+    @Override
+    protected void hoverChanged(int x, int y, byte state) {
+        blocks[x][y].setHovered(state != NOT_HOVERED, state == HOVER_VALID);
+    }
+
+    /**
+     * Sets fade out animation on game blocks in a Collection. Every fade is played by the board's single Animator.
+     *
+     * @param blocks list of blocks
+     */
+    @Override
+    public void fadeBlocks(Collection<GameBlockCoordinate> blocks) {
+        for (GameBlockCoordinate block : blocks) {
+            animator.play(block.getY() * cols + block.getX(), FADE_FRAMES, fadeListener);
+        }
+    }
+
+    /**
+     * Triggered when a block is clicked. Call the attached listener.
+     *
+     * @param event mouse event
+     * @param block block clicked on
+     */
+    private void blockClicked(MouseEvent event, GameBlock block) {
+        blockClicked(event.getButton(), block.getX(), block.getY());
+    }
+
+    /**
+     * Get a specific block from the GameBoard, specified by it's row and column
+     *
+     * @param x column
+     * @param y row
+     * @return game block at the given column and row
+     */
+    public GameBlock getBlock(int x, int y) {
+        return blocks[x][y];
+    }
+}
@@ -0,0 +1,68 @@
+package uk.ac.soton.comp1206.component;
+
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.beans.value.ObservableValue;
+import javafx.scene.text.Text;
+import javafx.util.Duration;
+import uk.ac.soton.comp1206.network.ConnectionState;
+import uk.ac.soton.comp1206.network.LatencyHistogram;
+import uk.ac.soton.comp1206.network.NetworkStats;
+
+/**
+ * The Network Overlay shows a Communicator's connection state, latency and traffic in the corner of the game,
+ * refreshed every second.
+ */
+public class NetworkOverlay extends Text {
+
+    /**
+     * Stats shown.
+     */
+    private final NetworkStats stats;
+
+    /**
+     * Connection state shown.
+     */
+    private final ObservableValue<ConnectionState> state;
+
+    /**
+     * Refreshes the text.
+     */
+    private final Timeline refresh = new Timeline(new KeyFrame(Duration.seconds(1), e -> update()));
+
+    /**
+     * Create a network overlay and start refreshing it.
+     *
+     * @param stats stats to show
+     * @param state connection state to show
+     */
+    public NetworkOverlay(NetworkStats stats, ObservableValue<ConnectionState> state) {
+        this.stats = stats;
+        this.state = state;
+        getStyleClass().add("overlay");
+        setMouseTransparent(true);
+        setManaged(false);
+
+        refresh.setCycleCount(Timeline.INDEFINITE);
+        refresh.play();
+        update();
+    }
+
+    /**
+     * Show the latest stats.
+     */
+    private void update() {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("%s, ping %.1f ms%n", state.getValue(), stats.getPingMedian() / 1000.0));
+        for (String reply : NetworkStats.getTimedReplies()) {
+            LatencyHistogram latency = stats.getLatency(reply);
+            text.append(String.format("%s p50 %.1f p99 %.1f ms%n", reply, latency.getPercentile(50) / 1000.0,
+                    latency.getPercentile(99) / 1000.0));
+        }
+        text.append(String.format("out %.0f msg/s %.0f B/s%n", stats.getSendRate(), stats.getSendByteRate()));
+        text.append(String.format("in %.0f msg/s %.0f B/s%n", stats.getReceiveRate(), stats.getReceiveByteRate()));
+        text.append(String.format("coalesced %d dropped %d", stats.getInboundCoalesced(), stats.getInboundDropped()));
+        setText(text.toString());
+        relocate(4, 4);
+    }
+}
@@ -0,0 +1,101 @@
+package uk.ac.soton.comp1206.component;
+
+import javafx.application.Platform;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+import uk.ac.soton.comp1206.game.Game;
+
+/**
+ * An observable view of a Game, exposing its score, level, lives and multiplier as properties for the UI to bind to.
+ * Properties are only ever updated on the JavaFX thread.
+ */
+public class ObservableGame {
+
+    private final Game game;
+    private final IntegerProperty score = new SimpleIntegerProperty(0);
+    private final IntegerProperty level = new SimpleIntegerProperty(1);
+    private final IntegerProperty lives = new SimpleIntegerProperty(3);
+    private final IntegerProperty multiplier = new SimpleIntegerProperty(1);
+    private final StringProperty multString = new SimpleStringProperty("");
+
+    /**
+     * Create an observable view of the given game.
+     *
+     * @param game game to observe
+     */
+    public ObservableGame(Game game) {
+        this.game = game;
+        game.setOnGameStateChanged((score, level, lives, multiplier) -> {
+            if (Platform.isFxApplicationThread()) {
+                update(score, level, lives, multiplier);
+            } else {
+                Platform.runLater(() -> update(score, level, lives, multiplier));
+            }
+        });
+    }
+
+    /**
+     * Update the properties with the latest state of the game.
+     *
+     * @param score      the current score
+     * @param level      the current level
+     * @param lives      the current number of lives
+     * @param multiplier the current multiplier
+     */
+    private void update(int score, int level, int lives, int multiplier) {
+        this.score.set(score);
+        this.level.set(level);
+        this.lives.set(lives);
+        if (this.multiplier.get() != multiplier) {
+            this.multiplier.set(multiplier);
+            multString.set("X" + multiplier);
+        }
+    }
+
+    /**
+     * Get the game being observed.
+     *
+     * @return game
+     */
+    public Game getGame() {
+        return game;
+    }
+
+    /**
+     * Gets score as an IntegerProperty.
+     *
+     * @return score
+     */
+    public IntegerProperty getScoreProperty() {
+        return score;
+    }
+
+    /**
+     * Get level object as an IntegerProperty.
+     *
+     * @return level
+     */
+    public IntegerProperty getLevelProperty() {
+        return level;
+    }
+
+    /**
+     * Get lives as an IntegerProperty.
+     *
+     * @return lives
+     */
+    public IntegerProperty getLivesProperty() {
+        return lives;
+    }
+
+    /**
+     * Get multiplier as a StringProperty.
+     *
+     * @return multiplier
+     */
+    public StringProperty getMultiplierProperty() {
+        return multString;
+    }
+}
@@ -0,0 +1,60 @@
+package uk.ac.soton.comp1206.component;
+
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.ReadOnlyIntegerWrapper;
+import uk.ac.soton.comp1206.game.Grid;
+
+/**
+ * An observable view of a Grid, used to link the GameBlocks of a GameBoard to the cells of the model.
+ * Each cell is exposed as a read only property which is only updated when the Grid reports that the cell has changed.
+ */
+public class ObservableGrid {
+
+    /**
+     * The grid being observed.
+     */
+    private final Grid grid;
+
+    /**
+     * A property for every cell in the grid.
+     */
+    private final ReadOnlyIntegerWrapper[][] cells;
+
+    /**
+     * Create an observable view of the given grid.
+     *
+     * @param grid grid to observe
+     */
+    public ObservableGrid(Grid grid) {
+        this.grid = grid;
+        cells = new ReadOnlyIntegerWrapper[grid.getCols()][grid.getRows()];
+        for (var y = 0; y < grid.getRows(); y++) {
+            for (var x = 0; x < grid.getCols(); x++) {
+                cells[x][y] = new ReadOnlyIntegerWrapper(grid.get(x, y));
+            }
+        }
+
+        // Publish changes made to the model
+        grid.addListener((x, y, oldValue, newValue) -> cells[x][y].set(newValue));
+    }
+
+    /**
+     * Get the property for the cell at the given column and row. Can be used for binding.
+     *
+     * @param x column
+     * @param y row
+     * @return the property holding the value of the cell
+     */
+    public ReadOnlyIntegerProperty getCellProperty(int x, int y) {
+        return cells[x][y].getReadOnlyProperty();
+    }
+
+    /**
+     * Get the grid being observed.
+     *
+     * @return grid
+     */
+    public Grid getGrid() {
+        return grid;
+    }
+}
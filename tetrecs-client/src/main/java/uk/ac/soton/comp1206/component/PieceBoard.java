@@ -22,13 +22,15 @@ public class PieceBoard extends GameBoard {
 
     /**
      * Clear all grid values.
-     * Place the gamePiece to be displayed.
+     * Place the gamePiece to be displayed, if there is one yet.
      *
-     * @param gamePiece to be displayed
+     * @param gamePiece to be displayed, or null to leave the board empty
      */
     public void setPiece(GamePiece gamePiece) {
         clear();
-        grid.playPiece(gamePiece, 1, 1);
+        if (gamePiece != null) {
+            grid.playPiece(gamePiece, 1, 1);
+        }
     }
 
     /**
@@ -44,10 +46,6 @@ public class PieceBoard extends GameBoard {
      * Reset grid values to 0.
      */
     public void clear() {
-        for (int y = 0; y < grid.getRows(); ++y) {
-            for (int x = 0; x < grid.getCols(); ++x) {
-                grid.set(x, y, 0);
-            }
-        }
+        grid.clear();
     }
 }
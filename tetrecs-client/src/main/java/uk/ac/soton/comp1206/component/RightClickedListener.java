@@ -1,4 +1,4 @@
-package uk.ac.soton.comp1206.event;
+package uk.ac.soton.comp1206.component;
 
 /**
  * Right Click Listener is used to handle the event when a block is right-clicked.
@@ -0,0 +1,278 @@
+package uk.ac.soton.comp1206.component;
+
+import javafx.animation.Animation;
+import javafx.animation.FadeTransition;
+import javafx.animation.SequentialTransition;
+import javafx.animation.Transition;
+import javafx.beans.InvalidationListener;
+import javafx.beans.property.ListProperty;
+import javafx.beans.property.SimpleListProperty;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+import javafx.geometry.Pos;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Text;
+import javafx.scene.text.TextAlignment;
+import javafx.util.Duration;
+import javafx.util.Pair;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+
+/**
+ * Visual component which displays players and their scores
+ */
+public class ScoreBox extends VBox {
+    private static final Logger logger = LogManager.getLogger(ScoreBox.class);
+
+    /**
+     * A list containing tuples of names and scores.
+     */
+    public final SimpleListProperty<Pair<String, Integer>> nameAndScores = new SimpleListProperty<>();
+    /**
+     * Rows shown, in order.
+     */
+    private ArrayList<ScoreRow> scoreBoxes = new ArrayList<>();
+    /**
+     * Rows shown, by name and occurrence of that name.
+     */
+    private HashMap<String, ScoreRow> rows = new HashMap<>();
+    /**
+     * Name of local player.
+     */
+    private final StringProperty name = new SimpleStringProperty();
+    /**
+     * Names of dead players.
+     */
+    private final HashSet<String> deadPlayers = new HashSet<>();
+    /**
+     * Number of scores to be shown.
+     */
+    private int numberOfScores = 10;
+    /**
+     * Auto reveal for the score boxes.
+     */
+    private boolean reveal = false;
+
+    /**
+     * Create score box.
+     */
+    public ScoreBox() {
+        getStyleClass().add("scorelist");
+        setAlignment(Pos.CENTER);
+        setSpacing(2.0);
+        nameAndScores.addListener((InvalidationListener) c -> this.updateList());
+        name.addListener(e -> this.updateList());
+    }
+
+    /**
+     * Reveal scores sequentially. Rows already revealed stay as they are.
+     */
+    public void reveal() {
+        ArrayList<Transition> transitions = new ArrayList<>();
+        for (ScoreRow scoreBox : scoreBoxes) {
+            if (scoreBox.revealed) {
+                continue;
+            }
+            // Creating a fade transition for each score box
+            scoreBox.revealed = true;
+            FadeTransition fade = new FadeTransition(new Duration(200), scoreBox);
+            fade.setFromValue(0);
+            fade.setToValue(1);
+            transitions.add(fade);
+        }
+        logger.info("Revealing {} scores", transitions.size());
+        SequentialTransition transition = new SequentialTransition(transitions.toArray(Animation[]::new));
+        transition.play();
+    }
+
+    /**
+     * Update the score list, reusing the row of each player already shown and only changing what is different.
+     */
+    public void updateList() {
+        logger.info("Updating score list. Number of scores: {}", nameAndScores.size());
+
+        HashMap<String, ScoreRow> nextRows = new HashMap<>();
+        HashMap<String, Integer> occurrences = new HashMap<>();
+        ArrayList<ScoreRow> order = new ArrayList<>();
+        int counter = 0;
+        for (Pair<String, Integer> pair : nameAndScores) {
+            // Break when counter exceeds number of scorers to show
+            if (counter++ > numberOfScores) break;
+
+            // Rows are keyed by name, and which occurrence of it this is, as a name can appear more than once
+            String scorerName = pair.getKey();
+            int occurrence = occurrences.merge(scorerName, 1, Integer::sum);
+            String key = scorerName + "\n" + occurrence;
+
+            ScoreRow scoreBox = rows.remove(key);
+            if (scoreBox == null) {
+                scoreBox = new ScoreRow(scorerName);
+            }
+            scoreBox.update(pair.getValue(), GameBlock.COLOURS[counter], scorerName.equals(name.get()),
+                    deadPlayers.contains(scorerName));
+            nextRows.put(key, scoreBox);
+            order.add(scoreBox);
+        }
+        rows = nextRows;
+        scoreBoxes = order;
+
+        // Only move rows if their order or membership has changed
+        if (!getChildren().equals(order)) {
+            getChildren().setAll(order);
+        }
+        if (reveal) {
+            reveal();
+        }
+    }
+
+    /**
+     * Add player to the dead players list.
+     *
+     * @param player name
+     */
+    public void kill(String player) {
+        if (!deadPlayers.add(player)) {
+            return;
+        }
+        for (ScoreRow scoreBox : scoreBoxes) {
+            if (scoreBox.name.equals(player)) {
+                setStyleClass(scoreBox.player, "deadscore", true);
+            }
+        }
+    }
+
+    /**
+     * Get the player name.
+     *
+     * @return name
+     */
+    public StringProperty getNameProperty() {
+        return name;
+    }
+
+    /**
+     * Get the player name and scores list.
+     *
+     * @return name and scores of players
+     */
+    public ListProperty<Pair<String, Integer>> getScoreProperty() {
+        return nameAndScores;
+    }
+
+    /**
+     * Set reveal status of score box.
+     *
+     * @param reveal or not reveal
+     */
+    public void setReveal(boolean reveal) {
+        this.reveal = reveal;
+    }
+
+    /**
+     * Sets the number of scores to show.
+     *
+     * @param number of scores to show
+     */
+    public void setNumberOfScores(int number) {
+        numberOfScores = number;
+    }
+
+    /**
+     * Add or remove a style class, leaving the node alone if it is already right.
+     *
+     * @param node  node to style
+     * @param style style class
+     * @param on    whether the node should have the style class
+     */
+    private static void setStyleClass(Text node, String style, boolean on) {
+        if (on == node.getStyleClass().contains(style)) {
+            return;
+        }
+        if (on) {
+            node.getStyleClass().add(style);
+        } else {
+            node.getStyleClass().remove(style);
+        }
+    }
+
+    /**
+     * A row showing one player's name and score, kept between updates.
+     */
+    private static class ScoreRow extends HBox {
+
+        /**
+         * Name of the player.
+         */
+        private final String name;
+        /**
+         * Text of the player's name and score.
+         */
+        private final Text player;
+        private final Text points;
+        /**
+         * Score shown, and its colour.
+         */
+        private Integer score;
+        private Color colour;
+        /**
+         * Whether the row has been faded in.
+         */
+        private boolean revealed = false;
+
+        /**
+         * Create a hidden row for a player.
+         *
+         * @param name name of the player
+         */
+        ScoreRow(String name) {
+            this.name = name;
+            setOpacity(0.0);
+            getStyleClass().add("scoreitem");
+            setAlignment(Pos.CENTER);
+            setSpacing(10.0);
+
+            // Making the player name text
+            player = new Text(name + ":");
+            player.setTextAlignment(TextAlignment.CENTER);
+            player.getStyleClass().add("scorer");
+            HBox.setHgrow(player, Priority.ALWAYS);
+
+            // Making the player score text
+            points = new Text();
+            points.getStyleClass().add("points");
+            points.setTextAlignment(TextAlignment.CENTER);
+            HBox.setHgrow(points, Priority.ALWAYS);
+
+            getChildren().addAll(player, points);
+        }
+
+        /**
+         * Show a score, changing only what is different from before.
+         *
+         * @param score  the score
+         * @param colour colour for the row's rank
+         * @param mine   whether this is the local player
+         * @param dead   whether the player is dead
+         */
+        void update(Integer score, Color colour, boolean mine, boolean dead) {
+            if (!score.equals(this.score)) {
+                this.score = score;
+                points.setText(score.toString());
+            }
+            if (!colour.equals(this.colour)) {
+                this.colour = colour;
+                player.setFill(colour);
+                points.setFill(colour);
+            }
+            setStyleClass(player, "myscore", mine);
+            setStyleClass(player, "deadscore", dead);
+        }
+    }
+}
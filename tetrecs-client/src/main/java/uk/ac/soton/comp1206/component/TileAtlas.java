@@ -0,0 +1,256 @@
+package uk.ac.soton.comp1206.component;
+
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.ReadOnlyDoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.CycleMethod;
+import javafx.scene.paint.LinearGradient;
+import javafx.scene.paint.Stop;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.HashMap;
+
+/**
+ * A Tile Atlas holds every look a block can have, rasterised once into a single image for a given block size. Painting
+ * a block is then a single drawImage from the atlas rather than rebuilding gradients, polygons and strokes each time.
+ * <p>
+ * Tiles 0 to 15 are the block values, with 0 being empty. The hover and centre dot tiles are transparent overlays to
+ * draw on top of a block. Atlases are shared between every block of the same size, and are rasterised at the current
+ * display scale, so they are thrown away and rebuilt when the GamePane scale changes.
+ */
+public class TileAtlas {
+
+    private static final Logger logger = LogManager.getLogger(TileAtlas.class);
+
+    /**
+     * Overlay tile for hovering where the piece can be placed.
+     */
+    public static final int HOVER_VALID = GameBlock.COLOURS.length;
+
+    /**
+     * Overlay tile for hovering where the piece cannot be placed.
+     */
+    public static final int HOVER_INVALID = HOVER_VALID + 1;
+
+    /**
+     * Overlay tile for the centre dot.
+     */
+    public static final int CENTRE = HOVER_INVALID + 1;
+
+    /**
+     * Number of tiles in an atlas.
+     */
+    private static final int TILES = CENTRE + 1;
+
+    /**
+     * Steps the display scale is rounded to.
+     */
+    private static final double SCALE_STEP = 0.25;
+
+    /**
+     * Scale the atlases are rasterised at.
+     */
+    private static final DoubleProperty scale = new SimpleDoubleProperty(1);
+
+    /**
+     * Atlases for each block size at the current scale.
+     */
+    private static final HashMap<String, TileAtlas> atlases = new HashMap<>();
+
+    static {
+        scale.addListener((observable, oldValue, newValue) -> {
+            logger.info("Display scale is now {}, rebuilding tile atlases", newValue);
+            for (TileAtlas atlas : atlases.values()) {
+                atlas.stale = true;
+            }
+            atlases.clear();
+        });
+    }
+
+    /**
+     * Paints used to draw the tiles.
+     */
+    private static final LinearGradient EMPTY_FILL = new LinearGradient(0, 0, 1, 1, true, CycleMethod.REFLECT,
+            new Stop(0, Color.color(0, 0, 0, 0.3)), new Stop(1, Color.color(0, 0, 0, 0.5)));
+    private static final Color EMPTY_BORDER = Color.color(1, 1, 1, 0.5);
+    private static final Color LIGHT_SIDE = Color.color(1, 1, 1, 0.3);
+    private static final Color LIGHT_ACCENT = Color.color(1, 1, 1, 0.4);
+    private static final Color DARK_ACCENT = Color.color(0, 0, 0, 0.4);
+    private static final Color BLOCK_BORDER = Color.color(0, 0, 0, 0.6);
+    private static final Color CENTRE_FILL = Color.color(1, 1, 1, 0.7);
+    private static final Color HOVER_VALID_FILL = Color.color(1, 1, 1, 0.5);
+    private static final Color HOVER_INVALID_FILL = Color.color(1, 0.2, 0.2, 0.5);
+
+    /**
+     * Size of a block.
+     */
+    private final double width;
+    private final double height;
+
+    /**
+     * Size of a tile in the atlas image, in pixels.
+     */
+    private final int tileWidth;
+    private final int tileHeight;
+
+    /**
+     * The rasterised tiles, side by side.
+     */
+    private final WritableImage image;
+
+    /**
+     * Set once the scale has changed and this atlas should no longer be used.
+     */
+    private boolean stale = false;
+
+    /**
+     * Rasterise a new atlas.
+     *
+     * @param width  width of a block
+     * @param height height of a block
+     * @param scale  display scale to rasterise at
+     */
+    private TileAtlas(double width, double height, double scale) {
+        this.width = width;
+        this.height = height;
+        this.tileWidth = Math.max(1, (int) Math.ceil(width * scale));
+        this.tileHeight = Math.max(1, (int) Math.ceil(height * scale));
+
+        // Draw every tile once, then take a snapshot of them
+        Canvas canvas = new Canvas(tileWidth * TILES, tileHeight);
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.scale((double) tileWidth / width, (double) tileHeight / height);
+        for (int tile = 0; tile < TILES; tile++) {
+            gc.save();
+            gc.translate(tile * width, 0);
+            paintTile(gc, tile);
+            gc.restore();
+        }
+
+        SnapshotParameters parameters = new SnapshotParameters();
+        parameters.setFill(Color.TRANSPARENT);
+        image = canvas.snapshot(parameters, new WritableImage(tileWidth * TILES, tileHeight));
+    }
+
+    /**
+     * Get the atlas for blocks of the given size at the current display scale.
+     *
+     * @param width  width of a block
+     * @param height height of a block
+     * @return the atlas
+     */
+    public static TileAtlas get(double width, double height) {
+        return atlases.computeIfAbsent(width + "x" + height, key -> new TileAtlas(width, height, scale.get()));
+    }
+
+    /**
+     * Set the display scale atlases are rasterised at. The scale is rounded up to a quarter, so dragging the window
+     * size only rebuilds the atlases now and then. Existing atlases become stale if it changes.
+     *
+     * @param value display scale
+     */
+    public static void setScale(double value) {
+        scale.set(Math.max(SCALE_STEP, Math.ceil(value / SCALE_STEP) * SCALE_STEP));
+    }
+
+    /**
+     * Get the display scale as a property, to repaint blocks when it changes.
+     *
+     * @return display scale
+     */
+    public static ReadOnlyDoubleProperty scaleProperty() {
+        return scale;
+    }
+
+    /**
+     * Draw a tile.
+     *
+     * @param gc   graphics context to draw on
+     * @param tile tile to draw, a block value or one of the overlays
+     * @param x    left edge to draw at
+     * @param y    top edge to draw at
+     */
+    public void draw(GraphicsContext gc, int tile, double x, double y) {
+        gc.drawImage(image, tile * tileWidth, 0, tileWidth, tileHeight, x, y, width, height);
+    }
+
+    /**
+     * Whether the display scale has changed since this atlas was made, so it should be fetched again.
+     *
+     * @return true if stale
+     */
+    public boolean isStale() {
+        return stale;
+    }
+
+    /**
+     * Paint a single tile at the origin.
+     *
+     * @param gc   graphics context to paint on
+     * @param tile tile to paint
+     */
+    private void paintTile(GraphicsContext gc, int tile) {
+        if (tile == 0) {
+            paintEmpty(gc);
+        } else if (tile < GameBlock.COLOURS.length) {
+            paintColour(gc, GameBlock.COLOURS[tile]);
+        } else if (tile == CENTRE) {
+            gc.setFill(CENTRE_FILL);
+            gc.fillOval(width / 4, height / 4, width / 2, height / 2);
+        } else {
+            gc.setFill(tile == HOVER_VALID ? HOVER_VALID_FILL : HOVER_INVALID_FILL);
+            gc.fillRect(0, 0, width, height);
+        }
+    }
+
+    /**
+     * Paint an empty block.
+     *
+     * @param gc graphics context to paint on
+     */
+    private void paintEmpty(GraphicsContext gc) {
+        // Fill
+        gc.setFill(EMPTY_FILL);
+        gc.fillRect(0, 0, width, height);
+
+        // Border
+        gc.setStroke(EMPTY_BORDER);
+        gc.strokeRect(0, 0, width, height);
+    }
+
+    /**
+     * Paint a block with the given colour.
+     *
+     * @param gc     graphics context to paint on
+     * @param colour the colour to paint
+     */
+    private void paintColour(GraphicsContext gc, Color colour) {
+        // Fill
+        gc.setFill(colour);
+        gc.fillRect(0, 0, width, height);
+
+        // Making lighter side
+        gc.setFill(LIGHT_SIDE);
+        gc.fillPolygon(new double[]{0, width, 0}, new double[]{0, 0, height}, 3);
+
+        // Adding light accent
+        gc.setFill(LIGHT_ACCENT);
+        gc.fillRect(0, 0, width, 3);
+        gc.fillRect(0, 0, 3, height);
+
+        // Adding dark accent
+        gc.setFill(DARK_ACCENT);
+        gc.fillRect(width - 3, 0, 3, height);
+        gc.fillRect(0, height - 3, width, 3);
+
+        // Border
+        gc.setStroke(BLOCK_BORDER);
+        gc.strokeRect(0, 0, width, height);
+    }
+}
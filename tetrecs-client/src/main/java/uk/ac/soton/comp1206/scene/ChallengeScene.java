@@ -3,6 +3,7 @@ package uk.ac.soton.comp1206.scene;
 import javafx.animation.KeyFrame;
 import javafx.animation.KeyValue;
 import javafx.animation.Timeline;
+import javafx.application.Platform;
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleStringProperty;
@@ -22,8 +23,10 @@ import javafx.util.Pair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import uk.ac.soton.comp1206.component.*;
+import uk.ac.soton.comp1206.game.GameBlockCoordinate;
 import uk.ac.soton.comp1206.game.GamePiece;
 import uk.ac.soton.comp1206.game.SingleplayerGame;
+import uk.ac.soton.comp1206.replay.ReplayRecorder;
 import uk.ac.soton.comp1206.ui.GameWindow;
 import uk.ac.soton.comp1206.util.Multimedia;
 import uk.ac.soton.comp1206.util.Storage;
@@ -43,7 +46,9 @@ public class ChallengeScene extends BaseScene {
     protected int keyboardY = 0;
     protected Timer timer;
     protected StackPane timerStack;
-    protected GameBoard board;
+    protected ObservableGame gameState;
+    protected ReplayRecorder recorder;
+    protected BoardView board;
     protected PieceBoard currentPiece;
     protected PieceBoard followingPiece;
     protected boolean chatOpen = false;
@@ -96,16 +101,20 @@ public class ChallengeScene extends BaseScene {
         Multimedia.playBackgroundMusic("game.wav", true);
 
         // Initialise listeners
-        game.getScoreProperty().addListener((observableValue, oldValue, newValue) -> setScore(oldValue, newValue));
+        gameState.getScoreProperty().addListener((observableValue, oldValue, newValue) -> setScore(oldValue, newValue));
         game.setOnLineCleared(this::lineCleared);
-        game.getMultiplierProperty().addListener(this::setMultiplier);
+        gameState.getMultiplierProperty().addListener(this::setMultiplier);
         game.setOnGameLoop(this::gameLoop);
         game.setNextPieceListener(this::nextPiece);
+        game.setOnLowTime(() -> Multimedia.playAudio("lifelose.wav"));
         scene.setOnKeyPressed(this::handleKey);
-        game.getLivesProperty().addListener(ChallengeScene::setLives);
-        game.getLevelProperty().addListener(ChallengeScene::playLevelUp);
+        gameState.getLivesProperty().addListener(ChallengeScene::setLives);
+        gameState.getLevelProperty().addListener(ChallengeScene::playLevelUp);
         game.setOnGameOver(() -> {
             endGame();
+            if (recorder != null) {
+                Storage.writeReplay(recorder);
+            }
             gameWindow.startScores(game);
         });
 
@@ -133,7 +142,7 @@ public class ChallengeScene extends BaseScene {
         //Generate border
         BorderPane borderPane = new BorderPane();
         stackPane.getChildren().add(borderPane);
-        board = new GameBoard(game.getGrid(), gameWindow.getWidth() / 2.0, gameWindow.getWidth() / 2.0);
+        board = BoardView.create(game.getGrid(), gameWindow.getWidth() / 2.0, gameWindow.getWidth() / 2.0);
         board.setGame(game);
         borderPane.setCenter(board);
 
@@ -190,7 +199,7 @@ public class ChallengeScene extends BaseScene {
         liveBox.getChildren().add(livesLabel);
         Text livesField = new Text("0");
         livesField.getStyleClass().add("lives");
-        livesField.textProperty().bind(game.getLivesProperty().asString());
+        livesField.textProperty().bind(gameState.getLivesProperty().asString());
         liveBox.getChildren().add(livesField);
         topBar.add(liveBox, 2, 0);
 
@@ -210,7 +219,7 @@ public class ChallengeScene extends BaseScene {
         Text levelField = new Text("0");
         levelField.getStyleClass().add("level");
         sideBar.getChildren().add(levelField);
-        levelField.textProperty().bind(game.getLevelProperty().asString());
+        levelField.textProperty().bind(gameState.getLevelProperty().asString());
 
         // Generate current piece board
         Text nextPieceLabel = new Text("Current Piece");
@@ -218,13 +227,13 @@ public class ChallengeScene extends BaseScene {
         sideBar.getChildren().add(nextPieceLabel);
         currentPiece = new PieceBoard(3, 3, gameWindow.getWidth() / 6.0, gameWindow.getWidth() / 6.0);
         currentPiece.setCentre();
-        currentPiece.setOnBlockClick(rotations -> rotatePiece());
+        currentPiece.setOnBlockClick((x, y) -> rotatePiece());
         sideBar.getChildren().add(currentPiece);
 
         // Generate following piece board
         followingPiece = new PieceBoard(3, 3, gameWindow.getWidth() / 10.0, gameWindow.getWidth() / 10.0);
         followingPiece.setPadding(new Insets(20.0, 0.0, 0.0, 0.0));
-        followingPiece.setOnBlockClick(block -> swapPiece());
+        followingPiece.setOnBlockClick((x, y) -> swapPiece());
         sideBar.getChildren().add(followingPiece);
 
         // Generate timer bar
@@ -247,7 +256,11 @@ public class ChallengeScene extends BaseScene {
         logger.info("Starting a new challenge");
 
         // Start new game
-        game = new SingleplayerGame(5, 5);
+        SingleplayerGame singleplayerGame = new SingleplayerGame(5, 5);
+        recorder = ReplayRecorder.record(singleplayerGame);
+        game = singleplayerGame;
+        game.setEventExecutor(Platform::runLater);
+        gameState = new ObservableGame(game);
     }
 
     /**
@@ -316,12 +329,21 @@ public class ChallengeScene extends BaseScene {
      * Rotate current piece.
      */
     protected void rotatePiece() {
+        rotatePiece(1);
+    }
+
+    /**
+     * Rotate current piece clockwise the given number of times.
+     *
+     * @param rotations number of clockwise rotations, negative for anticlockwise
+     */
+    protected void rotatePiece(int rotations) {
         logger.info("Rotating piece");
 
         Multimedia.playAudio("rotate.wav");
-        game.rotatePiece();
+        game.rotatePiece(rotations);
         currentPiece.setPiece(game.getCurrentPiece());
-        board.refreshHovered(board.getHoveredBlock());
+        board.refreshHovered();
     }
 
     /**
@@ -332,8 +354,8 @@ public class ChallengeScene extends BaseScene {
     protected void handleKey(KeyEvent keyEvent) {
 
         // Keyboard hovered coordinate
-        keyboardX = board.getHoveredBlock().getX();
-        keyboardY = board.getHoveredBlock().getY();
+        keyboardX = board.getHoveredX();
+        keyboardY = board.getHoveredY();
 
         // If chat open, return
         if (chatOpen) {
@@ -348,7 +370,7 @@ public class ChallengeScene extends BaseScene {
 
         // Place game piece
         if (keyEvent.getCode().equals(KeyCode.ENTER) || keyEvent.getCode().equals(KeyCode.X)) {
-            blockClicked(board.getBlock(keyboardX, keyboardY));
+            blockClicked(keyboardX, keyboardY);
         }
 
         // Move piece left
@@ -381,9 +403,7 @@ public class ChallengeScene extends BaseScene {
 
         // Rotate left
         if (keyEvent.getCode().equals(KeyCode.Q) || keyEvent.getCode().equals(KeyCode.Z) || keyEvent.getCode().equals(KeyCode.OPEN_BRACKET)) {
-            rotatePiece();
-            rotatePiece();
-            rotatePiece();
+            rotatePiece(-1);
         }
 
         // Rotate right
@@ -402,22 +422,23 @@ public class ChallengeScene extends BaseScene {
         }
 
         // Refresh hovered block
-        board.refreshHovered(board.getBlock(keyboardX, keyboardY));
+        board.refreshHovered(keyboardX, keyboardY);
     }
 
     /**
      * Handle block click event.
      *
-     * @param gameBlock clicked on
+     * @param x column clicked on
+     * @param y row clicked on
      */
-    protected void blockClicked(GameBlock gameBlock) {
-        if (game.blockClicked(gameBlock)) {
-            logger.info("Placed {}", gameBlock);
+    protected void blockClicked(int x, int y) {
+        if (game.blockClicked(x, y)) {
+            logger.info("Placed {}, {}", x, y);
 
             Multimedia.playAudio("place.wav");
             game.restartGameLoop();
         } else {
-            logger.info("Unable to place {}", gameBlock);
+            logger.info("Unable to place {}, {}", x, y);
 
             Multimedia.playAudio("fail.wav");
         }
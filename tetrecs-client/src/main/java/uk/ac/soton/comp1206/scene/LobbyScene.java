@@ -5,22 +5,31 @@ import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.WeakChangeListener;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
-import javafx.scene.control.ScrollPane;
 import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
 import javafx.scene.layout.*;
 import javafx.scene.text.Text;
 import javafx.scene.text.TextAlignment;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import uk.ac.soton.comp1206.chat.ChatMessage;
 import uk.ac.soton.comp1206.component.ChannelList;
 import uk.ac.soton.comp1206.component.Chat;
 import uk.ac.soton.comp1206.component.PlayerList;
 import uk.ac.soton.comp1206.network.Communicator;
+import uk.ac.soton.comp1206.network.LobbySync;
+import uk.ac.soton.comp1206.network.Mailbox;
+import uk.ac.soton.comp1206.network.Message;
 import uk.ac.soton.comp1206.ui.GameWindow;
 import uk.ac.soton.comp1206.util.Multimedia;
 
+import java.time.LocalTime;
 import java.util.*;
 
 /**
@@ -32,13 +41,17 @@ public class LobbyScene extends BaseScene {
     public static final BooleanProperty host = new SimpleBooleanProperty(false);
     private static final Logger logger = LogManager.getLogger(LobbyScene.class);
     private static final StringProperty channel = new SimpleStringProperty("");
-    public static ScrollPane scroller = null;
-    public static VBox messages = null;
     public static PlayerList playerList;
     private static Communicator communicator = null;
     private final StringProperty name = new SimpleStringProperty();
     private ChannelList channelList;
-    private Timer timer;
+    private Chat chat;
+    private LobbySync lobbySync;
+    /**
+     * Suspends polling while the window is unfocused. Held here so the window only holds it weakly.
+     */
+    private final ChangeListener<Boolean> focusListener = (observable, oldValue, focused) ->
+            lobbySync.setFocused(focused);
 
     /**
      * Create lobby scene.
@@ -98,18 +111,39 @@ public class LobbyScene extends BaseScene {
             }
         });
 
-        // Request all channels
-        send("LIST");
-        communicator.addListener(message -> Platform.runLater(() -> receiver(message.trim())));
-        TimerTask refreshChannels = new TimerTask() {
-            @Override
-            public void run() {
-                logger.info("Refreshing channel list");
-                LobbyScene.send("LIST");
+        // Deliver a burst of messages in one go, keeping only the latest channel and user lists
+        Mailbox mailbox = new Mailbox(Platform::runLater, communicator.getStats());
+        communicator.addListener("JOIN", mailbox.deliver(message -> {
+            host.set(false);
+            join(message.toString());
+            lobbySync.refresh();
+        }));
+        communicator.addListener("NICK", mailbox.deliver(this::receiveName));
+        communicator.addListener("PARTED", mailbox.deliver(message -> {
+            channel.set("");
+            lobbySync.refresh();
+        }));
+        communicator.addListener("USERS", mailbox.deliverLatest(this::setUsers));
+        communicator.addListener("MSG", mailbox.deliver(message -> chat.addMessage(ChatMessage.parse(message))));
+        communicator.addListener("HOST", mailbox.deliver(message -> host.set(true)));
+
+        // Keep the channel list up to date, polling faster while the player is using the lobby
+        lobbySync = new LobbySync(communicator, Platform::runLater);
+        lobbySync.setOnChannelsChanged(this::receiveChannelList);
+        scene.addEventFilter(MouseEvent.MOUSE_PRESSED, e -> lobbySync.interacted());
+        scene.addEventFilter(KeyEvent.KEY_PRESSED, e -> lobbySync.interacted());
+        scene.addEventFilter(ScrollEvent.SCROLL, e -> lobbySync.interacted());
+        if (scene.getWindow() != null) {
+            scene.getWindow().focusedProperty().addListener(new WeakChangeListener<>(focusListener));
+            lobbySync.setFocused(scene.getWindow().isFocused());
+        }
+        // Stop polling once another scene replaces this one
+        scene.windowProperty().addListener((observable, oldWindow, window) -> {
+            if (window == null) {
+                stopRequests();
             }
-        };
-        timer = new Timer();
-        timer.schedule(refreshChannels, 0, 4000);
+        });
+        lobbySync.start();
     }
 
     /**
@@ -157,7 +191,7 @@ public class LobbyScene extends BaseScene {
         gridPane.add(lobbyText, 1, 0);
 
         // Generate lobby chat
-        Chat chat = new Chat();
+        chat = new Chat();
         gridPane.add(chat, 1, 1);
         chat.visibleProperty().bind(channel.isNotEmpty());
         GridPane.setHgrow(chat, Priority.ALWAYS);
@@ -167,11 +201,10 @@ public class LobbyScene extends BaseScene {
      * Stop sending server requests.
      */
     private void stopRequests() {
-        if (timer != null) {
-            timer.purge();
-            timer.cancel();
-            timer = null;
+        if (lobbySync != null) {
+            lobbySync.stop();
         }
+        chat.close();
     }
 
     /**
@@ -184,64 +217,26 @@ public class LobbyScene extends BaseScene {
     }
 
     /**
-     * Receive server message.
-     * Parse message and handle.
+     * Receive nickname set by player and if valid, set name.
      *
-     * @param message from server
+     * @param message NICK message from server
      */
-    private void receiver(String message) {
-        logger.info("Message received: {}", message);
-
-        String[] components = message.split(" ", 2);
-        String command = components[0];
-
-        // Receive list of channels
-        if (command.equals("CHANNELS") && components.length > 1) {
-            receiveChannelList(components[1]);
-        } else {
-            channelList.setChannels(new ArrayList<>());
-        }
-
-        // Receive channel joined successfully
-        if (command.equals("JOIN")) {
-            host.set(false);
-            String channel = components[1];
-            join(channel);
-        }
-
-        // Receive nickname set by player and if valid, set name
-        if (command.equals("NICK") && components.length > 1 && !components[1].contains(":")) {
-            setName(components[1]);
-
-        }
-
-        // Receive channel left successfully
-        if (command.equals("PARTED")) {
-            channel.set("");
-        }
-
-        // Receive users successfully
-        if (command.equals("USERS") && components.length > 1) {
-            setUsers(components[1]);
-        }
-
-        // Received host confirmation
-        if (command.equals("HOST")) {
-            host.set(true);
+    private void receiveName(Message message) {
+        String name = message.toString();
+        if (!name.isEmpty() && !name.contains(":")) {
+            setName(name);
         }
     }
 
     /**
      * Sets all users in channel
      *
-     * @param data players as string
+     * @param message USERS message from server
      */
-    private void setUsers(String data) {
-        logger.info("Received user list: {}", data);
+    private void setUsers(Message message) {
+        logger.info("Received user list: {}", message);
 
-        String[] players = data.split("\\R");
-        List<String> list = Arrays.asList(players);
-        playerList.setPlayers(list);
+        playerList.setPlayers(message.getLines());
         Multimedia.playAudio("message.wav");
     }
 
@@ -256,17 +251,14 @@ public class LobbyScene extends BaseScene {
     }
 
     /**
-     * Receive list of all live channels.
+     * Receive list of all live channels, when it has changed.
      *
-     * @param data on channels available
+     * @param channels channel names from the server
      */
-    private void receiveChannelList(String data) {
-        logger.info("Channel list: {}", data);
-
-        String[] channels = data.split("\\R");
-        List<String> listChannels = Arrays.asList(channels);
+    private void receiveChannelList(List<String> channels) {
+        logger.info("Channel list: {}", channels);
 
-        channelList.setChannels(listChannels);
+        channelList.setChannels(channels);
     }
 
     /**
@@ -277,9 +269,9 @@ public class LobbyScene extends BaseScene {
     public void join(String name) {
         channelList.addChannel(name);
         channel.set(name);
-        messages.getChildren().clear();
-        Text intro = new Text("Welcome to the lobby\nType /nick <New name> to change your name\n\n");
-        messages.getChildren().add(intro);
+        chat.clear();
+        chat.addMessage(new ChatMessage(LocalTime.now(), null,
+                "Welcome to the lobby\nType /nick <New name> to change your name"));
     }
 }
 
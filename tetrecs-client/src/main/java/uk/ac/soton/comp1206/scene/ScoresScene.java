@@ -20,12 +20,16 @@ import org.apache.logging.log4j.Logger;
 import uk.ac.soton.comp1206.component.ScoreBox;
 import uk.ac.soton.comp1206.game.Game;
 import uk.ac.soton.comp1206.game.GamePiece;
+import uk.ac.soton.comp1206.game.PlayerScore;
 import uk.ac.soton.comp1206.network.Communicator;
+import uk.ac.soton.comp1206.network.Mailbox;
+import uk.ac.soton.comp1206.network.Message;
 import uk.ac.soton.comp1206.ui.GameWindow;
 import uk.ac.soton.comp1206.util.Multimedia;
 import uk.ac.soton.comp1206.util.Storage;
 
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Timer;
 
 /**
@@ -105,9 +109,10 @@ public class ScoresScene extends BaseScene {
     public void initialise() {
         Multimedia.playAudio("explode.wav");
         Multimedia.playBackgroundMusic("end.wav", true);
-        communicator.addListener(message -> Platform.runLater(() -> receiver(message.trim())));
+        Mailbox mailbox = new Mailbox(Platform::runLater, communicator.getStats());
+        communicator.addListener("HISCORES", mailbox.deliverLatest(this::receiveScores));
         if (!game.getScores().isEmpty()) {
-            myName.set(game.getNameProperty().getValue());
+            myName.set(game.getName());
         }
         communicator.send("HISCORES");
     }
@@ -207,50 +212,19 @@ public class ScoresScene extends BaseScene {
         hiScoreCol2.reveal();
     }
 
-    /**
-     * Receives message from server.
-     *
-     * @param message from server
-     */
-    private void receiver(String message) {
-        logger.info("Received message: {}", message);
-        String[] components = message.split(" ", 2);
-        String command = components[0];
-        if (command.equals("HISCORES")) {
-            if (components.length > 1) {
-                String data = components[1];
-                receiveScores(data);
-            } else {
-                receiveScores("");
-            }
-        }
-    }
-
     /**
      * Parse scores data and add to UI element.
      *
-     * @param data from server
+     * @param message HISCORES message from server
      */
-    private void receiveScores(String data) {
-        logger.info("Scores: {}", data);
+    private void receiveScores(Message message) {
+        logger.info("Scores: {}", message);
 
         remoteScores.clear();
-        for (String scoreLine : data.split("\\R")) {
-
-            String[] components = scoreLine.split(":", 2);
-            String player = components[0];
-
-            if (components.length < 2) continue;
-
-            int score = Integer.parseInt(components[1]);
-
-            logger.info("Received score: {} = {}", player, score);
-
-            remoteScores.add(new Pair<>(player, score));
-        }
+        remoteScores.addAll(toPairs(message.getScores()));
         remoteScores.sort((a, b) -> b.getValue().compareTo(a.getValue()));
-        remoteScoreList.clear();
-        remoteScoreList.addAll(remoteScores);
+        // One change, so the score box updates its rows once
+        remoteScoreList.setAll(remoteScores);
         if (waitingForScores) {
             checkForHiScore();
             waitingForScores = false;
@@ -311,7 +285,7 @@ public class ScoresScene extends BaseScene {
         if (game.getScores().isEmpty()) {
             scoreList = FXCollections.observableArrayList(Storage.loadScores());
         } else {
-            scoreList = FXCollections.observableArrayList(game.getScores());
+            scoreList = FXCollections.observableArrayList(toPairs(game.getScores()));
             localScoresLabel.setText("Your score");
         }
         scoreGrid.add(localScoresLabel, 0, 0);
@@ -339,7 +313,7 @@ public class ScoresScene extends BaseScene {
         if (game.getScores().isEmpty()) {
             scoreList = FXCollections.observableArrayList(Storage.loadScores());
         } else {
-            scoreList = FXCollections.observableArrayList(game.getScores());
+            scoreList = FXCollections.observableArrayList(toPairs(game.getScores()));
             localScoresLabel.setText("This game");
         }
 
@@ -352,5 +326,18 @@ public class ScoresScene extends BaseScene {
         hiScoreCol2.getScoreProperty().bind(wrapper2);
         hiScoreCol2.getNameProperty().bind(myName);
     }
-}
 
+    /**
+     * Convert the scores of a game into name and score pairs for display.
+     *
+     * @param scores scores of the game
+     * @return name and score pairs
+     */
+    private static ArrayList<Pair<String, Integer>> toPairs(List<PlayerScore> scores) {
+        ArrayList<Pair<String, Integer>> pairs = new ArrayList<>();
+        for (PlayerScore score : scores) {
+            pairs.add(new Pair<>(score.getName(), score.getScore()));
+        }
+        return pairs;
+    }
+}
@@ -1,7 +1,10 @@
 package uk.ac.soton.comp1206.ui;
 
 import javafx.application.Platform;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleObjectProperty;
 import javafx.scene.Scene;
+import javafx.scene.control.Alert;
 import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
@@ -9,9 +12,14 @@ import javafx.stage.Stage;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import uk.ac.soton.comp1206.App;
+import uk.ac.soton.comp1206.component.NetworkOverlay;
 import uk.ac.soton.comp1206.game.Game;
 import uk.ac.soton.comp1206.network.Communicator;
+import uk.ac.soton.comp1206.network.ConnectionState;
 import uk.ac.soton.comp1206.scene.*;
+import uk.ac.soton.comp1206.server.LocalServer;
+
+import java.io.IOException;
 
 /**
  * The GameWindow is the single window for the game where everything takes place. To move between screens in the game,
@@ -23,12 +31,25 @@ import uk.ac.soton.comp1206.scene.*;
 public class GameWindow {
 
     private static final Logger logger = LogManager.getLogger(GameWindow.class);
+    /**
+     * Server used unless the tetrecs.server system property says otherwise.
+     */
+    private static final String DEFAULT_SERVER = "ws://ofb-labs.soton.ac.uk:9700";
     final Communicator communicator;
     private final int width;
     private final int height;
     private final Stage stage;
     private BaseScene currentScene;
     private Scene scene;
+    /**
+     * State of the connection to the server, updated on the FX thread.
+     */
+    private final ObjectProperty<ConnectionState> connectionState =
+            new SimpleObjectProperty<>(ConnectionState.CONNECTING);
+    /**
+     * Network stats shown over every scene, if the tetrecs.overlay system property is set.
+     */
+    private NetworkOverlay overlay;
 
     /**
      * Create a new GameWindow attached to the given stage with the specified width and height
@@ -52,13 +73,45 @@ public class GameWindow {
         //Setup default scene
         setupDefaultScene();
 
-        //Setup communicator
-        communicator = new Communicator("ws://ofb-labs.soton.ac.uk:9700");
+        //Setup communicator, which connects in the background
+        communicator = connect(System.getProperty("tetrecs.server", DEFAULT_SERVER));
+        communicator.addConnectionStateListener(state -> Platform.runLater(() -> connectionState.set(state)));
+        connectionState.set(communicator.getState());
+        communicator.getStats().register("client");
+        if (Boolean.getBoolean("tetrecs.overlay")) {
+            overlay = new NetworkOverlay(communicator.getStats(), connectionState);
+        }
 
         //Go to menu
         startIntro();
     }
 
+    /**
+     * Start connecting to the TetrECS server, exiting if its address is not valid. The server "local" starts a
+     * LocalServer in this process and connects to that. If the server cannot be reached the communicator keeps trying,
+     * so the game starts either way.
+     *
+     * @param server server to connect to
+     * @return the communicator
+     */
+    private Communicator connect(String server) {
+        try {
+            if (server.equals("local")) {
+                LocalServer localServer = new LocalServer(0);
+                localServer.start();
+                server = localServer.getUri();
+            }
+            return new Communicator(server);
+        } catch (IOException e) {
+            e.printStackTrace();
+
+            Alert error = new Alert(Alert.AlertType.ERROR, "Unable to communicate with the TetrECS server\n\n" + e.getMessage() + "\n\nPlease ensure you are connected to the VPN");
+            error.showAndWait();
+            System.exit(1);
+            return null;
+        }
+    }
+
     /**
      * Setup the font and any other resources we need
      */
@@ -108,6 +161,9 @@ public class GameWindow {
         newScene.build();
         currentScene = newScene;
         scene = newScene.setScene();
+        if (overlay != null && scene.getRoot() instanceof Pane root) {
+            root.getChildren().add(overlay);
+        }
         stage.setScene(scene);
 
         //Initialise the scene when ready
@@ -166,6 +222,15 @@ public class GameWindow {
         return communicator;
     }
 
+    /**
+     * Get the state of the connection to the server
+     *
+     * @return connection state property
+     */
+    public ObjectProperty<ConnectionState> connectionStateProperty() {
+        return connectionState;
+    }
+
     public void startLeaderBoard() {
         loadScene(new ScoresScene(this));
     }
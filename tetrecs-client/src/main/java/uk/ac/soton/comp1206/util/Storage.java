@@ -3,7 +3,9 @@ package uk.ac.soton.comp1206.util;
 import javafx.util.Pair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import uk.ac.soton.comp1206.replay.ReplayRecorder;
 
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -97,4 +99,19 @@ public class Storage {
             e.printStackTrace();
         }
     }
+
+    /**
+     * Write the replay of the last game to replay.trp file.
+     *
+     * @param recorder recorder of the game
+     */
+    public static void writeReplay(ReplayRecorder recorder) {
+        logger.info("Writing replay of {} actions to replay.trp", recorder.getActionCount());
+
+        try (OutputStream out = Files.newOutputStream(Paths.get("replay.trp"))) {
+            recorder.writeTo(out);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
 }
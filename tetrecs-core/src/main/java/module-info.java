@@ -0,0 +1,15 @@
+module uk.ac.soton.comp1206.core {
+    requires org.apache.logging.log4j;
+    requires nv.websocket.client;
+    requires java.management;
+    exports uk.ac.soton.comp1206.chat;
+    exports uk.ac.soton.comp1206.event;
+    exports uk.ac.soton.comp1206.game;
+    exports uk.ac.soton.comp1206.hint;
+    exports uk.ac.soton.comp1206.load;
+    exports uk.ac.soton.comp1206.network;
+    exports uk.ac.soton.comp1206.replay;
+    exports uk.ac.soton.comp1206.server;
+    exports uk.ac.soton.comp1206.sim;
+    exports uk.ac.soton.comp1206.timer;
+}
@@ -0,0 +1,186 @@
+package uk.ac.soton.comp1206.chat;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A Chat Log holds the most recent chat messages in a fixed size ring buffer, so a lobby left open for hours uses no
+ * more memory than one just joined.
+ * <p>
+ * Once full, each new message pushes out the oldest. If a spill file is given, pushed out messages are appended to it
+ * rather than lost, so the whole conversation can still be read back from disk. The log is not thread safe, and is
+ * meant to be used from the FX thread.
+ */
+public class ChatLog {
+
+    private static final Logger logger = LogManager.getLogger(ChatLog.class);
+
+    /**
+     * Default number of messages kept.
+     */
+    public static final int DEFAULT_CAPACITY = 500;
+
+    /**
+     * Messages, oldest at the head.
+     */
+    private final ChatMessage[] messages;
+
+    /**
+     * Index of the oldest message, and number of messages held.
+     */
+    private int head = 0;
+    private int size = 0;
+
+    /**
+     * File pushed out messages are appended to, or null to drop them.
+     */
+    private final Path spill;
+
+    /**
+     * Writer for the spill file, opened with the first message pushed out.
+     */
+    private BufferedWriter spillWriter;
+
+    /**
+     * Number of messages pushed out.
+     */
+    private long evicted = 0;
+
+    /**
+     * Create a new Chat Log which drops messages once full.
+     *
+     * @param capacity number of messages kept
+     */
+    public ChatLog(int capacity) {
+        this(capacity, null);
+    }
+
+    /**
+     * Create a new Chat Log.
+     *
+     * @param capacity number of messages kept
+     * @param spill    file to append pushed out messages to, or null to drop them
+     */
+    public ChatLog(int capacity, Path spill) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1");
+        }
+        this.messages = new ChatMessage[capacity];
+        this.spill = spill;
+    }
+
+    /**
+     * Add a message, pushing out the oldest if the log is full.
+     *
+     * @param message message to add
+     * @return the message pushed out, or null if there was room
+     */
+    public ChatMessage add(ChatMessage message) {
+        if (size < messages.length) {
+            messages[(head + size) % messages.length] = message;
+            size++;
+            return null;
+        }
+
+        ChatMessage oldest = messages[head];
+        messages[head] = message;
+        head = (head + 1) % messages.length;
+        evicted++;
+        spill(oldest);
+        return oldest;
+    }
+
+    /**
+     * Get a message.
+     *
+     * @param index index from the oldest message held
+     * @return message
+     */
+    public ChatMessage get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return messages[(head + index) % messages.length];
+    }
+
+    /**
+     * Get the number of messages held.
+     *
+     * @return size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the number of messages which can be held.
+     *
+     * @return capacity
+     */
+    public int getCapacity() {
+        return messages.length;
+    }
+
+    /**
+     * Get the number of messages pushed out since the log was created.
+     *
+     * @return messages evicted
+     */
+    public long getEvictedCount() {
+        return evicted;
+    }
+
+    /**
+     * Remove every message held. They are not spilled.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            messages[(head + i) % messages.length] = null;
+        }
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * Write any spilled messages still buffered and close the spill file.
+     */
+    public void close() {
+        if (spillWriter == null) {
+            return;
+        }
+        try {
+            spillWriter.close();
+        } catch (IOException e) {
+            logger.error("Unable to close chat log: {}", e.getMessage());
+        }
+        spillWriter = null;
+    }
+
+    /**
+     * Append a pushed out message to the spill file, if there is one.
+     *
+     * @param message message pushed out
+     */
+    private void spill(ChatMessage message) {
+        if (spill == null) {
+            return;
+        }
+        try {
+            if (spillWriter == null) {
+                spillWriter = Files.newBufferedWriter(spill, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                        StandardOpenOption.APPEND);
+            }
+            spillWriter.write(message.toString());
+            spillWriter.newLine();
+        } catch (IOException e) {
+            logger.error("Unable to write chat log: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package uk.ac.soton.comp1206.chat;
+
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Represents a message in the lobby chat: when it arrived, who sent it and what they said.
+ */
+public class ChatMessage {
+
+    /**
+     * Format of the time shown before each message
+     */
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm");
+
+    /**
+     * Time the message arrived
+     */
+    private final LocalTime time;
+
+    /**
+     * Name of the sender, or null for a message from the game itself
+     */
+    private final String sender;
+
+    /**
+     * Text of the message
+     */
+    private final String text;
+
+    /**
+     * Create a new ChatMessage
+     *
+     * @param time   time the message arrived
+     * @param sender name of the sender, or null for a message from the game itself
+     * @param text   text of the message
+     */
+    public ChatMessage(LocalTime time, String sender, String text) {
+        this.time = time;
+        this.sender = sender;
+        this.text = text;
+    }
+
+    /**
+     * Parse the payload of a MSG message, which is the sender's name and the text separated by a colon.
+     *
+     * @param payload MSG payload
+     * @return chat message, arriving now
+     */
+    public static ChatMessage parse(CharSequence payload) {
+        String message = payload.toString();
+        int colon = message.indexOf(':');
+        if (colon < 0) {
+            return new ChatMessage(LocalTime.now(), null, message);
+        }
+        return new ChatMessage(LocalTime.now(), message.substring(0, colon), message.substring(colon + 1));
+    }
+
+    /**
+     * Get the time the message arrived
+     *
+     * @return time
+     */
+    public LocalTime getTime() {
+        return time;
+    }
+
+    /**
+     * Get the name of the sender
+     *
+     * @return sender, or null for a message from the game itself
+     */
+    public String getSender() {
+        return sender;
+    }
+
+    /**
+     * Get the text of the message
+     *
+     * @return text
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Format the message as it is shown and logged.
+     *
+     * @return time, sender and text
+     */
+    @Override
+    public String toString() {
+        if (sender == null) {
+            return text;
+        }
+        return "[" + TIME.format(time) + "] " + sender + ": " + text;
+    }
+}
@@ -0,0 +1,16 @@
+package uk.ac.soton.comp1206.event;
+
+import java.util.List;
+
+/**
+ * The Channel List Listener is used for listening to the list of channels on the server changing.
+ */
+public interface ChannelListListener {
+
+    /**
+     * Handle a new list of channels.
+     *
+     * @param channels channel names, in the order the server listed them
+     */
+    void channelsChanged(List<String> channels);
+}
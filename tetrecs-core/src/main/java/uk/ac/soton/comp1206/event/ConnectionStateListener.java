@@ -0,0 +1,17 @@
+package uk.ac.soton.comp1206.event;
+
+import uk.ac.soton.comp1206.network.ConnectionState;
+
+/**
+ * The Connection State Listener is used for listening to the communicator connecting, losing its connection and
+ * reconnecting.
+ */
+public interface ConnectionStateListener {
+
+    /**
+     * Handle the state of the connection changing. Called on the socket's threads.
+     *
+     * @param state the new state
+     */
+    void connectionStateChanged(ConnectionState state);
+}
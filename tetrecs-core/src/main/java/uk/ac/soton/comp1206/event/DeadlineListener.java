@@ -0,0 +1,19 @@
+package uk.ac.soton.comp1206.event;
+
+/**
+ * Deadline Listener is used to listen for a game loop deadline approaching and running out.
+ */
+public interface DeadlineListener {
+
+    /**
+     * Handle one of the warning points before the deadline being reached.
+     *
+     * @param warning index of the warning, starting from 0
+     */
+    void deadlineWarning(int warning);
+
+    /**
+     * Handle the deadline running out.
+     */
+    void deadlineExpired();
+}
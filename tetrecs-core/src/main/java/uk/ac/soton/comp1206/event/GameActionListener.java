@@ -0,0 +1,19 @@
+package uk.ac.soton.comp1206.event;
+
+import uk.ac.soton.comp1206.game.GameAction;
+
+/**
+ * The Game Action Listener is told about every action which changes a game, such as clicking a block or the game loop
+ * running out, so the game can be recorded and played again.
+ */
+public interface GameActionListener {
+
+    /**
+     * Handle an action on the game.
+     *
+     * @param action the action
+     * @param x      column clicked, or the number of rotations for ROTATE, otherwise 0
+     * @param y      row clicked, otherwise 0
+     */
+    void gameAction(GameAction action, int x, int y);
+}
@@ -0,0 +1,17 @@
+package uk.ac.soton.comp1206.event;
+
+/**
+ * Game State Listener is used to listen for changes to the score, level, lives or multiplier of a game.
+ */
+public interface GameStateListener {
+
+    /**
+     * Handle a change to the state of the game.
+     *
+     * @param score      the current score
+     * @param level      the current level
+     * @param lives      the current number of lives
+     * @param multiplier the current multiplier
+     */
+    void gameStateChanged(int score, int level, int lives, int multiplier);
+}
@@ -0,0 +1,17 @@
+package uk.ac.soton.comp1206.event;
+
+/**
+ * Grid Changed Listener is used to listen for cells in a Grid changing value.
+ */
+public interface GridChangedListener {
+
+    /**
+     * Handle a single cell of the grid changing value. Only called when the value actually changes.
+     *
+     * @param x        column of the cell
+     * @param y        row of the cell
+     * @param oldValue the previous value of the cell
+     * @param newValue the new value of the cell
+     */
+    void gridChanged(int x, int y, int oldValue, int newValue);
+}
@@ -0,0 +1,12 @@
+package uk.ac.soton.comp1206.event;
+
+/**
+ * Low Time Listener is used to listen for the game loop timer getting close to running out.
+ */
+public interface LowTimeListener {
+
+    /**
+     * Handle the game loop timer getting low.
+     */
+    void lowTime();
+}
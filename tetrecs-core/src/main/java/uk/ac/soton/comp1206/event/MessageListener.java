@@ -0,0 +1,16 @@
+package uk.ac.soton.comp1206.event;
+
+import uk.ac.soton.comp1206.network.Message;
+
+/**
+ * The Message Listener is used for listening to messages with a particular command received by the communicator.
+ */
+public interface MessageListener {
+
+    /**
+     * Handle an incoming message, already split into its command and payload
+     *
+     * @param message the message that was received
+     */
+    void receiveMessage(Message message);
+}
@@ -0,0 +1,646 @@
+package uk.ac.soton.comp1206.game;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import uk.ac.soton.comp1206.event.DeadlineListener;
+import uk.ac.soton.comp1206.event.GameActionListener;
+import uk.ac.soton.comp1206.event.GameLoopListener;
+import uk.ac.soton.comp1206.event.GameOverListener;
+import uk.ac.soton.comp1206.event.GameStateListener;
+import uk.ac.soton.comp1206.event.LineClearedListener;
+import uk.ac.soton.comp1206.event.LowTimeListener;
+import uk.ac.soton.comp1206.event.NextPieceListener;
+import uk.ac.soton.comp1206.timer.Deadline;
+import uk.ac.soton.comp1206.timer.GameScheduler;
+import uk.ac.soton.comp1206.timer.TimingWheel;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.concurrent.Executor;
+
+/**
+ * The Game class handles the main logic, state and properties of the TetrECS game. Methods to manipulate the game state
+ * and to handle actions made by the player should take place inside this class.
+ * <p>
+ * The Game is plain Java and does not depend on any UI toolkit. Changes to its state are reported through listeners,
+ * and anything triggered by the game loop timer is delivered through the event executor.
+ * <p>
+ * The game loop is a single Deadline on a GameScheduler, shared with other games, which also raises the low time
+ * warnings.
+ */
+public abstract class Game {
+
+    private static final Logger logger = LogManager.getLogger(Game.class);
+
+    /**
+     * Fractions of the game loop at which to warn that time is running low.
+     */
+    private static final double[] LOW_TIME_WARNINGS = {0.75, 0.85, 0.95};
+
+    /**
+     * Number of rows.
+     */
+    protected final int rows;
+
+    /**
+     * Number of columns.
+     */
+    protected final int cols;
+    protected final Grid grid;
+    protected final ArrayList<PlayerScore> scores = new ArrayList<>();
+    protected int score = 0;
+    protected int level = 1;
+    protected int lives = 3;
+    protected int multiplier = 1;
+    private String name;
+    private final GameScheduler scheduler;
+    private final Deadline loopDeadline;
+    private volatile boolean stopped = false;
+    private Executor eventExecutor = Runnable::run;
+    protected GamePiece followingPiece;
+    private GamePiece currentPiece;
+    private NextPieceListener nextPieceListener;
+    private LineClearedListener lineClearedListener;
+    private GameLoopListener gameLoopListener;
+    private GameOverListener gameOverListener;
+    private GameStateListener gameStateListener;
+    private LowTimeListener lowTimeListener;
+    private GameActionListener gameActionListener;
+
+    /**
+     * Create a new game with the specified rows and columns. Creates a corresponding grid model.
+     *
+     * @param cols number of columns
+     * @param rows number of rows
+     */
+    public Game(int cols, int rows) {
+        this(cols, rows, TimingWheel.getShared());
+    }
+
+    /**
+     * Create a new game with the specified rows and columns, with its game loop driven by the given scheduler.
+     *
+     * @param cols      number of columns
+     * @param rows      number of rows
+     * @param scheduler scheduler for the game loop
+     */
+    public Game(int cols, int rows, GameScheduler scheduler) {
+        this.cols = cols;
+        this.rows = rows;
+
+        // Create a new grid model to represent the game state
+        this.grid = new Grid(cols, rows);
+
+        // Create the deadline for the game loop
+        this.scheduler = scheduler;
+        this.loopDeadline = new Deadline(new DeadlineListener() {
+            @Override
+            public void deadlineWarning(int warning) {
+                lowTime();
+            }
+
+            @Override
+            public void deadlineExpired() {
+                dispatch(Game.this::gameLoop);
+            }
+        }, LOW_TIME_WARNINGS);
+    }
+
+    /**
+     * Dummy constructor for when the leaderboard scene is opened.
+     */
+    public Game() {
+        rows = 0;
+        cols = 0;
+        scheduler = null;
+        loopDeadline = null;
+        grid = new Grid(cols, rows);
+    }
+
+    /**
+     * Start the game
+     */
+    public void start() {
+        logger.info("Starting game");
+        initialiseGame();
+        startGameLoop();
+    }
+
+    /**
+     * Initialise a new game and set up anything that needs to be done at the start
+     */
+    public void initialiseGame() {
+        logger.info("Initialising game");
+
+        // Initialise game values
+        resetState();
+
+        // Initialise game pieces
+        followingPiece = spawnPiece();
+        nextPiece();
+    }
+
+    /**
+     * Reset score, level, lives and multiplier to their values at the start of a game.
+     */
+    protected void resetState() {
+        level = 0;
+        lives = 3;
+        multiplier = 1;
+        score = 0;
+        stateChanged();
+    }
+
+    /**
+     * Handle what should happen when a particular block is clicked.
+     *
+     * @param x the column of the block that was clicked
+     * @param y the row of the block that was clicked
+     * @return whether block was clicked, or not
+     */
+    public boolean blockClicked(int x, int y) {
+        logger.info("Block clicked: {},{}", x, y);
+        action(GameAction.BLOCK_CLICKED, x, y);
+
+        // Play piece
+        if (currentPiece != null) {
+            if (grid.playPiece(currentPiece, x, y)) {
+                afterPiece();
+                nextPiece();
+                return true;
+            }
+        }
+        //logger.error("Cant add piece at {}, {}", x, y);
+        return false;
+    }
+
+    /**
+     * Creates a new game piece and returns it.
+     * Method implemented in singleplayer and multiplayer
+     *
+     * @return a random piece
+     */
+    public abstract GamePiece spawnPiece();
+
+    /**
+     * Make the following piece the current piece.
+     * Spawn new piece and set it to the following piece.
+     */
+    public void nextPiece() {
+        currentPiece = followingPiece;
+        followingPiece = spawnPiece();
+
+        logger.info("Current piece: {}", currentPiece);
+        logger.info("Next piece: {}", followingPiece);
+
+        if (nextPieceListener != null) {
+            nextPieceListener.nextPiece(currentPiece);
+        }
+    }
+
+    /**
+     * Fill in a piece which could not be spawned in time, current piece first.
+     *
+     * @param piece the piece which has arrived
+     * @return false if both pieces are already there
+     */
+    protected boolean fillPiece(GamePiece piece) {
+        if (currentPiece == null) {
+            currentPiece = piece;
+        } else if (followingPiece == null) {
+            followingPiece = piece;
+        } else {
+            return false;
+        }
+
+        logger.info("Piece filled in: {}", piece);
+        if (nextPieceListener != null) {
+            nextPieceListener.nextPiece(currentPiece);
+        }
+        return true;
+    }
+
+    /**
+     * Swap current piece and following piece.
+     */
+    public void swapCurrentPiece() {
+        if (currentPiece == null || followingPiece == null) {
+            return;
+        }
+        action(GameAction.SWAP, 0, 0);
+        GamePiece tmp = currentPiece;
+        currentPiece = followingPiece;
+        followingPiece = tmp;
+    }
+
+    /**
+     * Rotate current piece.
+     */
+    public void rotatePiece() {
+        rotatePiece(1);
+    }
+
+    /**
+     * Rotate current piece clockwise the given number of times.
+     *
+     * @param rotations number of clockwise rotations, negative for anticlockwise
+     */
+    public void rotatePiece(int rotations) {
+        if (currentPiece == null) {
+            return;
+        }
+        action(GameAction.ROTATE, rotations, 0);
+        currentPiece = currentPiece.rotate(rotations);
+    }
+
+    /**
+     * Check if the last piece completed any rows or columns and clear them if necessary.
+     */
+    public void afterPiece() {
+        int lines = grid.findFullLines();
+
+        // Reset multiplier if nothing was cleared
+        if (lines == 0) {
+            resetMultiplier();
+            return;
+        }
+
+        // Coordinates of every block to be cleared
+        HashSet<GameBlockCoordinate> clearCoord = new HashSet<>();
+        for (int i = 0; i < grid.getFullRowCount(); i++) {
+            int y = grid.getFullRow(i);
+            for (int x = 0; x < cols; x++) {
+                clearCoord.add(new GameBlockCoordinate(x, y));
+            }
+        }
+        for (int i = 0; i < grid.getFullColumnCount(); i++) {
+            int x = grid.getFullColumn(i);
+            for (int y = 0; y < rows; y++) {
+                clearCoord.add(new GameBlockCoordinate(x, y));
+            }
+        }
+
+        // Update score, multiplier, and grid to reflect new game state
+        score(lines, clearCoord);
+        grid.clearFullLines();
+    }
+
+    /**
+     * Modify score, multiplier and level to reflect game state.
+     * Set relevant grid cells to 0.
+     *
+     * @param lines      to be cleared
+     * @param clearCoord the game blocks to be cleared
+     */
+    private void score(int lines, HashSet<GameBlockCoordinate> clearCoord) {
+        score += lines * clearCoord.size() * 10 * multiplier;
+        multiplier++;
+        level = score / 1000;
+        stateChanged();
+
+        if (lineClearedListener != null) {
+            lineClearedListener.lineCleared(clearCoord);
+        }
+    }
+
+    /**
+     * Reset game multiplier to 1.
+     */
+    private void resetMultiplier() {
+        if (multiplier > 1) {
+            logger.info("Multiplier reset");
+            multiplier = 1;
+            stateChanged();
+        }
+    }
+
+    /**
+     * Stop game.
+     */
+    public void stop() {
+        logger.info("Stopping game!");
+        stopped = true;
+        if (scheduler != null) {
+            scheduler.cancel(loopDeadline);
+        }
+    }
+
+    /**
+     * Starts game loop.
+     */
+    public void startGameLoop() {
+        scheduler.start(loopDeadline, getTimerDelay());
+
+        if (gameLoopListener != null) {
+            gameLoopListener.gameLoop(getTimerDelay());
+        }
+    }
+
+    /**
+     * Restart game loop.
+     */
+    public void restartGameLoop() {
+        startGameLoop();
+    }
+
+    /**
+     * Tell the listener that time is getting low.
+     */
+    private void lowTime() {
+        if (lowTimeListener != null) {
+            dispatch(() -> lowTimeListener.lowTime());
+        }
+    }
+
+    /**
+     * Game over event.
+     */
+    private void gameOver() {
+        logger.info("Game over!");
+        if (gameOverListener != null) {
+            dispatch(() -> gameOverListener.gameOver());
+        }
+    }
+
+    /**
+     * Runs game loop.
+     */
+    public void gameLoop() {
+        // Ignore loops delivered after the game was stopped
+        if (stopped) {
+            return;
+        }
+        action(GameAction.TIMEOUT, 0, 0);
+
+        // Reset multiplier
+        resetMultiplier();
+
+        // Decrease number of lives, ending the loop if there are none left
+        if (!decreaseLives()) {
+            return;
+        }
+
+        // Generate next piece
+        nextPiece();
+
+        // Get timer for the next loop
+        int nextTimer = getTimerDelay();
+
+        if (gameLoopListener != null) {
+            gameLoopListener.gameLoop(nextTimer);
+        }
+
+        // Restart the game loop deadline
+        scheduler.start(loopDeadline, nextTimer);
+    }
+
+    /**
+     * Decrease number of lives.
+     * Start game over event if lives run out.
+     *
+     * @return whether the game is still running
+     */
+    private boolean decreaseLives() {
+        if (lives > 0) {
+            lives--;
+            stateChanged();
+            return true;
+        }
+        gameOver();
+        return false;
+    }
+
+    /**
+     * Increases score.
+     *
+     * @param amount to increase score
+     */
+    public void increaseScore(int amount) {
+        score += amount;
+        stateChanged();
+    }
+
+    /**
+     * Tell the listener about an action on the game.
+     *
+     * @param action the action
+     * @param x      first argument of the action
+     * @param y      second argument of the action
+     */
+    private void action(GameAction action, int x, int y) {
+        if (gameActionListener != null) {
+            gameActionListener.gameAction(action, x, y);
+        }
+    }
+
+    /**
+     * Tell the listener that the score, level, lives or multiplier has changed.
+     */
+    protected void stateChanged() {
+        if (gameStateListener != null) {
+            gameStateListener.gameStateChanged(score, level, lives, multiplier);
+        }
+    }
+
+    /**
+     * Get the grid model inside this game representing the game state of the board
+     *
+     * @return game grid model
+     */
+    public Grid getGrid() {
+        return grid;
+    }
+
+    /**
+     * Get the number of columns in this game
+     *
+     * @return number of columns
+     */
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * Get the number of rows in this game
+     *
+     * @return number of rows
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Gets name and score ArrayList.
+     *
+     * @return ArrayList with name and score of each player
+     */
+    public ArrayList<PlayerScore> getScores() {
+        return scores;
+    }
+
+    /**
+     * Get the timer delay for the next loop.
+     *
+     * @return time
+     */
+    public int getTimerDelay() {
+        int time = 12000 - 500 * level;
+        return Math.max(time, 2500);
+    }
+
+    /**
+     * Get current piece.
+     *
+     * @return current piece
+     */
+
+    public GamePiece getCurrentPiece() {
+        return currentPiece;
+    }
+
+    /**
+     * Get following piece
+     *
+     * @return following piece
+     */
+    public GamePiece getFollowingPiece() {
+        return followingPiece;
+    }
+
+    /**
+     * Gets value of score
+     *
+     * @return score value
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Gets value of level
+     *
+     * @return level
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * Gets number of lives
+     *
+     * @return lives
+     */
+    public int getLives() {
+        return lives;
+    }
+
+    /**
+     * Gets value of multiplier
+     *
+     * @return multiplier
+     */
+    public int getMultiplier() {
+        return multiplier;
+    }
+
+    /**
+     * Get the name of the local player.
+     *
+     * @return name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Set the name of the local player.
+     *
+     * @param name the name
+     */
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Set next piece listener.
+     *
+     * @param listener for next piece
+     */
+    public void setNextPieceListener(NextPieceListener listener) {
+        nextPieceListener = listener;
+    }
+
+    /**
+     * Set line cleared listener.
+     *
+     * @param listener for when line is cleared
+     */
+
+    public void setOnLineCleared(LineClearedListener listener) {
+        lineClearedListener = listener;
+    }
+
+    /**
+     * Set game over listener.
+     *
+     * @param listener for game over event
+     */
+    public void setOnGameOver(GameOverListener listener) {
+        gameOverListener = listener;
+    }
+
+    /**
+     * Set game loop listener.
+     *
+     * @param listener for game loop
+     */
+    public void setOnGameLoop(GameLoopListener listener) {
+        gameLoopListener = listener;
+    }
+
+    /**
+     * Set game state listener.
+     *
+     * @param listener for changes to score, level, lives and multiplier
+     */
+    public void setOnGameStateChanged(GameStateListener listener) {
+        gameStateListener = listener;
+    }
+
+    /**
+     * Set low time listener.
+     *
+     * @param listener for when the game loop timer is getting low
+     */
+    public void setOnLowTime(LowTimeListener listener) {
+        lowTimeListener = listener;
+    }
+
+    /**
+     * Set game action listener.
+     *
+     * @param listener for every action which changes the game
+     */
+    public void setOnGameAction(GameActionListener listener) {
+        gameActionListener = listener;
+    }
+
+    /**
+     * Set the executor that events triggered by the game loop timer are run on. By default they run on the timer
+     * thread; a UI can pass its own event thread here so the game is only changed from one thread.
+     *
+     * @param executor the executor to run game loop events on
+     */
+    public void setEventExecutor(Executor executor) {
+        eventExecutor = executor;
+    }
+
+    /**
+     * Run a task on the event executor.
+     *
+     * @param task the task to run
+     */
+    protected void dispatch(Runnable task) {
+        eventExecutor.execute(task);
+    }
+}
@@ -0,0 +1,27 @@
+package uk.ac.soton.comp1206.game;
+
+/**
+ * The actions which change a game, reported to a GameActionListener in the order they happen.
+ */
+public enum GameAction {
+
+    /**
+     * A block was clicked to play the current piece
+     */
+    BLOCK_CLICKED,
+
+    /**
+     * The current piece was rotated
+     */
+    ROTATE,
+
+    /**
+     * The current and following piece were swapped
+     */
+    SWAP,
+
+    /**
+     * The game loop ran out of time
+     */
+    TIMEOUT
+}
@@ -1,6 +1,4 @@
-package uk.ac.soton.comp1206.component;
-
-import javafx.beans.NamedArg;
+package uk.ac.soton.comp1206.game;
 
 /**
  * Represents a row and column representation of a block in the grid. Holds the x (column) and y (row).
@@ -30,7 +28,7 @@ public class GameBlockCoordinate {
      * @param x column
      * @param y row
      */
-    public GameBlockCoordinate(@NamedArg("x") int x, @NamedArg("y") int y) {
+    public GameBlockCoordinate(int x, int y) {
         this.x = x;
         this.y = y;
     }
@@ -0,0 +1,461 @@
+package uk.ac.soton.comp1206.game;
+
+/**
+ * Instances of GamePiece Represents the model of a specific Game Piece with it's block makeup.
+ * The GamePiece class also contains a factory for producing a GamePiece of a particular shape, as specified by it's
+ * number.
+ * <p>
+ * GamePieces are immutable. Every shape in every rotation is built once when the class is loaded, so creating and
+ * rotating a piece just looks up the instance for a (shape, rotation) pair.
+ */
+public class GamePiece {
+
+    /**
+     * Number of different pieces.
+     */
+    public static final int PIECES = 15;
+
+    /**
+     * Number of distinct rotations of each piece.
+     */
+    public static final int ROTATIONS = 4;
+
+    /**
+     * Width and height of the grid each piece is defined in.
+     */
+    public static final int SIZE = 3;
+
+    /**
+     * Every piece in every rotation, indexed by piece number then rotation.
+     */
+    private static final GamePiece[][] PIECE_TABLE = buildPieces();
+
+    /**
+     * The name of this piece
+     */
+    private final String name;
+    /**
+     * The piece number of this piece
+     */
+    private final int shape;
+    /**
+     * The number of clockwise rotations from the original orientation
+     */
+    private final int rotation;
+    /**
+     * The value this piece fills cells with
+     */
+    private final int value;
+    /**
+     * The 2D grid representation of the shape of this piece
+     */
+    private final int[][] blocks;
+    /**
+     * Occupancy of each row of the piece. Bit x of rowMasks[y] is set when the block at x, y is filled.
+     */
+    private final int[] rowMasks;
+    /**
+     * Occupancy of the whole piece. Bit y * SIZE + x is set when the block at x, y is filled.
+     */
+    private final int mask;
+    /**
+     * Column of each filled block
+     */
+    private final int[] cellX;
+    /**
+     * Row of each filled block
+     */
+    private final int[] cellY;
+    /**
+     * Bounding box of the filled blocks
+     */
+    private final int minX;
+    private final int minY;
+    private final int maxX;
+    private final int maxY;
+
+    /**
+     * Create a new GamePiece with the given name, block makeup and value. Should not be called directly, only via the
+     * factory.
+     *
+     * @param name     name of the piece
+     * @param shape    piece number
+     * @param rotation number of clockwise rotations
+     * @param blocks   block makeup of the piece, with 0 for empty or the value of this piece
+     * @param value    the value of this piece
+     */
+    private GamePiece(String name, int shape, int rotation, int[][] blocks, int value) {
+        this.name = name;
+        this.shape = shape;
+        this.rotation = rotation;
+        this.value = value;
+        this.blocks = blocks;
+
+        // Work out the masks, cell list and bounding box from the block makeup
+        int count = 0;
+        int fullMask = 0;
+        int[] rows = new int[SIZE];
+        int lowX = SIZE, lowY = SIZE, highX = -1, highY = -1;
+        for (int x = 0; x < SIZE; x++) {
+            for (int y = 0; y < SIZE; y++) {
+                if (blocks[x][y] == 0) continue;
+                count++;
+                fullMask |= 1 << (y * SIZE + x);
+                rows[y] |= 1 << x;
+                lowX = Math.min(lowX, x);
+                lowY = Math.min(lowY, y);
+                highX = Math.max(highX, x);
+                highY = Math.max(highY, y);
+            }
+        }
+
+        this.mask = fullMask;
+        this.rowMasks = rows;
+        this.cellX = new int[count];
+        this.cellY = new int[count];
+        int i = 0;
+        for (int x = 0; x < SIZE; x++) {
+            for (int y = 0; y < SIZE; y++) {
+                if (blocks[x][y] == 0) continue;
+                cellX[i] = x;
+                cellY[i] = y;
+                i++;
+            }
+        }
+        this.minX = lowX;
+        this.minY = lowY;
+        this.maxX = highX;
+        this.maxY = highY;
+    }
+
+    /**
+     * Create a new GamePiece of the specified piece number
+     *
+     * @param piece piece number
+     * @return the created GamePiece
+     */
+    public static GamePiece createPiece(int piece) {
+        return createPiece(piece, 0);
+    }
+
+    /**
+     * Create a new GamePiece of the specified piece number, rotated clockwise the given number of times
+     *
+     * @param piece    piece number
+     * @param rotation number of clockwise rotations
+     * @return the created GamePiece
+     */
+    public static GamePiece createPiece(int piece, int rotation) {
+        if (piece < 0 || piece >= PIECES) {
+            //Not a valid piece number
+            throw new IndexOutOfBoundsException("No such piece: " + piece);
+        }
+        return PIECE_TABLE[piece][Math.floorMod(rotation, ROTATIONS)];
+    }
+
+    /**
+     * Build every rotation of every piece.
+     *
+     * @return pieces indexed by piece number then rotation
+     */
+    private static GamePiece[][] buildPieces() {
+        GamePiece[][] table = new GamePiece[PIECES][ROTATIONS];
+        for (int piece = 0; piece < PIECES; piece++) {
+            GamePiece original = buildPiece(piece);
+            int[][] blocks = original.blocks;
+            table[piece][0] = original;
+            for (int rotation = 1; rotation < ROTATIONS; rotation++) {
+                blocks = rotateBlocks(blocks);
+                table[piece][rotation] = new GamePiece(original.name, piece, rotation, blocks, original.value);
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Build the original orientation of the specified piece number
+     *
+     * @param piece piece number
+     * @return the piece
+     */
+    private static GamePiece buildPiece(int piece) {
+        switch (piece) {
+            //Line
+            case 0 -> {
+                int[][] blocks = {{0, 0, 0}, {1, 1, 1}, {0, 0, 0}};
+                return buildPiece("Line", piece, blocks, 1);
+            }
+
+            //C
+            case 1 -> {
+                int[][] blocks = {{0, 0, 0}, {1, 1, 1}, {1, 0, 1}};
+                return buildPiece("C", piece, blocks, 2);
+            }
+
+            //Plus
+            case 2 -> {
+                int[][] blocks = {{0, 1, 0}, {1, 1, 1}, {0, 1, 0}};
+                return buildPiece("Plus", piece, blocks, 3);
+            }
+
+            //Dot
+            case 3 -> {
+                int[][] blocks = {{0, 0, 0}, {0, 1, 0}, {0, 0, 0}};
+                return buildPiece("Dot", piece, blocks, 4);
+            }
+
+            //Square
+            case 4 -> {
+                int[][] blocks = {{1, 1, 0}, {1, 1, 0}, {0, 0, 0}};
+                return buildPiece("Square", piece, blocks, 5);
+            }
+
+            //L
+            case 5 -> {
+                int[][] blocks = {{0, 0, 0}, {1, 1, 1}, {0, 0, 1}};
+                return buildPiece("L", piece, blocks, 6);
+            }
+
+            //J
+            case 6 -> {
+                int[][] blocks = {{0, 0, 1}, {1, 1, 1}, {0, 0, 0}};
+                return buildPiece("J", piece, blocks, 7);
+            }
+
+            //S
+            case 7 -> {
+                int[][] blocks = {{0, 0, 0}, {0, 1, 1}, {1, 1, 0}};
+                return buildPiece("S", piece, blocks, 8);
+            }
+
+            //Z
+            case 8 -> {
+                int[][] blocks = {{1, 1, 0}, {0, 1, 1}, {0, 0, 0}};
+                return buildPiece("Z", piece, blocks, 9);
+            }
+
+            //T
+            case 9 -> {
+                int[][] blocks = {{1, 0, 0}, {1, 1, 0}, {1, 0, 0}};
+                return buildPiece("T", piece, blocks, 10);
+            }
+
+            //X
+            case 10 -> {
+                int[][] blocks = {{1, 0, 1}, {0, 1, 0}, {1, 0, 1}};
+                return buildPiece("X", piece, blocks, 11);
+            }
+
+            //Corner
+            case 11 -> {
+                int[][] blocks = {{0, 0, 0}, {1, 1, 0}, {1, 0, 0}};
+                return buildPiece("Corner", piece, blocks, 12);
+            }
+
+            //Inverse Corner
+            case 12 -> {
+                int[][] blocks = {{1, 0, 0}, {1, 1, 0}, {0, 0, 0}};
+                return buildPiece("Inverse Corner", piece, blocks, 13);
+            }
+
+            //Diagonal
+            case 13 -> {
+                int[][] blocks = {{1, 0, 0}, {0, 1, 0}, {0, 0, 1}};
+                return buildPiece("Diagonal", piece, blocks, 14);
+            }
+
+            //Double
+            case 14 -> {
+                int[][] blocks = {{0, 1, 0}, {0, 1, 0}, {0, 0, 0}};
+                return buildPiece("Double", piece, blocks, 15);
+            }
+        }
+
+        //Not a valid piece number
+        throw new IndexOutOfBoundsException("No such piece: " + piece);
+    }
+
+    /**
+     * Build the original orientation of a piece from its shape.
+     *
+     * @param name   name of the piece
+     * @param shape  piece number
+     * @param blocks shape of the piece, with 1 for each filled block
+     * @param value  the value of this piece
+     * @return the piece
+     */
+    private static GamePiece buildPiece(String name, int shape, int[][] blocks, int value) {
+        //Use the shape of the block to create a grid with either 0 (empty) or the value of this shape for each block.
+        for (int x = 0; x < blocks.length; x++) {
+            for (int y = 0; y < blocks[x].length; y++) {
+                if (blocks[x][y] == 0) continue;
+                blocks[x][y] = value;
+            }
+        }
+        return new GamePiece(name, shape, 0, blocks, value);
+    }
+
+    /**
+     * Rotate a 3x3 block makeup clockwise exactly once.
+     *
+     * @param blocks block makeup to rotate
+     * @return a new rotated block makeup
+     */
+    private static int[][] rotateBlocks(int[][] blocks) {
+        int[][] rotated = new int[SIZE][SIZE];
+        for (int x = 0; x < SIZE; x++) {
+            for (int y = 0; y < SIZE; y++) {
+                rotated[SIZE - 1 - y][x] = blocks[x][y];
+            }
+        }
+        return rotated;
+    }
+
+    /**
+     * Get the block makeup of this piece. The array is shared between all users of the piece and must not be modified.
+     *
+     * @return 2D grid of the blocks representing the piece shape
+     */
+    public int[][] getBlocks() {
+        return blocks;
+    }
+
+    /**
+     * Get this piece rotated clockwise exactly once
+     *
+     * @return the rotated piece
+     */
+    public GamePiece rotate() {
+        return rotate(1);
+    }
+
+    /**
+     * Get this piece rotated clockwise the given number of times. Negative numbers rotate anticlockwise.
+     *
+     * @param rotations number of clockwise rotations
+     * @return the rotated piece
+     */
+    public GamePiece rotate(int rotations) {
+        return PIECE_TABLE[shape][Math.floorMod(rotation + rotations, ROTATIONS)];
+    }
+
+    /**
+     * Get the piece number of this piece.
+     *
+     * @return piece number
+     */
+    public int getShape() {
+        return shape;
+    }
+
+    /**
+     * Get the number of clockwise rotations from the original orientation.
+     *
+     * @return rotation between 0 and 3
+     */
+    public int getRotation() {
+        return rotation;
+    }
+
+    /**
+     * Get the value this piece fills cells with.
+     *
+     * @return value
+     */
+    public int getValue() {
+        return value;
+    }
+
+    /**
+     * Get the occupancy of the whole piece. Bit y * SIZE + x is set when the block at x, y is filled.
+     *
+     * @return piece mask
+     */
+    public int getMask() {
+        return mask;
+    }
+
+    /**
+     * Get the occupancy of a row of the piece. Bit x is set when the block at x, y is filled.
+     *
+     * @param y row of the piece
+     * @return row mask
+     */
+    public int getRowMask(int y) {
+        return rowMasks[y];
+    }
+
+    /**
+     * Get the number of filled blocks in this piece.
+     *
+     * @return number of blocks
+     */
+    public int getCellCount() {
+        return cellX.length;
+    }
+
+    /**
+     * Get the column of a filled block.
+     *
+     * @param index index between 0 and getCellCount
+     * @return column within the piece
+     */
+    public int getCellX(int index) {
+        return cellX[index];
+    }
+
+    /**
+     * Get the row of a filled block.
+     *
+     * @param index index between 0 and getCellCount
+     * @return row within the piece
+     */
+    public int getCellY(int index) {
+        return cellY[index];
+    }
+
+    /**
+     * Get the lowest column containing a filled block.
+     *
+     * @return column within the piece
+     */
+    public int getMinX() {
+        return minX;
+    }
+
+    /**
+     * Get the lowest row containing a filled block.
+     *
+     * @return row within the piece
+     */
+    public int getMinY() {
+        return minY;
+    }
+
+    /**
+     * Get the highest column containing a filled block.
+     *
+     * @return column within the piece
+     */
+    public int getMaxX() {
+        return maxX;
+    }
+
+    /**
+     * Get the highest row containing a filled block.
+     *
+     * @return row within the piece
+     */
+    public int getMaxY() {
+        return maxY;
+    }
+
+    /**
+     * Return the string representation of this piece
+     *
+     * @return the name of this piece
+     */
+    public String toString() {
+        return this.name;
+    }
+}
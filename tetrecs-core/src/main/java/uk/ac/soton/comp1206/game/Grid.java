@@ -0,0 +1,426 @@
+package uk.ac.soton.comp1206.game;
+
+import uk.ac.soton.comp1206.event.GridChangedListener;
+
+import java.util.ArrayList;
+import java.util.Objects;
+
+/**
+ * The Grid is a model which holds the state of a game board. It is made up of a set of Integer values arranged in a 2D
+ * array, with rows and columns.
+ * Occupancy is held as one bitmask per row, so placement tests and line detection are simple bit operations, and the
+ * value of each cell is held in a flat colour plane. Filled cells are also counted per row and per column, so the lines
+ * completed by a piece can be found by looking only at the rows and columns it touched.
+ * Attach a GridChangedListener to be told when a cell changes.
+ * The Grid contains functions related to modifying the model, for example, placing a piece inside the grid.
+ * The Grid should be linked to a GameBoard for it's display.
+ */
+public class Grid {
+
+    /**
+     * The widest grid that can be represented, as each row is held in a single long.
+     */
+    public static final int MAX_COLS = Long.SIZE;
+
+    /**
+     * The number of columns in this grid
+     */
+    private final int cols;
+
+    /**
+     * The number of rows in this grid
+     */
+    private final int rows;
+
+    /**
+     * Occupancy mask for each row. Bit x is set when the cell in column x is not empty.
+     */
+    private final long[] occupied;
+
+    /**
+     * Mask with a bit set for every column, i.e. the occupancy of a full row.
+     */
+    private final long fullRow;
+
+    /**
+     * The value of every cell, indexed by y * cols + x.
+     */
+    private final byte[] colours;
+
+    /**
+     * Number of filled cells in each row.
+     */
+    private final int[] rowCounts;
+
+    /**
+     * Number of filled cells in each column.
+     */
+    private final int[] colCounts;
+
+    /**
+     * Rows found to be full by the last call to findFullLines.
+     */
+    private final int[] fullRows;
+
+    /**
+     * Columns found to be full by the last call to findFullLines.
+     */
+    private final int[] fullCols;
+
+    /**
+     * Number of entries in fullRows.
+     */
+    private int fullRowCount;
+
+    /**
+     * Number of entries in fullCols.
+     */
+    private int fullColCount;
+
+    /**
+     * Column, row, width and height of the area covered by the last piece played.
+     */
+    private int playedX;
+    private int playedY;
+    private int playedWidth;
+    private int playedHeight;
+
+    /**
+     * Listeners to call when a cell changes value.
+     */
+    private final ArrayList<GridChangedListener> listeners = new ArrayList<>();
+
+    /**
+     * Create a new Grid with the specified number of columns and rows and initialise them
+     *
+     * @param cols number of columns
+     * @param rows number of rows
+     */
+    public Grid(int cols, int rows) {
+        if (cols < 0 || cols > MAX_COLS || rows < 0) {
+            throw new IllegalArgumentException("Unsupported grid size: " + cols + " x " + rows);
+        }
+        this.cols = cols;
+        this.rows = rows;
+        this.occupied = new long[rows];
+        this.fullRow = cols == MAX_COLS ? -1L : (1L << cols) - 1;
+        this.colours = new byte[cols * rows];
+        this.rowCounts = new int[rows];
+        this.colCounts = new int[cols];
+        this.fullRows = new int[rows];
+        this.fullCols = new int[cols];
+    }
+
+    /**
+     * Check if piece can be played.
+     *
+     * @param piece to be placed
+     * @param xPos  x coordinate to be placed
+     * @param yPos  y coordinate to be placed
+     * @return whether piece can be played or not
+     */
+    public boolean canPlayPiece(GamePiece piece, int xPos, int yPos) {
+        // Ensure the bounding box of the piece is on the grid
+        if (xPos + piece.getMinX() < 0 || xPos + piece.getMaxX() >= cols
+                || yPos + piece.getMinY() < 0 || yPos + piece.getMaxY() >= rows) {
+            return false;
+        }
+
+        // Ensure no row of the piece overlaps anything
+        for (int y = piece.getMinY(); y <= piece.getMaxY(); y++) {
+            if ((occupied[y + yPos] & shift(piece.getRowMask(y), xPos)) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Places piece.
+     *
+     * @param piece to be placed
+     * @param xPos  X coordinate to be placed
+     * @param yPos  y coordinate to be placed
+     * @return whether piece is played or not
+     */
+    public boolean playPiece(GamePiece piece, int xPos, int yPos) {
+        xPos--;
+        yPos--;
+
+        // Check if piece can be placed and place it
+        if (!canPlayPiece(piece, xPos, yPos)) {
+            return false;
+        }
+
+        // Remember the area touched, as only lines through it can have been completed
+        playedX = xPos;
+        playedY = yPos;
+        playedWidth = GamePiece.SIZE;
+        playedHeight = GamePiece.SIZE;
+
+        for (int i = 0; i < piece.getCellCount(); i++) {
+            set(xPos + piece.getCellX(i), yPos + piece.getCellY(i), piece.getValue());
+        }
+        return true;
+    }
+
+    /**
+     * Find the rows and columns completed by the last piece played. Only the rows and columns the piece touched are
+     * checked, using the fill counters. The results can be read with getFullRow and getFullColumn.
+     *
+     * @return number of lines found
+     */
+    public int findFullLines() {
+        fullRowCount = 0;
+        fullColCount = 0;
+        if (cols == 0 || rows == 0) {
+            return 0;
+        }
+
+        for (int y = Math.max(playedY, 0); y < Math.min(playedY + playedHeight, rows); y++) {
+            if (rowCounts[y] == cols) {
+                fullRows[fullRowCount++] = y;
+            }
+        }
+        for (int x = Math.max(playedX, 0); x < Math.min(playedX + playedWidth, cols); x++) {
+            if (colCounts[x] == rows) {
+                fullCols[fullColCount++] = x;
+            }
+        }
+        return fullRowCount + fullColCount;
+    }
+
+    /**
+     * Get the number of full rows found by findFullLines.
+     *
+     * @return number of full rows
+     */
+    public int getFullRowCount() {
+        return fullRowCount;
+    }
+
+    /**
+     * Get a full row found by findFullLines.
+     *
+     * @param index index between 0 and getFullRowCount
+     * @return the row
+     */
+    public int getFullRow(int index) {
+        return fullRows[Objects.checkIndex(index, fullRowCount)];
+    }
+
+    /**
+     * Get the number of full columns found by findFullLines.
+     *
+     * @return number of full columns
+     */
+    public int getFullColumnCount() {
+        return fullColCount;
+    }
+
+    /**
+     * Get a full column found by findFullLines.
+     *
+     * @param index index between 0 and getFullColumnCount
+     * @return the column
+     */
+    public int getFullColumn(int index) {
+        return fullCols[Objects.checkIndex(index, fullColCount)];
+    }
+
+    /**
+     * Empty the rows and columns found by findFullLines.
+     */
+    public void clearFullLines() {
+        for (int i = 0; i < fullRowCount; i++) {
+            clearRow(fullRows[i]);
+        }
+        for (int i = 0; i < fullColCount; i++) {
+            clearColumn(fullCols[i]);
+        }
+        fullRowCount = 0;
+        fullColCount = 0;
+    }
+
+    /**
+     * Get the number of filled cells in the given row.
+     *
+     * @param y row
+     * @return number of filled cells
+     */
+    public int getRowCount(int y) {
+        return rowCounts[y];
+    }
+
+    /**
+     * Get the number of filled cells in the given column.
+     *
+     * @param x column
+     * @return number of filled cells
+     */
+    public int getColumnCount(int x) {
+        return colCounts[x];
+    }
+
+    /**
+     * Get the occupancy of the given row. Bit x is set when the cell in column x is not empty.
+     *
+     * @param y row
+     * @return row mask
+     */
+    public long getRowMask(int y) {
+        return occupied[y];
+    }
+
+    /**
+     * Check whether every column of the given row is filled.
+     *
+     * @param y row
+     * @return whether the row is full
+     */
+    public boolean isRowFull(int y) {
+        return cols > 0 && occupied[y] == fullRow;
+    }
+
+    /**
+     * Get a mask of the columns which are completely filled. Bit x is set when column x is full.
+     *
+     * @return full column mask
+     */
+    public long getFullColumns() {
+        if (rows == 0) {
+            return 0;
+        }
+        long full = fullRow;
+        for (int y = 0; y < rows && full != 0; y++) {
+            full &= occupied[y];
+        }
+        return full;
+    }
+
+    /**
+     * Empty every cell in the given row.
+     *
+     * @param y row
+     */
+    public void clearRow(int y) {
+        for (long mask = occupied[y]; mask != 0; mask &= mask - 1) {
+            set(Long.numberOfTrailingZeros(mask), y, 0);
+        }
+    }
+
+    /**
+     * Empty every cell in the given column.
+     *
+     * @param x column
+     */
+    public void clearColumn(int x) {
+        for (int y = 0; y < rows && colCounts[x] > 0; y++) {
+            set(x, y, 0);
+        }
+    }
+
+    /**
+     * Empty every cell in the grid.
+     */
+    public void clear() {
+        for (int y = 0; y < rows; y++) {
+            clearRow(y);
+        }
+    }
+
+    /**
+     * Get the number of columns in this game
+     *
+     * @return number of columns
+     */
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * Get the number of rows in this game
+     *
+     * @return number of rows
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Get the value represented at the given x and y index within the grid
+     *
+     * @param x column
+     * @param y row
+     * @return the value, or -1 if there is no such cell
+     */
+    public int get(int x, int y) {
+        if (x < 0 || x >= cols || y < 0 || y >= rows) {
+            // No such index
+            return -1;
+        }
+        return colours[y * cols + x];
+    }
+
+    /**
+     * Update the value at the given x and y index within the grid. Listeners are only told if the value changes.
+     *
+     * @param x     column
+     * @param y     row
+     * @param value the new value, between 0 and 127
+     */
+    public void set(int x, int y, int value) {
+        Objects.checkIndex(x, cols);
+        Objects.checkIndex(y, rows);
+
+        int index = y * cols + x;
+        int oldValue = colours[index];
+        if (oldValue == value) {
+            return;
+        }
+
+        colours[index] = (byte) value;
+        if (value == 0) {
+            occupied[y] &= ~(1L << x);
+            rowCounts[y]--;
+            colCounts[x]--;
+        } else if (oldValue == 0) {
+            occupied[y] |= 1L << x;
+            rowCounts[y]++;
+            colCounts[x]++;
+        }
+
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).gridChanged(x, y, oldValue, value);
+        }
+    }
+
+    /**
+     * Add a listener to be called whenever a cell changes value.
+     *
+     * @param listener listener to add
+     */
+    public void addListener(GridChangedListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Remove a previously added listener.
+     *
+     * @param listener listener to remove
+     */
+    public void removeListener(GridChangedListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Move a row mask relative to the piece to the given column offset on the grid.
+     *
+     * @param mask row mask relative to the piece
+     * @param xPos column offset of the piece
+     * @return row mask relative to the grid
+     */
+    private static long shift(long mask, int xPos) {
+        return xPos >= 0 ? mask << xPos : mask >>> -xPos;
+    }
+}
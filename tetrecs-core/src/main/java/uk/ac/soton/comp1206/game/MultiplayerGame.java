@@ -0,0 +1,285 @@
+package uk.ac.soton.comp1206.game;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import uk.ac.soton.comp1206.event.ConnectionStateListener;
+import uk.ac.soton.comp1206.network.Communicator;
+import uk.ac.soton.comp1206.network.ConnectionState;
+import uk.ac.soton.comp1206.network.Mailbox;
+import uk.ac.soton.comp1206.network.Message;
+
+import java.util.ArrayDeque;
+
+/**
+ * Multiplayer game extends Game.
+ * Implements spawnPiece() method.
+ * Contains methods unique to multiplayer game.
+ */
+public class MultiplayerGame extends Game {
+
+    private static final Logger logger = LogManager.getLogger(MultiplayerGame.class);
+
+    /**
+     * The network communicator for the multiplayer game.
+     */
+    private final Communicator communicator;
+    /**
+     * ArrayDequeue containing game pieces from the server
+     */
+    private final ArrayDeque<GamePiece> gamePieces = new ArrayDeque<>();
+    /**
+     * Decides how many pieces to request ahead
+     */
+    private final PiecePrefetch prefetch = new PiecePrefetch();
+    /**
+     * Delivers messages from the server through the event executor, a batch at a time
+     */
+    private final Mailbox mailbox;
+    /**
+     * Forgets piece requests lost with the connection
+     */
+    private final ConnectionStateListener connectionListener = state -> {
+        if (state == ConnectionState.RECONNECTING) {
+            dispatch(this::connectionLost);
+        }
+    };
+    /**
+     * Game status
+     */
+    private boolean gameStarted;
+    private boolean gameStopped;
+    /**
+     * Number of pieces spawned before the server had sent them
+     */
+    private int underruns = 0;
+
+    /**
+     * Creates MultiplayerGame.
+     *
+     * @param communicator for the multiplayer game
+     * @param cols         number of columns
+     * @param rows         number of rows
+     */
+    public MultiplayerGame(Communicator communicator, int cols, int rows) {
+        super(cols, rows);
+        this.communicator = communicator;
+        this.mailbox = new Mailbox(this::dispatch, communicator.getStats());
+        communicator.addListener("PIECE", mailbox.deliver(this::receivePiece));
+        // Each SCORES replaces the last, so only the latest waiting is needed
+        communicator.addListener("SCORES", mailbox.deliverLatest(this::receiveScores));
+        communicator.addConnectionStateListener(connectionListener);
+    }
+
+    /**
+     * Override game initialisation for multiplayer.
+     */
+    @Override
+    public void initialiseGame() {
+        logger.info("Initialising game");
+
+        // Initialise game values
+        resetState();
+
+        // Request server for pieces
+        initialPieces();
+    }
+
+    /**
+     * Handle what should happen when a particular block is clicked.
+     * Overrides blockClicked() from Game.
+     * Sends board status to server if the piece was placed, as otherwise nothing has changed.
+     *
+     * @param x the column of the block that was clicked
+     * @param y the row of the block that was clicked
+     * @return whether block was clicked or not
+     */
+    public boolean blockClicked(int x, int y) {
+        boolean blockClicked = super.blockClicked(x, y);
+        if (blockClicked) {
+            communicator.send("BOARD " + encodeBoardStatus());
+        }
+        return blockClicked;
+    }
+
+    /**
+     * Stop the game, and stop requesting pieces.
+     */
+    @Override
+    public void stop() {
+        gameStopped = true;
+        communicator.removeConnectionStateListener(connectionListener);
+        super.stop();
+    }
+
+    /**
+     * Implement spawnPiece() to take the next piece from the server, and request more.
+     * If the server has not sent it yet, there is no piece until it arrives, rather than waiting on this thread
+     * which is the one it would arrive on.
+     *
+     * @return the piece generated, or null if it has not arrived
+     */
+    public GamePiece spawnPiece() {
+        prefetch.spawned(System.nanoTime());
+        GamePiece piece = gamePieces.pollFirst();
+        if (piece == null) {
+            underruns++;
+            logger.warn("No piece received yet, {} requested", prefetch.getInFlight());
+        }
+        requestPieces();
+        return piece;
+    }
+
+    /**
+     * Request server for game pieces.
+     */
+    private void initialPieces() {
+        requestPieces();
+    }
+
+    /**
+     * Request enough pieces from the server to fill the prefetch window.
+     */
+    private void requestPieces() {
+        if (gameStopped) {
+            return;
+        }
+        for (int i = prefetch.getShortfall(gamePieces.size(), System.nanoTime()); i > 0; i--) {
+            // Only count requests which were actually queued, so a full queue cannot leave phantom requests
+            if (!communicator.send("PIECE")) {
+                break;
+            }
+            prefetch.requested(System.nanoTime());
+        }
+    }
+
+    /**
+     * Forget requests sent before the connection was lost, as no reply will come, and request them again.
+     */
+    private void connectionLost() {
+        logger.warn("Connection lost, forgetting {} piece requests", prefetch.getInFlight());
+        prefetch.clear();
+        requestPieces();
+    }
+
+    /**
+     * Parse received scores.
+     * Replace scores with the players and scores received.
+     * Sort players by score.
+     *
+     * @param message SCORES message from server
+     */
+    private void receiveScores(Message message) {
+        scores.clear();
+        scores.addAll(message.getScores());
+        logger.info("Scores received: {}", scores);
+
+        scores.sort((a, b) -> Integer.compare(b.getScore(), a.getScore()));
+    }
+
+    /**
+     * Parse received game piece message.
+     *
+     * @param message PIECE message from server
+     */
+    private void receivePiece(Message message) {
+        if (!message.isEmpty()) {
+            receivePiece(message.parseInt());
+        }
+    }
+
+    /**
+     * Parse received game piece.
+     * Add piece to gamePieces.
+     * Start game when there are more than 2 pieces.
+     *
+     * @param block the number of the block
+     */
+    private void receivePiece(int block) {
+        prefetch.received(System.nanoTime());
+        GamePiece piece = GamePiece.createPiece(block);
+
+        logger.info("Received next piece: {}", piece);
+
+        // A piece which was needed before it arrived goes straight into play
+        if (gameStarted && fillPiece(piece)) {
+            requestPieces();
+            return;
+        }
+
+        gamePieces.add(piece);
+
+        logger.info("Game piece queue: {}", gamePieces);
+
+        if (!gameStarted && gamePieces.size() > 2) {
+            logger.info("3 pieces received. Game starting");
+
+            followingPiece = spawnPiece();
+            nextPiece();
+            gameStarted = true;
+        }
+        requestPieces();
+    }
+
+    /**
+     * Get the piece prefetch, for its window and round trip time.
+     *
+     * @return piece prefetch
+     */
+    public PiecePrefetch getPiecePrefetch() {
+        return prefetch;
+    }
+
+    /**
+     * Get the number of pieces received and waiting to be played.
+     *
+     * @return piece queue depth
+     */
+    public int getPieceQueueDepth() {
+        return gamePieces.size();
+    }
+
+    /**
+     * Get the mailbox messages from the server are delivered through, for its counts.
+     *
+     * @return mailbox
+     */
+    public Mailbox getMailbox() {
+        return mailbox;
+    }
+
+    /**
+     * Get the number of pieces needed before the server had sent them.
+     *
+     * @return underruns
+     */
+    public int getUnderrunCount() {
+        return underruns;
+    }
+
+    /**
+     * Encode status of the board so that it can be sent to the server.
+     *
+     * @return encoded string
+     */
+    private String encodeBoardStatus() {
+        return encodeBoardStatus(grid);
+    }
+
+    /**
+     * Encode the status of a board in the form sent to the server, column by column.
+     *
+     * @param grid grid to encode
+     * @return encoded string
+     */
+    public static String encodeBoardStatus(Grid grid) {
+        StringBuilder board = new StringBuilder();
+
+        for (int x = 0; x < grid.getCols(); ++x) {
+            for (int y = 0; y < grid.getRows(); ++y) {
+                int tmp = grid.get(x, y);
+                board.append(tmp).append(" ");
+            }
+        }
+        return board.toString().trim();
+    }
+}
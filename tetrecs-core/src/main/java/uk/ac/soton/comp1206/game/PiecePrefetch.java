@@ -0,0 +1,211 @@
+package uk.ac.soton.comp1206.game;
+
+import java.util.ArrayDeque;
+
+/**
+ * The Piece Prefetch decides how many pieces a MultiplayerGame should have requested from the server ahead of
+ * needing them.
+ * <p>
+ * It times each PIECE request to its reply, which the server sends in order, keeping a smoothed round trip time and
+ * its variation the way TCP does. It also watches how quickly pieces are used, dropping to the fastest gap between
+ * spawns straight away and only slowly recovering, so a burst of quick placements is remembered. The window is enough
+ * pieces to cover a slow round trip at that rate, so a piece is always on its way before it is needed.
+ * <p>
+ * A request can go unanswered, if the server refuses it or the connection drops, so requests waiting much longer than
+ * a slow round trip are given up on. Otherwise each lost request would shrink the window for good.
+ */
+public class PiecePrefetch {
+
+    /**
+     * Fewest pieces kept requested or waiting, enough for the current and following piece and one spare.
+     */
+    public static final int MIN_WINDOW = 3;
+
+    /**
+     * Most pieces kept requested or waiting.
+     */
+    public static final int MAX_WINDOW = 32;
+
+    /**
+     * Window used until there is a round trip time to work from.
+     */
+    public static final int INITIAL_WINDOW = 10;
+
+    /**
+     * Number of slow round trips after which a request is given up on.
+     */
+    public static final int EXPIRY_TRIPS = 4;
+
+    /**
+     * Shortest and longest age at which a request is given up on, in nanoseconds. The longest is also used until there
+     * is a round trip time to work from, as in NetworkStats.
+     */
+    private static final long MIN_EXPIRY = 1_000_000_000L;
+    private static final long STALE = 10_000_000_000L;
+
+    /**
+     * When each request still waiting for a reply was sent, oldest first.
+     */
+    private final ArrayDeque<Long> requests = new ArrayDeque<>();
+
+    /**
+     * Smoothed round trip time and its variation, in nanoseconds, or -1 before the first reply.
+     */
+    private long roundTrip = -1;
+    private long roundTripVariation = 0;
+
+    /**
+     * Shortest recent gap between spawns, in nanoseconds, or -1 before the second spawn.
+     */
+    private long spawnGap = -1;
+
+    /**
+     * When the last piece was spawned, in nanoseconds.
+     */
+    private long lastSpawn = -1;
+
+    /**
+     * Number of pieces the window currently asks for.
+     */
+    private int window = INITIAL_WINDOW;
+
+    /**
+     * Number of requests given up on.
+     */
+    private int expired = 0;
+
+    /**
+     * Record a request being sent.
+     *
+     * @param now time in nanoseconds
+     */
+    public void requested(long now) {
+        requests.add(now);
+    }
+
+    /**
+     * Record a reply arriving, timing it against the oldest request.
+     *
+     * @param now time in nanoseconds
+     */
+    public void received(long now) {
+        expire(now);
+        Long sent = requests.poll();
+        if (sent == null) {
+            return;
+        }
+        long sample = now - sent;
+        if (roundTrip < 0) {
+            roundTrip = sample;
+            roundTripVariation = sample / 2;
+        } else {
+            roundTripVariation += (Math.abs(roundTrip - sample) - roundTripVariation) / 4;
+            roundTrip += (sample - roundTrip) / 8;
+        }
+        updateWindow();
+    }
+
+    /**
+     * Record a piece being spawned.
+     *
+     * @param now time in nanoseconds
+     */
+    public void spawned(long now) {
+        if (lastSpawn >= 0) {
+            long gap = now - lastSpawn;
+            if (spawnGap < 0 || gap < spawnGap) {
+                spawnGap = gap;
+            } else {
+                spawnGap += (gap - spawnGap) / 8;
+            }
+            updateWindow();
+        }
+        lastSpawn = now;
+    }
+
+    /**
+     * Forget every request waiting, such as when the connection is lost and they will never be answered.
+     */
+    public void clear() {
+        requests.clear();
+    }
+
+    /**
+     * Give up on requests which have waited too long for a reply.
+     *
+     * @param now time in nanoseconds
+     */
+    private void expire(long now) {
+        long expiry = STALE;
+        if (roundTrip >= 0) {
+            long slowTrip = roundTrip + 4 * roundTripVariation;
+            expiry = Math.max(MIN_EXPIRY, Math.min(STALE, EXPIRY_TRIPS * slowTrip));
+        }
+        Long sent = requests.peek();
+        while (sent != null && now - sent > expiry) {
+            requests.poll();
+            expired++;
+            sent = requests.peek();
+        }
+    }
+
+    /**
+     * Work out the window from the slowest likely round trip and the fastest likely spawn rate.
+     */
+    private void updateWindow() {
+        if (roundTrip < 0 || spawnGap <= 0) {
+            return;
+        }
+        long slowTrip = roundTrip + 4 * roundTripVariation;
+        long needed = (slowTrip + spawnGap - 1) / spawnGap + MIN_WINDOW;
+        window = (int) Math.max(MIN_WINDOW, Math.min(MAX_WINDOW, needed));
+    }
+
+    /**
+     * Get how many more pieces should be requested.
+     *
+     * @param waiting number of pieces received and not yet spawned
+     * @param now     time in nanoseconds
+     * @return number of requests to send
+     */
+    public int getShortfall(int waiting, long now) {
+        expire(now);
+        return Math.max(0, window - waiting - requests.size());
+    }
+
+    /**
+     * Get the number of pieces the window asks for.
+     *
+     * @return window size
+     */
+    public int getWindow() {
+        return window;
+    }
+
+    /**
+     * Get the number of requests waiting for a reply.
+     *
+     * @return requests in flight
+     */
+    public int getInFlight() {
+        return requests.size();
+    }
+
+    /**
+     * Get the number of requests given up on, because no reply came.
+     *
+     * @return requests expired
+     */
+    public int getExpiredCount() {
+        return expired;
+    }
+
+    /**
+     * Get the smoothed round trip time of a request.
+     *
+     * @return round trip time in milliseconds, or -1 before the first reply
+     */
+    public double getRoundTrip() {
+        return roundTrip < 0 ? -1 : roundTrip / 1e6;
+    }
+}
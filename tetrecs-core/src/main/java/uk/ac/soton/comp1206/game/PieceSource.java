@@ -0,0 +1,56 @@
+package uk.ac.soton.comp1206.game;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A seeded source of random pieces. Two sources with the same seed give the same pieces in the same order, so a game
+ * can be played again exactly.
+ */
+public class PieceSource {
+
+    /**
+     * Seed the source was created with
+     */
+    private final long seed;
+
+    /**
+     * Random number generator to select pieces
+     */
+    private final SplittableRandom random;
+
+    /**
+     * Create a PieceSource with a random seed
+     */
+    public PieceSource() {
+        this(ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Create a PieceSource with the given seed
+     *
+     * @param seed seed for the piece sequence
+     */
+    public PieceSource(long seed) {
+        this.seed = seed;
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Get the next piece in the sequence
+     *
+     * @return a random game piece
+     */
+    public GamePiece next() {
+        return GamePiece.createPiece(random.nextInt(GamePiece.PIECES));
+    }
+
+    /**
+     * Get the seed the source was created with
+     *
+     * @return seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+}
@@ -0,0 +1,110 @@
+package uk.ac.soton.comp1206.game;
+
+/**
+ * A PlacementMap records, for one piece, every anchor on a grid where the piece can be placed. The anchor is the
+ * block the piece is centred on, so a piece anchored at x, y is placed at x - 1, y - 1, as when a block is clicked.
+ * <p>
+ * The map is built a row at a time from the grid's occupancy masks: each filled block of the piece shifts the row it
+ * lands on so that occupied cells line up with the anchors they block. Once built, checking an anchor is a single bit
+ * test. The map is rebuilt when asked about a different piece, or after it has been invalidated by a grid change.
+ */
+public class PlacementMap {
+
+    /**
+     * The grid placements are checked against.
+     */
+    private final Grid grid;
+
+    /**
+     * Legal anchors in each row. Bit x of legal[y] is set when the piece can be placed anchored at x, y.
+     */
+    private final long[] legal;
+
+    /**
+     * Mask of the columns on the grid.
+     */
+    private final long fullRow;
+
+    /**
+     * Piece the map was built for, or null if it needs rebuilding.
+     */
+    private GamePiece piece;
+
+    /**
+     * Create a new empty PlacementMap for a grid.
+     *
+     * @param grid the grid
+     */
+    public PlacementMap(Grid grid) {
+        this.grid = grid;
+        this.legal = new long[grid.getRows()];
+        this.fullRow = grid.getCols() == Grid.MAX_COLS ? -1L : (1L << grid.getCols()) - 1;
+    }
+
+    /**
+     * Forget the current map, so it is rebuilt next time it is used. Call whenever the grid changes.
+     */
+    public void invalidate() {
+        piece = null;
+    }
+
+    /**
+     * Check whether a piece can be placed anchored at the given block, rebuilding the map first if needed.
+     *
+     * @param piece the piece
+     * @param x     column of the anchor
+     * @param y     row of the anchor
+     * @return whether the piece can be placed
+     */
+    public boolean canPlace(GamePiece piece, int x, int y) {
+        if (x < 0 || x >= grid.getCols() || y < 0 || y >= grid.getRows()) {
+            return false;
+        }
+        return (getLegalAnchors(piece, y) & (1L << x)) != 0;
+    }
+
+    /**
+     * Get every anchor in a row where a piece can be placed, rebuilding the map first if needed.
+     *
+     * @param piece the piece
+     * @param y     row of the anchors
+     * @return anchor mask, bit x is set when the piece can be placed anchored at x, y
+     */
+    public long getLegalAnchors(GamePiece piece, int y) {
+        if (this.piece != piece) {
+            build(piece);
+        }
+        return legal[y];
+    }
+
+    /**
+     * Build the map for a piece.
+     *
+     * @param piece the piece
+     */
+    private void build(GamePiece piece) {
+        int rows = grid.getRows();
+        for (int y = 0; y < rows; y++) {
+            long blocked = 0;
+            for (int i = 0; i < piece.getCellCount(); i++) {
+                int row = y - 1 + piece.getCellY(i);
+                if (row < 0 || row >= rows) {
+                    blocked = -1L;
+                    break;
+                }
+
+                // Cells off the right edge count as filled
+                long occupied = grid.getRowMask(row) | ~fullRow;
+
+                // Line up the cell this block lands on with its anchor, treating the edges as filled
+                blocked |= switch (piece.getCellX(i)) {
+                    case 0 -> (occupied << 1) | 1L;
+                    case 2 -> (occupied >>> 1) | Long.MIN_VALUE;
+                    default -> occupied;
+                };
+            }
+            legal[y] = ~blocked & fullRow;
+        }
+        this.piece = piece;
+    }
+}
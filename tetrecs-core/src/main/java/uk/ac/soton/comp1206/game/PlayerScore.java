@@ -0,0 +1,56 @@
+package uk.ac.soton.comp1206.game;
+
+/**
+ * Represents the name of a player and their score.
+ */
+public class PlayerScore {
+
+    /**
+     * Name of the player
+     */
+    private final String name;
+
+    /**
+     * Score of the player
+     */
+    private final int score;
+
+    /**
+     * Create a new PlayerScore
+     *
+     * @param name  name of the player
+     * @param score score of the player
+     */
+    public PlayerScore(String name, int score) {
+        this.name = name;
+        this.score = score;
+    }
+
+    /**
+     * Get the name of the player
+     *
+     * @return name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get the score of the player
+     *
+     * @return score
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Return a string representation of this PlayerScore
+     *
+     * @return string representation
+     */
+    @Override
+    public String toString() {
+        return name + ":" + score;
+    }
+}
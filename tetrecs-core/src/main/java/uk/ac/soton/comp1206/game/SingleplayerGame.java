@@ -0,0 +1,84 @@
+package uk.ac.soton.comp1206.game;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import uk.ac.soton.comp1206.timer.GameScheduler;
+
+/**
+ * Singleplayer game extends Game.
+ * Implements spawnPiece() method
+ */
+public class SingleplayerGame extends Game {
+
+    private static final Logger logger = LogManager.getLogger(SingleplayerGame.class);
+
+    /**
+     * Source of the pieces to play.
+     */
+    private final PieceSource pieces;
+
+    /**
+     * Create SingleplayerGame
+     *
+     * @param cols number of columns
+     * @param rows number of rows
+     */
+    public SingleplayerGame(int cols, int rows) {
+        this(cols, rows, new PieceSource());
+    }
+
+    /**
+     * Create SingleplayerGame playing pieces from the given source
+     *
+     * @param cols   number of columns
+     * @param rows   number of rows
+     * @param pieces source of the pieces to play
+     */
+    public SingleplayerGame(int cols, int rows, PieceSource pieces) {
+        super(cols, rows);
+        this.pieces = pieces;
+    }
+
+    /**
+     * Create SingleplayerGame with its game loop driven by the given scheduler
+     *
+     * @param cols      number of columns
+     * @param rows      number of rows
+     * @param scheduler scheduler for the game loop
+     */
+    public SingleplayerGame(int cols, int rows, GameScheduler scheduler) {
+        this(cols, rows, scheduler, new PieceSource());
+    }
+
+    /**
+     * Create SingleplayerGame with its game loop driven by the given scheduler, playing pieces from the given source
+     *
+     * @param cols      number of columns
+     * @param rows      number of rows
+     * @param scheduler scheduler for the game loop
+     * @param pieces    source of the pieces to play
+     */
+    public SingleplayerGame(int cols, int rows, GameScheduler scheduler, PieceSource pieces) {
+        super(cols, rows, scheduler);
+        this.pieces = pieces;
+    }
+
+    /**
+     * Spawns random piece
+     *
+     * @return a random game piece
+     */
+    public GamePiece spawnPiece() {
+        logger.info("Spawning next piece");
+        return pieces.next();
+    }
+
+    /**
+     * Get the source of the pieces played
+     *
+     * @return piece source
+     */
+    public PieceSource getPieceSource() {
+        return pieces;
+    }
+}
@@ -0,0 +1,146 @@
+package uk.ac.soton.comp1206.hint;
+
+/**
+ * A ranked placement found by the HintEngine: which piece to play, how to rotate it and where to click.
+ */
+public class Hint {
+
+    /**
+     * Column to click, as passed to Game.blockClicked
+     */
+    private final int x;
+
+    /**
+     * Row to click, as passed to Game.blockClicked
+     */
+    private final int y;
+
+    /**
+     * Number of clockwise rotations to apply to the piece
+     */
+    private final int rotations;
+
+    /**
+     * Whether the following piece is played, by swapping first
+     */
+    private final boolean swap;
+
+    /**
+     * Number of rows and columns the placement clears
+     */
+    private final int lines;
+
+    /**
+     * Points the placement scores straight away
+     */
+    private final int points;
+
+    /**
+     * Quality of the board left behind, higher is better
+     */
+    private final int quality;
+
+    /**
+     * Create a new Hint
+     *
+     * @param x         column to click
+     * @param y         row to click
+     * @param rotations number of clockwise rotations to apply to the piece
+     * @param swap      whether the following piece is played
+     * @param lines     number of lines cleared
+     * @param points    points scored
+     * @param quality   quality of the board left behind
+     */
+    public Hint(int x, int y, int rotations, boolean swap, int lines, int points, int quality) {
+        this.x = x;
+        this.y = y;
+        this.rotations = rotations;
+        this.swap = swap;
+        this.lines = lines;
+        this.points = points;
+        this.quality = quality;
+    }
+
+    /**
+     * Get the column to click
+     *
+     * @return column
+     */
+    public int getX() {
+        return x;
+    }
+
+    /**
+     * Get the row to click
+     *
+     * @return row
+     */
+    public int getY() {
+        return y;
+    }
+
+    /**
+     * Get the number of clockwise rotations to apply to the piece
+     *
+     * @return rotations
+     */
+    public int getRotations() {
+        return rotations;
+    }
+
+    /**
+     * Whether the following piece is played, by swapping first
+     *
+     * @return true to swap
+     */
+    public boolean isSwap() {
+        return swap;
+    }
+
+    /**
+     * Get the number of rows and columns cleared
+     *
+     * @return lines
+     */
+    public int getLines() {
+        return lines;
+    }
+
+    /**
+     * Get the points scored straight away
+     *
+     * @return points
+     */
+    public int getPoints() {
+        return points;
+    }
+
+    /**
+     * Get the quality of the board left behind
+     *
+     * @return quality
+     */
+    public int getQuality() {
+        return quality;
+    }
+
+    /**
+     * Get the value the hint is ranked by, combining points and board quality
+     *
+     * @return value
+     */
+    public int getValue() {
+        return points + quality;
+    }
+
+    /**
+     * Return a string representation of this Hint
+     *
+     * @return string representation
+     */
+    @Override
+    public String toString() {
+        return (swap ? "swap, " : "") + "rotate " + rotations + ", click " + x + "," + y + " (" + lines + " lines, "
+                + points + " points, quality " + quality + ")";
+    }
+}
@@ -0,0 +1,358 @@
+package uk.ac.soton.comp1206.hint;
+
+import uk.ac.soton.comp1206.game.Game;
+import uk.ac.soton.comp1206.game.GamePiece;
+import uk.ac.soton.comp1206.game.Grid;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * The Hint Engine ranks every legal placement of the current piece, and of the following piece by swapping, in every
+ * rotation. Placements are ranked by the points they score straight away plus the quality of the board they leave
+ * behind, which rewards empty cells and penalises holes that nothing but a single block could fill.
+ * <p>
+ * The search works on a copy of the grid's row occupancy masks, so each placement is tested and scored with a few
+ * bitwise operations per row and the grid itself is never changed. Rotations which give the same shape are only
+ * searched once. Large grids are searched with one task per piece and rotation on a fork-join pool.
+ */
+public class HintEngine {
+
+    /**
+     * Grids with at least this many cells are searched in parallel
+     */
+    private static final int PARALLEL_CELLS = 256;
+
+    /**
+     * Quality gained for every empty cell left on the board
+     */
+    private static final int EMPTY_WEIGHT = 2;
+
+    /**
+     * Quality lost for every empty cell with no empty neighbours
+     */
+    private static final int HOLE_WEIGHT = 8;
+
+    /**
+     * Orders hints from best to worst
+     */
+    private static final Comparator<Hint> BEST_FIRST = Comparator.comparingInt(Hint::getValue)
+            .thenComparingInt(Hint::getLines).reversed();
+
+    /**
+     * Pool to search large grids on
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Create a HintEngine which searches large grids on the common pool.
+     */
+    public HintEngine() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create a HintEngine
+     *
+     * @param pool pool to search large grids on
+     */
+    public HintEngine(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Rank every legal placement in a game, best first.
+     *
+     * @param game game to search
+     * @return ranked hints, empty if no piece can be played
+     */
+    public List<Hint> rank(Game game) {
+        return rank(game.getGrid(), game.getCurrentPiece(), game.getFollowingPiece(), game.getMultiplier());
+    }
+
+    /**
+     * Get the best placement in a game.
+     *
+     * @param game game to search
+     * @return best hint, or null if no piece can be played
+     */
+    public Hint best(Game game) {
+        List<Hint> hints = rank(game);
+        return hints.isEmpty() ? null : hints.get(0);
+    }
+
+    /**
+     * Rank every legal placement of the current and following piece on a grid, best first.
+     *
+     * @param grid       grid to place on
+     * @param current    current piece
+     * @param following  following piece, played by swapping first, or null to ignore swapping
+     * @param multiplier current score multiplier
+     * @return ranked hints, empty if no piece can be played
+     */
+    public List<Hint> rank(Grid grid, GamePiece current, GamePiece following, int multiplier) {
+        int cols = grid.getCols();
+        int rows = grid.getRows();
+        if (cols == 0 || rows == 0 || current == null) {
+            return new ArrayList<>();
+        }
+
+        // Snapshot the occupancy of the grid
+        long[] board = new long[rows];
+        for (int y = 0; y < rows; y++) {
+            board[y] = grid.getRowMask(y);
+        }
+
+        // Work out which piece and rotation combinations give distinct shapes
+        ArrayList<Candidate> candidates = new ArrayList<>(GamePiece.ROTATIONS * 2);
+        addCandidates(candidates, current, false);
+        if (following != null) {
+            addCandidates(candidates, following, true);
+        }
+
+        Search search = new Search(board, cols, rows, multiplier, candidates);
+        ArrayList<Hint> hints;
+        if (cols * rows >= PARALLEL_CELLS) {
+            hints = pool.invoke(new SearchTask(search, 0, candidates.size()));
+        } else {
+            hints = search.search(0, candidates.size());
+        }
+        hints.sort(BEST_FIRST);
+        return hints;
+    }
+
+    /**
+     * Add each distinct rotation of a piece to the list of candidates.
+     *
+     * @param candidates list of candidates
+     * @param piece      piece to rotate
+     * @param swap       whether the piece is played by swapping
+     */
+    private static void addCandidates(ArrayList<Candidate> candidates, GamePiece piece, boolean swap) {
+        int first = candidates.size();
+        for (int rotations = 0; rotations < GamePiece.ROTATIONS; rotations++) {
+            GamePiece rotated = piece.rotate(rotations);
+            int shape = rotated.getMask() >>> (rotated.getMinY() * GamePiece.SIZE + rotated.getMinX());
+            boolean seen = false;
+            for (int i = first; i < candidates.size() && !seen; i++) {
+                seen = candidates.get(i).shape == shape;
+            }
+            if (!seen) {
+                candidates.add(new Candidate(rotated, rotations, swap, shape));
+            }
+        }
+    }
+
+    /**
+     * Shift a piece row mask to a column of the grid.
+     *
+     * @param mask piece row mask
+     * @param xPos column offset of the piece
+     * @return shifted mask
+     */
+    private static long shift(long mask, int xPos) {
+        return xPos >= 0 ? mask << xPos : mask >>> -xPos;
+    }
+
+    /**
+     * A piece in one rotation to try placing.
+     */
+    private static class Candidate {
+        private final GamePiece piece;
+        private final int rotations;
+        private final boolean swap;
+
+        /**
+         * Occupancy of the piece moved to the top left corner, for spotting rotations with the same shape
+         */
+        private final int shape;
+
+        /**
+         * Create a new Candidate
+         *
+         * @param piece     the rotated piece
+         * @param rotations number of rotations applied
+         * @param swap      whether the piece is played by swapping
+         * @param shape     normalised occupancy of the piece
+         */
+        private Candidate(GamePiece piece, int rotations, boolean swap, int shape) {
+            this.piece = piece;
+            this.rotations = rotations;
+            this.swap = swap;
+            this.shape = shape;
+        }
+    }
+
+    /**
+     * One search over a snapshot of a grid.
+     */
+    private static class Search {
+        private final long[] board;
+        private final int cols;
+        private final int rows;
+        private final int multiplier;
+        private final ArrayList<Candidate> candidates;
+
+        /**
+         * Mask of a full row
+         */
+        private final long full;
+
+        /**
+         * Create a new Search
+         *
+         * @param board      occupancy of each row
+         * @param cols       number of columns
+         * @param rows       number of rows
+         * @param multiplier current score multiplier
+         * @param candidates pieces to try
+         */
+        private Search(long[] board, int cols, int rows, int multiplier, ArrayList<Candidate> candidates) {
+            this.board = board;
+            this.cols = cols;
+            this.rows = rows;
+            this.multiplier = multiplier;
+            this.candidates = candidates;
+            this.full = cols == Grid.MAX_COLS ? -1L : (1L << cols) - 1;
+        }
+
+        /**
+         * Try every position of a range of candidates.
+         *
+         * @param from index of the first candidate
+         * @param to   index after the last candidate
+         * @return a hint for every legal placement
+         */
+        private ArrayList<Hint> search(int from, int to) {
+            ArrayList<Hint> hints = new ArrayList<>();
+            long[] placed = board.clone();
+
+            for (int i = from; i < to; i++) {
+                Candidate candidate = candidates.get(i);
+                GamePiece piece = candidate.piece;
+                int minY = piece.getMinY();
+                int maxY = piece.getMaxY();
+
+                for (int yPos = -minY; yPos < rows - maxY; yPos++) {
+                    for (int xPos = -piece.getMinX(); xPos < cols - piece.getMaxX(); xPos++) {
+                        // Check the piece fits, row by row
+                        boolean fits = true;
+                        for (int y = minY; y <= maxY && fits; y++) {
+                            fits = (board[yPos + y] & shift(piece.getRowMask(y), xPos)) == 0;
+                        }
+                        if (!fits) {
+                            continue;
+                        }
+
+                        // Place it, score it, then take it away again
+                        for (int y = minY; y <= maxY; y++) {
+                            placed[yPos + y] = board[yPos + y] | shift(piece.getRowMask(y), xPos);
+                        }
+                        hints.add(evaluate(placed, candidate, xPos, yPos));
+                        for (int y = minY; y <= maxY; y++) {
+                            placed[yPos + y] = board[yPos + y];
+                        }
+                    }
+                }
+            }
+            return hints;
+        }
+
+        /**
+         * Score a placement and the board it leaves behind.
+         *
+         * @param placed    occupancy with the piece placed
+         * @param candidate the piece placed
+         * @param xPos      column of the piece origin
+         * @param yPos      row of the piece origin
+         * @return the hint
+         */
+        private Hint evaluate(long[] placed, Candidate candidate, int xPos, int yPos) {
+            // Find full rows and columns
+            long fullCols = full;
+            int fullRows = 0;
+            for (int y = 0; y < rows; y++) {
+                fullCols &= placed[y];
+                if (placed[y] == full) {
+                    fullRows++;
+                }
+            }
+            int fullColCount = Long.bitCount(fullCols);
+            int lines = fullRows + fullColCount;
+
+            // Score as Game.score does
+            int cleared = fullRows * cols + fullColCount * rows - fullRows * fullColCount;
+            int points = lines * cleared * 10 * multiplier;
+
+            // Count empty cells and holes on the board once the lines are cleared
+            int empty = 0;
+            int holes = 0;
+            long previous = full;
+            long current = cleared(placed, 0, fullCols);
+            long left = 1L;
+            long right = 1L << (cols - 1);
+            for (int y = 0; y < rows; y++) {
+                long next = y + 1 < rows ? cleared(placed, y + 1, fullCols) : full;
+                long gaps = ~current & full;
+                empty += Long.bitCount(gaps);
+                holes += Long.bitCount(gaps & ((current << 1) | left) & ((current >>> 1) | right) & previous & next);
+                previous = current;
+                current = next;
+            }
+            int quality = empty * EMPTY_WEIGHT - holes * HOLE_WEIGHT;
+
+            // Clicks are made on the centre of the piece
+            return new Hint(xPos + 1, yPos + 1, candidate.rotations, candidate.swap, lines, points, quality);
+        }
+
+        /**
+         * Get the occupancy of a row once full lines are cleared.
+         *
+         * @param placed   occupancy with the piece placed
+         * @param y        row
+         * @param fullCols mask of full columns
+         * @return row mask
+         */
+        private long cleared(long[] placed, int y, long fullCols) {
+            return placed[y] == full ? 0 : placed[y] & ~fullCols;
+        }
+    }
+
+    /**
+     * Searches a range of candidates, splitting until there is one candidate per task.
+     */
+    private static class SearchTask extends RecursiveTask<ArrayList<Hint>> {
+        private final Search search;
+        private final int from;
+        private final int to;
+
+        /**
+         * Create a new SearchTask
+         *
+         * @param search search to run
+         * @param from   index of the first candidate
+         * @param to     index after the last candidate
+         */
+        private SearchTask(Search search, int from, int to) {
+            this.search = search;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected ArrayList<Hint> compute() {
+            if (to - from <= 1) {
+                return search.search(from, to);
+            }
+            int middle = (from + to) >>> 1;
+            SearchTask second = new SearchTask(search, middle, to);
+            second.fork();
+            ArrayList<Hint> hints = new SearchTask(search, from, middle).compute();
+            hints.addAll(second.join());
+            return hints;
+        }
+    }
+}
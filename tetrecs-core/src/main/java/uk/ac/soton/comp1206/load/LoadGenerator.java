@@ -0,0 +1,289 @@
+package uk.ac.soton.comp1206.load;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import uk.ac.soton.comp1206.hint.HintEngine;
+import uk.ac.soton.comp1206.network.LatencyHistogram;
+import uk.ac.soton.comp1206.network.NetworkStats;
+import uk.ac.soton.comp1206.network.OutboundQueue;
+import uk.ac.soton.comp1206.server.LocalServer;
+import uk.ac.soton.comp1206.sim.HintPlacementPolicy;
+import uk.ac.soton.comp1206.sim.PlacementPolicy;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The Load Generator plays many simulated multiplayer clients against a server at once, to find where the client
+ * protocol stack saturates.
+ * <p>
+ * Each SimulatedPlayer connects with its own Communicator, finds its channel with LIST, joins, and once the channel is
+ * full its host starts the game. Players then place pieces with a bot at a human pace, sending BOARD and SCORE after
+ * every move and asking for SCORES every few moves, while their MultiplayerGame requests pieces as it normally would.
+ * <p>
+ * Players are not given a thread of their own to play on. They run on a small shared pool, each one task at a time,
+ * and simulated players do not ping, so their sockets have no ping timers. Every player still has its web socket's
+ * reading and writing threads and its Communicator's outbound queue thread, and a LocalServer in the same process has
+ * a thread for each connection, so the thread count grows by three or four per player; check the thread limit before
+ * running thousands.
+ * <p>
+ * When the run is over the latency of each timed request, the messages sent and received per second, the error counts
+ * and the outbound queue metrics are printed.
+ */
+public class LoadGenerator {
+
+    private static final Logger logger = LogManager.getLogger(LoadGenerator.class);
+
+    /**
+     * Size of the board each player plays on.
+     */
+    private static final int COLS = 5;
+    private static final int ROWS = 5;
+
+    /**
+     * Longest time to wait for the players to disconnect, in milliseconds.
+     */
+    private static final long CLOSE_TIMEOUT = 5000;
+
+    /**
+     * Server to connect to.
+     */
+    private final String server;
+
+    /**
+     * Number of players, and number of players in each channel.
+     */
+    private final int players;
+    private final int channelSize;
+
+    /**
+     * Average thinking time between moves, in milliseconds.
+     */
+    private long moveDelay = 1000;
+
+    /**
+     * Bot choosing where to place pieces.
+     */
+    private PlacementPolicy policy = new HintPlacementPolicy(new HintEngine(), 0);
+
+    /**
+     * Create a new Load Generator.
+     *
+     * @param server      server to connect to
+     * @param players     number of players
+     * @param channelSize number of players in each channel
+     */
+    public LoadGenerator(String server, int players, int channelSize) {
+        this.server = server;
+        this.players = players;
+        this.channelSize = Math.max(1, channelSize);
+    }
+
+    /**
+     * Set the average thinking time between moves.
+     *
+     * @param moveDelay thinking time in milliseconds
+     */
+    public void setMoveDelay(long moveDelay) {
+        this.moveDelay = moveDelay;
+    }
+
+    /**
+     * Set the bot choosing where to place pieces.
+     *
+     * @param policy placement policy
+     */
+    public void setPolicy(PlacementPolicy policy) {
+        this.policy = policy;
+    }
+
+    /**
+     * Connect every player, let them play for the given time, then disconnect them and report.
+     *
+     * @param seconds time to play for
+     * @param seed    seed for the bots
+     * @return the report
+     * @throws InterruptedException if interrupted while running
+     */
+    public String run(int seconds, long seed) throws InterruptedException {
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors() * 2);
+        ExecutorService pool = Executors.newFixedThreadPool(threads, daemon("load-player"));
+        ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(daemon("load-timer"));
+
+        // Connect everyone from the pool, so slow connections overlap
+        SplittableRandom seeds = new SplittableRandom(seed);
+        List<SimulatedPlayer> connected = new ArrayList<>();
+        AtomicInteger failed = new AtomicInteger();
+        CountDownLatch connecting = new CountDownLatch(players);
+        long start = System.nanoTime();
+        for (int i = 0; i < players; i++) {
+            String channel = "load-" + (i / channelSize);
+            // The last channel has whoever is left over, which may be fewer than a full channel
+            int channelStart = i / channelSize * channelSize;
+            int size = Math.min(channelSize, players - channelStart);
+            SimulatedPlayer player = new SimulatedPlayer("player" + i, channel, i == channelStart, size, pool, timer,
+                    policy, moveDelay, seeds.nextLong());
+            pool.execute(() -> {
+                try {
+                    player.connect(server, COLS, ROWS);
+                    synchronized (connected) {
+                        connected.add(player);
+                    }
+                } catch (IOException e) {
+                    failed.incrementAndGet();
+                    logger.debug("Failed to connect: {}", e.getMessage());
+                } finally {
+                    connecting.countDown();
+                }
+            });
+        }
+        connecting.await();
+        long connectTime = System.nanoTime() - start;
+        logger.info("Connected {} players", connected.size());
+
+        // Play
+        long playStart = System.nanoTime();
+        Thread.sleep(seconds * 1000L);
+        for (SimulatedPlayer player : connected) {
+            player.stop();
+        }
+        double elapsed = (System.nanoTime() - playStart) / 1e9;
+
+        // Give the last replies a moment to arrive
+        Thread.sleep(500);
+        String report = report(connected, failed.get(), connectTime, elapsed);
+
+        // Let every close be answered, so no socket is left waiting on a server which has gone
+        for (SimulatedPlayer player : connected) {
+            player.close();
+        }
+        long closeEnd = System.currentTimeMillis() + CLOSE_TIMEOUT;
+        int open = 0;
+        for (SimulatedPlayer player : connected) {
+            if (!player.getCommunicator().awaitClosed(Math.max(1, closeEnd - System.currentTimeMillis()))) {
+                open++;
+            }
+        }
+        if (open > 0) {
+            logger.warn("Timed out waiting for {} players to disconnect", open);
+        }
+        timer.shutdownNow();
+        pool.shutdown();
+        pool.awaitTermination(CLOSE_TIMEOUT, TimeUnit.MILLISECONDS);
+        return report;
+    }
+
+    /**
+     * Build the report of a run.
+     *
+     * @param connected   players which connected
+     * @param failed      number of players which failed to connect
+     * @param connectTime time taken to connect everyone, in nanoseconds
+     * @param elapsed     time spent playing, in seconds
+     * @return the report
+     */
+    private String report(List<SimulatedPlayer> connected, int failed, long connectTime, double elapsed) {
+        long sent = 0;
+        long received = 0;
+        long errors = 0;
+        long exceptions = 0;
+        long underruns = 0;
+        long coalesced = 0;
+        long dropped = 0;
+        int maxDepth = 0;
+        for (SimulatedPlayer player : connected) {
+            OutboundQueue outbound = player.getCommunicator().getOutboundQueue();
+            sent += outbound.getSentCount();
+            coalesced += outbound.getCoalescedCount();
+            dropped += outbound.getDroppedCount();
+            maxDepth = Math.max(maxDepth, outbound.getMaxQueueDepth());
+            received += player.getReceivedCount();
+            errors += player.getErrorCount();
+            exceptions += player.getExceptionCount();
+            underruns += player.getUnderrunCount();
+        }
+
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("Players: %d connected, %d failed, in channels of %d, connected in %d ms%n",
+                connected.size(), failed, channelSize, connectTime / 1_000_000));
+        report.append(String.format("Sent: %d messages, %.1f/s%n", sent, sent / elapsed));
+        report.append(String.format("Received: %d messages, %.1f/s%n", received, received / elapsed));
+        for (String reply : NetworkStats.getTimedReplies()) {
+            report.append(String.format("Latency %s (us): %s%n", reply, latencies(connected, reply)));
+        }
+        report.append(String.format("Errors: %d ERROR replies, %d exceptions, %d piece underruns%n", errors,
+                exceptions, underruns));
+        report.append(String.format("Outbound: max queue depth %d, %d coalesced, %d dropped%n", maxDepth, coalesced,
+                dropped));
+        return report.toString();
+    }
+
+    /**
+     * Merge every player's latencies for a reply.
+     *
+     * @param connected players
+     * @param reply     command of the reply
+     * @return merged latencies
+     */
+    private static LatencyHistogram latencies(List<SimulatedPlayer> connected, String reply) {
+        LatencyHistogram merged = new LatencyHistogram();
+        for (SimulatedPlayer player : connected) {
+            merged.add(player.getCommunicator().getStats().getLatency(reply));
+        }
+        return merged;
+    }
+
+    /**
+     * Make a factory for named daemon threads.
+     *
+     * @param name thread name prefix
+     * @return thread factory
+     */
+    private static ThreadFactory daemon(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Run a load test and print the report. Without a server, a LocalServer is started in this process.
+     *
+     * @param args number of players, seconds, channel size and server, all optional
+     * @throws IOException if the local server could not be started
+     * @throws InterruptedException if interrupted while running
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int players = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+        int channelSize = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+
+        LocalServer localServer = null;
+        String server;
+        if (args.length > 3) {
+            server = args[3];
+        } else {
+            localServer = new LocalServer(0);
+            localServer.start();
+            server = localServer.getUri();
+        }
+
+        System.out.printf("Load testing %s with %d players for %d seconds%n", server, players, seconds);
+        System.out.print(new LoadGenerator(server, players, channelSize).run(seconds, 1));
+
+        if (localServer != null) {
+            localServer.stop();
+        }
+    }
+}
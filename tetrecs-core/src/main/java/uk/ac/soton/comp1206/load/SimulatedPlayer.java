@@ -0,0 +1,356 @@
+package uk.ac.soton.comp1206.load;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import uk.ac.soton.comp1206.game.MultiplayerGame;
+import uk.ac.soton.comp1206.network.Communicator;
+import uk.ac.soton.comp1206.network.Message;
+import uk.ac.soton.comp1206.sim.Placement;
+import uk.ac.soton.comp1206.sim.PlacementPolicy;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A Simulated Player is one headless client for the LoadGenerator: a Communicator and a MultiplayerGame played by a
+ * PlacementPolicy.
+ * <p>
+ * Everything a player does, from its game's events to its bot's moves, runs one task at a time on the shared pool, so
+ * thousands of players can share a handful of threads without their games ever being touched by two threads at once.
+ * <p>
+ * Request latencies are recorded by the player's Communicator, in its NetworkStats.
+ */
+class SimulatedPlayer implements Executor {
+
+    private static final Logger logger = LogManager.getLogger(SimulatedPlayer.class);
+
+    /**
+     * Longest time to wait for the connection, in milliseconds.
+     */
+    private static final long CONNECT_TIMEOUT = 10_000;
+
+    /**
+     * Number of moves between asking for everyone's scores.
+     */
+    private static final int SCORES_EVERY = 5;
+
+    /**
+     * Time between looking for the channel to join, in milliseconds.
+     */
+    private static final long LIST_INTERVAL = 250;
+
+    /**
+     * Player name.
+     */
+    private final String name;
+
+    /**
+     * Channel to play in.
+     */
+    private final String channel;
+
+    /**
+     * Whether this player creates and starts the channel's game.
+     */
+    private final boolean host;
+
+    /**
+     * Number of players the host waits for before starting.
+     */
+    private final int channelSize;
+
+    /**
+     * Pool tasks run on, and timer for delays.
+     */
+    private final Executor pool;
+    private final ScheduledExecutorService timer;
+
+    /**
+     * Bot choosing where to place pieces, and its average thinking time in milliseconds.
+     */
+    private final PlacementPolicy policy;
+    private final long moveDelay;
+    private final SplittableRandom random;
+
+    /**
+     * Tasks waiting to run, and whether they are being run.
+     */
+    private final ConcurrentLinkedQueue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * Counters.
+     */
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong exceptions = new AtomicLong();
+    private int moves = 0;
+
+    /**
+     * Connection and game, once connected.
+     */
+    private Communicator communicator;
+    private MultiplayerGame game;
+
+    /**
+     * Whether the player is still playing.
+     */
+    private volatile boolean playing = true;
+
+    /**
+     * Whether the player is in its channel yet, and whether its game has started.
+     */
+    private boolean joined = false;
+    private boolean started = false;
+
+    /**
+     * Create a new Simulated Player. Nothing happens until it connects.
+     *
+     * @param name        player name
+     * @param channel     channel to play in
+     * @param host        whether this player creates and starts the channel's game
+     * @param channelSize number of players the host waits for
+     * @param pool        pool to run tasks on
+     * @param timer       timer for delays
+     * @param policy      bot choosing where to place pieces
+     * @param moveDelay   average thinking time between moves, in milliseconds
+     * @param seed        seed for the bot
+     */
+    SimulatedPlayer(String name, String channel, boolean host, int channelSize, Executor pool,
+                    ScheduledExecutorService timer, PlacementPolicy policy, long moveDelay, long seed) {
+        this.name = name;
+        this.channel = channel;
+        this.host = host;
+        this.channelSize = channelSize;
+        this.pool = pool;
+        this.timer = timer;
+        this.policy = policy;
+        this.moveDelay = moveDelay;
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Connect to the server and head for the channel.
+     *
+     * @param server server to connect to
+     * @param cols   number of columns on the board
+     * @param rows   number of rows on the board
+     * @throws IOException if the server could not be reached
+     */
+    void connect(String server, int cols, int rows) throws IOException {
+        // No pings, as each socket pinging would start a timer thread of its own
+        communicator = new Communicator(server, 0);
+        try {
+            if (!communicator.awaitConnected(CONNECT_TIMEOUT)) {
+                communicator.close();
+                throw new IOException("Timed out connecting to " + server);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            communicator.close();
+            throw new IOException("Interrupted connecting to " + server);
+        }
+        communicator.addListener("ERROR", message -> errors.incrementAndGet());
+        communicator.addListener("CHANNELS", message -> execute(() -> channels(message)));
+        communicator.addListener("USERS", message -> execute(() -> users(message)));
+        communicator.addListener("START", message -> execute(this::start));
+
+        game = new MultiplayerGame(communicator, cols, rows);
+        game.setEventExecutor(this);
+        game.setOnGameOver(() -> {
+            // As the scores scene would
+            communicator.send("DIE");
+            communicator.send("HISCORES");
+            playing = false;
+        });
+
+        communicator.send("NICK " + name);
+        if (host) {
+            communicator.send("CREATE " + channel);
+        } else {
+            communicator.send("LIST");
+        }
+    }
+
+    /**
+     * Run a task after every task before it, on the shared pool.
+     *
+     * @param task task to run
+     */
+    @Override
+    public void execute(Runnable task) {
+        tasks.add(task);
+        if (running.compareAndSet(false, true)) {
+            pool.execute(this::drain);
+        }
+    }
+
+    /**
+     * Run tasks until there are none left.
+     */
+    private void drain() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            try {
+                task.run();
+            } catch (Exception e) {
+                exceptions.incrementAndGet();
+                logger.debug("{} failed: {}", name, e.toString());
+            }
+        }
+        running.set(false);
+
+        // A task may have been added after the queue looked empty
+        if (!tasks.isEmpty() && running.compareAndSet(false, true)) {
+            pool.execute(this::drain);
+        }
+    }
+
+    /**
+     * Join the channel once it appears, or look again shortly.
+     *
+     * @param message CHANNELS message
+     */
+    private void channels(Message message) {
+        if (joined || !playing) {
+            return;
+        }
+        for (String line : message.getLines()) {
+            if (line.equals(channel)) {
+                joined = true;
+                communicator.send("JOIN " + channel);
+                return;
+            }
+        }
+        timer.schedule(() -> execute(() -> communicator.send("LIST")), LIST_INTERVAL, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Start the game once everyone has joined, if this is the host.
+     *
+     * @param message USERS message
+     */
+    private void users(Message message) {
+        if (host && !started && message.getLines().size() >= channelSize) {
+            communicator.send("START");
+        }
+    }
+
+    /**
+     * Start playing.
+     */
+    private void start() {
+        if (!playing || started) {
+            return;
+        }
+        started = true;
+        game.start();
+        schedule();
+    }
+
+    /**
+     * Make a move with the bot, report the score and schedule the next move.
+     */
+    private void move() {
+        if (!playing) {
+            return;
+        }
+        if (game.getCurrentPiece() != null) {
+            Placement placement = policy.choose(game, random);
+            if (placement != null) {
+                if (placement.isSwap()) {
+                    game.swapCurrentPiece();
+                }
+                if (placement.getRotations() != 0) {
+                    game.rotatePiece(placement.getRotations());
+                }
+                game.blockClicked(placement.getX(), placement.getY());
+                communicator.send("SCORE " + game.getScore());
+                if (++moves % SCORES_EVERY == 0) {
+                    communicator.send("SCORES");
+                }
+            }
+        }
+        schedule();
+    }
+
+    /**
+     * Schedule the next move after a thinking time between half and one and a half times the average, so players do
+     * not all move in step.
+     */
+    private void schedule() {
+        long delay = moveDelay / 2 + random.nextLong(moveDelay + 1);
+        timer.schedule(() -> execute(this::move), delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stop playing.
+     */
+    void stop() {
+        playing = false;
+        execute(() -> {
+            if (game != null) {
+                game.stop();
+            }
+        });
+    }
+
+    /**
+     * Disconnect from the server.
+     */
+    void close() {
+        if (communicator != null) {
+            communicator.close();
+        }
+    }
+
+    /**
+     * Get the connection, or null if not connected.
+     *
+     * @return communicator
+     */
+    Communicator getCommunicator() {
+        return communicator;
+    }
+
+    /**
+     * Get the number of messages received.
+     *
+     * @return messages received
+     */
+    long getReceivedCount() {
+        return communicator != null ? communicator.getStats().getMessagesReceived() : 0;
+    }
+
+    /**
+     * Get the number of ERROR messages received.
+     *
+     * @return errors received
+     */
+    long getErrorCount() {
+        return errors.get();
+    }
+
+    /**
+     * Get the number of pieces the game needed before the server had sent them.
+     *
+     * @return piece underruns
+     */
+    int getUnderrunCount() {
+        return game != null ? game.getUnderrunCount() : 0;
+    }
+
+    /**
+     * Get the number of tasks which threw an exception.
+     *
+     * @return exceptions
+     */
+    long getExceptionCount() {
+        return exceptions.get();
+    }
+}
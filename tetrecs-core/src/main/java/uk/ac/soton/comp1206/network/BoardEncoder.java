@@ -0,0 +1,210 @@
+package uk.ac.soton.comp1206.network;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Arrays;
+
+/**
+ * The Board Encoder turns the BOARD messages a game sends into what actually needs to go to the server, given the
+ * board the server was last sent.
+ * <p>
+ * A BOARD message holds every cell, column by column. If nothing has changed since the last one sent, no message is
+ * needed at all. Otherwise, every snapshot interval a full BOARD message is sent, and in between only the changed cells
+ * are sent as a BOARDDELTA message of cell index and value pairs, in the same column by column order. The default
+ * interval of 1 sends every change as a full BOARD message, which any server understands; larger intervals need a
+ * server which understands BOARDDELTA, such as the local server.
+ * <p>
+ * Encoding is done as messages are sent, after BOARD messages have been coalesced, so the last board sent is always
+ * the one the server has.
+ */
+public class BoardEncoder {
+
+    private static final Logger logger = LogManager.getLogger(BoardEncoder.class);
+
+    /**
+     * Command for a full board.
+     */
+    public static final String BOARD = "BOARD";
+
+    /**
+     * Command for the cells changed since the last board.
+     */
+    public static final String BOARD_DELTA = "BOARDDELTA";
+
+    /**
+     * Cells of the last board sent, or null if a full board must be sent next.
+     */
+    private int[] last;
+
+    /**
+     * Cells of the board being encoded.
+     */
+    private int[] next = new int[0];
+
+    /**
+     * Number of boards sent as deltas since the last full board.
+     */
+    private int sinceSnapshot = 0;
+
+    /**
+     * Number of boards sent between full boards, including the full board.
+     */
+    private volatile int snapshotInterval = Integer.getInteger("tetrecs.snapshotInterval", 1);
+
+    /**
+     * Metrics.
+     */
+    private volatile long snapshots = 0;
+    private volatile long deltas = 0;
+    private volatile long skipped = 0;
+
+    /**
+     * Encode a BOARD message to send.
+     *
+     * @param message BOARD message holding every cell
+     * @return the message to send, or null if the board has not changed
+     */
+    public String encode(String message) {
+        int count = parse(message);
+
+        // Nothing to send if nothing changed
+        if (last != null && count == last.length && Arrays.equals(last, 0, count, next, 0, count)) {
+            skipped++;
+            return null;
+        }
+
+        // A full board is needed first, after a change of size, and every snapshot interval
+        if (last == null || count != last.length || ++sinceSnapshot >= snapshotInterval) {
+            last = Arrays.copyOf(next, count);
+            sinceSnapshot = 0;
+            snapshots++;
+            return message;
+        }
+
+        StringBuilder delta = new StringBuilder(BOARD_DELTA);
+        for (int i = 0; i < count; i++) {
+            if (next[i] != last[i]) {
+                delta.append(' ').append(i).append(' ').append(next[i]);
+                last[i] = next[i];
+            }
+        }
+        deltas++;
+        return delta.toString();
+    }
+
+    /**
+     * Forget the last board sent, so the next one is sent in full. Call when the server may have lost track, such as
+     * after reconnecting.
+     */
+    public void reset() {
+        last = null;
+        sinceSnapshot = 0;
+    }
+
+    /**
+     * Apply a BOARD or BOARDDELTA message to a board, as the server would.
+     *
+     * @param board   cells of the board, column by column
+     * @param message message received
+     * @return false if the message could not be applied
+     */
+    public static boolean decode(int[] board, String message) {
+        String[] parts = message.trim().split(" ");
+        try {
+            if (parts[0].equals(BOARD)) {
+                if (parts.length - 1 != board.length) {
+                    return false;
+                }
+                for (int i = 0; i < board.length; i++) {
+                    board[i] = Integer.parseInt(parts[i + 1]);
+                }
+                return true;
+            }
+            if (parts[0].equals(BOARD_DELTA) && parts.length % 2 == 1) {
+                for (int i = 1; i < parts.length; i += 2) {
+                    board[Integer.parseInt(parts[i])] = Integer.parseInt(parts[i + 1]);
+                }
+                return true;
+            }
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            logger.warn("Bad board message: {}", message);
+        }
+        return false;
+    }
+
+    /**
+     * Read the cells of a BOARD message into next.
+     *
+     * @param message BOARD message
+     * @return number of cells
+     */
+    private int parse(String message) {
+        int count = 0;
+        int value = -1;
+        for (int i = BOARD.length(); i < message.length(); i++) {
+            char c = message.charAt(i);
+            if (c >= '0' && c <= '9') {
+                value = (value < 0 ? 0 : value * 10) + (c - '0');
+            } else if (value >= 0) {
+                count = add(count, value);
+                value = -1;
+            }
+        }
+        if (value >= 0) {
+            count = add(count, value);
+        }
+        return count;
+    }
+
+    /**
+     * Add a cell to next, growing it if needed.
+     *
+     * @param count number of cells so far
+     * @param value value of the cell
+     * @return number of cells now
+     */
+    private int add(int count, int value) {
+        if (count == next.length) {
+            next = Arrays.copyOf(next, Math.max(64, count * 2));
+        }
+        next[count] = value;
+        return count + 1;
+    }
+
+    /**
+     * Set the number of boards sent between full boards. 1 sends every board in full.
+     *
+     * @param snapshotInterval snapshot interval
+     */
+    public void setSnapshotInterval(int snapshotInterval) {
+        this.snapshotInterval = Math.max(1, snapshotInterval);
+    }
+
+    /**
+     * Get the number of full boards sent.
+     *
+     * @return full boards sent
+     */
+    public long getSnapshotCount() {
+        return snapshots;
+    }
+
+    /**
+     * Get the number of deltas sent.
+     *
+     * @return deltas sent
+     */
+    public long getDeltaCount() {
+        return deltas;
+    }
+
+    /**
+     * Get the number of boards not sent because nothing had changed.
+     *
+     * @return boards skipped
+     */
+    public long getSkippedCount() {
+        return skipped;
+    }
+}
@@ -0,0 +1,471 @@
+package uk.ac.soton.comp1206.network;
+
+import com.neovisionaries.ws.client.*;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import uk.ac.soton.comp1206.event.CommunicationsListener;
+import uk.ac.soton.comp1206.event.ConnectionStateListener;
+import uk.ac.soton.comp1206.event.MessageListener;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Uses web sockets to talk to a web socket server and relays communication to attached listeners
+ * YOU DO NOT NEED TO WORRY ABOUT THIS CLASS! Leave it be :-)
+ */
+public class Communicator {
+
+    private static final Logger logger = LogManager.getLogger(Communicator.class);
+
+    /**
+     * Attached communication listeners listening to messages on this Communicator. Each will be sent any messages.
+     */
+    private final List<CommunicationsListener> handlers = new CopyOnWriteArrayList<>();
+
+    /**
+     * Attached message listeners, by the command of the messages they are sent. Listeners are added from the FX
+     * thread while messages are routed on the socket's thread, so both tables are safe to change while being read.
+     */
+    private final Map<String, List<MessageListener>> routes = new ConcurrentHashMap<>();
+
+    /**
+     * Time between pings to the server, in milliseconds, or 0 for none.
+     */
+    private static final long PING_INTERVAL = Long.getLong("tetrecs.pingInterval", 5000);
+
+    /**
+     * Shortest and longest wait before reconnecting, in milliseconds. The wait doubles after each failed attempt.
+     */
+    private static final long MIN_BACKOFF = 500;
+    private static final long MAX_BACKOFF = 30_000;
+
+    /**
+     * Longest wait for the server to answer a close before the socket is closed anyway, in milliseconds.
+     */
+    private static final long CLOSE_DELAY = 10_000;
+
+    /**
+     * Timer for reconnect attempts, shared by every communicator.
+     */
+    private static final ScheduledExecutorService reconnects = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "communicator-reconnect");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Current socket. Replaced with a fresh one for each reconnect attempt.
+     */
+    private volatile WebSocket ws;
+
+    /**
+     * Messages waiting to be sent to the server.
+     */
+    private final OutboundQueue outbound;
+
+    /**
+     * Latency and traffic of the connection.
+     */
+    private final NetworkStats stats = new NetworkStats();
+
+    /**
+     * State of the connection, and the listeners told when it changes.
+     */
+    private volatile ConnectionState state = ConnectionState.CONNECTING;
+    private final List<ConnectionStateListener> connectionStateListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * The last socket which was lost.
+     */
+    private WebSocket lostSocket;
+
+    /**
+     * Whether any socket has connected yet.
+     */
+    private boolean everConnected = false;
+
+    /**
+     * Wait before the next reconnect attempt, in milliseconds.
+     */
+    private long backoff = MIN_BACKOFF;
+
+    /**
+     * Number of times the connection has been made again after being lost.
+     */
+    private final AtomicLong reconnectCount = new AtomicLong();
+
+    /**
+     * Create a new communicator to the given web socket server. Connecting happens in the background, so this returns
+     * straight away. Messages sent before the connection is made, or while it is being made again after being lost,
+     * are held and sent once connected.
+     *
+     * @param server server to connect to
+     * @throws IOException if the server address is not valid
+     */
+    public Communicator(String server) throws IOException {
+        this(server, PING_INTERVAL);
+    }
+
+    /**
+     * Create a new communicator to the given web socket server, pinging it at the given interval. Each socket which
+     * pings has a timer thread of its own, so clients run many to a process can turn pinging off.
+     *
+     * @param server       server to connect to
+     * @param pingInterval time between pings, in milliseconds, or 0 for none
+     * @throws IOException if the server address is not valid
+     */
+    public Communicator(String server, long pingInterval) throws IOException {
+        // Messages are sent from their own thread, and held until there is a socket
+        outbound = new OutboundQueue(null);
+        outbound.setNetworkStats(stats);
+
+        ws = new WebSocketFactory().createSocket(server);
+
+        //Pings carry the time they were sent, so their pong can be timed
+        ws.setPingPayloadGenerator(() -> ByteBuffer.allocate(Long.BYTES).putLong(System.nanoTime()).array());
+        ws.setPingInterval(pingInterval);
+
+        //When a message is received, call the receive method
+        ws.addListener(new WebSocketAdapter() {
+            @Override
+            public void onTextMessage(WebSocket websocket, String message) throws Exception {
+                Communicator.this.receive(message);
+            }
+
+            @Override
+            public void onPingFrame(WebSocket webSocket, WebSocketFrame webSocketFrame) throws Exception {
+                logger.debug("Ping? Pong!");
+            }
+
+            @Override
+            public void onPongFrame(WebSocket webSocket, WebSocketFrame frame) throws Exception {
+                byte[] payload = frame.getPayload();
+                if (payload != null && payload.length == Long.BYTES) {
+                    stats.pingTimed(System.nanoTime() - ByteBuffer.wrap(payload).getLong());
+                }
+            }
+        });
+
+        //Connection handling
+        ws.addListener(new WebSocketAdapter() {
+            @Override
+            public void onConnected(WebSocket webSocket, Map<String, List<String>> headers) throws Exception {
+                connected(webSocket);
+            }
+
+            @Override
+            public void onConnectError(WebSocket webSocket, WebSocketException e) throws Exception {
+                logger.error("Unable to connect to {}: {}", server, e.getMessage());
+                connectionLost(webSocket);
+            }
+
+            @Override
+            public void onDisconnected(WebSocket webSocket, WebSocketFrame serverCloseFrame,
+                                       WebSocketFrame clientCloseFrame, boolean closedByServer) throws Exception {
+                logger.warn("Disconnected from {}", server);
+                connectionLost(webSocket);
+            }
+        });
+
+        //Error handling
+        ws.addListener(new WebSocketAdapter() {
+            @Override
+            public void onTextMessage(WebSocket websocket, String message) throws Exception {
+                if (message.startsWith("ERROR")) {
+                    logger.error(message);
+                }
+            }
+
+            @Override
+            public void handleCallbackError(WebSocket webSocket, Throwable throwable) throws Exception {
+                logger.error("Callback Error:" + throwable.getMessage());
+                throwable.printStackTrace();
+            }
+
+            @Override
+            public void onError(WebSocket webSocket, WebSocketException e) throws Exception {
+                logger.debug("Error: {}", e.getMessage());
+            }
+        });
+
+        //Connect to the server
+        logger.info("Connecting to {}", server);
+        ws.connectAsynchronously();
+    }
+
+    /**
+     * Handle a socket connecting: send it the messages held, and reset the wait before reconnecting.
+     *
+     * @param socket the socket which connected
+     */
+    private synchronized void connected(WebSocket socket) {
+        if (socket != ws || state == ConnectionState.CLOSED) {
+            return;
+        }
+        logger.info("Connected to {}", socket.getURI());
+        if (everConnected) {
+            reconnectCount.incrementAndGet();
+        }
+        everConnected = true;
+        backoff = MIN_BACKOFF;
+        outbound.setSocket(socket);
+        setState(ConnectionState.CONNECTED);
+    }
+
+    /**
+     * Handle a socket failing to connect or losing its connection: hold messages, and try again after a jittered
+     * wait, so many clients dropped at once do not all come back at once.
+     *
+     * @param socket the socket which was lost
+     */
+    private synchronized void connectionLost(WebSocket socket) {
+        // Wake anyone waiting for the socket to close
+        notifyAll();
+        // A socket can report being lost more than once
+        if (socket != ws || socket == lostSocket || state == ConnectionState.CLOSED) {
+            return;
+        }
+        lostSocket = socket;
+        outbound.setSocket(null);
+        setState(ConnectionState.RECONNECTING);
+
+        long delay = ThreadLocalRandom.current().nextLong(backoff / 2, backoff + 1);
+        backoff = Math.min(MAX_BACKOFF, backoff * 2);
+        logger.info("Reconnecting in {} ms", delay);
+        reconnects.schedule(this::reconnect, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Try connecting again with a fresh socket.
+     */
+    private synchronized void reconnect() {
+        if (state == ConnectionState.CLOSED) {
+            return;
+        }
+        try {
+            ws = ws.recreate();
+            ws.connectAsynchronously();
+        } catch (IOException e) {
+            logger.error("Unable to reconnect: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Change the state of the connection and tell the listeners. Called holding the lock.
+     *
+     * @param state the new state
+     */
+    private void setState(ConnectionState state) {
+        if (this.state == state) {
+            return;
+        }
+        this.state = state;
+        notifyAll();
+        for (ConnectionStateListener listener : connectionStateListeners) {
+            listener.connectionStateChanged(state);
+        }
+    }
+
+    /**
+     * Get the state of the connection.
+     *
+     * @return connection state
+     */
+    public ConnectionState getState() {
+        return state;
+    }
+
+    /**
+     * Add a listener told when the state of the connection changes, on the socket's threads. Unlike message listeners,
+     * these are not removed by clearListeners.
+     *
+     * @param listener the listener
+     */
+    public void addConnectionStateListener(ConnectionStateListener listener) {
+        connectionStateListeners.add(listener);
+    }
+
+    /**
+     * Remove a connection state listener.
+     *
+     * @param listener the listener
+     */
+    public void removeConnectionStateListener(ConnectionStateListener listener) {
+        connectionStateListeners.remove(listener);
+    }
+
+    /**
+     * Wait for the connection to be made, for callers which cannot do anything until it is.
+     *
+     * @param timeout longest time to wait, in milliseconds
+     * @return whether connected
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean awaitConnected(long timeout) throws InterruptedException {
+        long end = System.currentTimeMillis() + timeout;
+        synchronized (this) {
+            while (state != ConnectionState.CONNECTED) {
+                long left = end - System.currentTimeMillis();
+                if (left <= 0 || state == ConnectionState.CLOSED) {
+                    return false;
+                }
+                wait(left);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Wait for the socket to finish closing after {@link #close}, so the server has answered the close before it is
+     * shut down itself.
+     *
+     * @param timeout longest time to wait, in milliseconds
+     * @return whether closed
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean awaitClosed(long timeout) throws InterruptedException {
+        long end = System.currentTimeMillis() + timeout;
+        synchronized (this) {
+            while (ws.getState() != WebSocketState.CLOSED && ws.getState() != WebSocketState.CREATED) {
+                long left = end - System.currentTimeMillis();
+                if (left <= 0) {
+                    return false;
+                }
+                wait(left);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the number of times the connection has been made again after being lost.
+     *
+     * @return reconnects
+     */
+    public long getReconnectCount() {
+        return reconnectCount.get();
+    }
+
+    /**
+     * Send a message to the server. The message is queued and sent from the outbound queue's thread, so this never
+     * waits on the socket.
+     *
+     * @param message Message to send
+     * @return false if the outbound queue was full and the message was dropped
+     */
+    public boolean send(String message) {
+        if (outbound.offer(message)) {
+            stats.requestSent(message);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Get the queue of messages waiting to be sent, for its metrics.
+     *
+     * @return the outbound queue
+     */
+    public OutboundQueue getOutboundQueue() {
+        return outbound;
+    }
+
+    /**
+     * Get the latency and traffic of the connection.
+     *
+     * @return network stats
+     */
+    public NetworkStats getStats() {
+        return stats;
+    }
+
+    /**
+     * Stop sending messages and disconnect from the server.
+     */
+    public void close() {
+        synchronized (this) {
+            setState(ConnectionState.CLOSED);
+        }
+        outbound.close();
+
+        WebSocket socket = ws;
+        if (socket.getState() != WebSocketState.OPEN) {
+            socket.disconnect();
+            return;
+        }
+        // The web socket's own disconnect can leave a close timer thread running for good when the server answers
+        // quickly, so send the close frame and only force the socket shut if no answer comes
+        socket.sendClose();
+        reconnects.schedule(() -> {
+            if (socket.getState() != WebSocketState.CLOSED) {
+                logger.warn("No answer to close from {}, closing the socket", socket.getURI());
+                try {
+                    socket.getSocket().close();
+                } catch (IOException e) {
+                    logger.error("Unable to close socket: {}", e.getMessage());
+                }
+            }
+        }, CLOSE_DELAY, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Add a new listener to receive messages from the server
+     *
+     * @param listener the listener to add
+     */
+    public void addListener(CommunicationsListener listener) {
+        this.handlers.add(listener);
+    }
+
+    /**
+     * Add a new listener to receive the messages with one command from the server. Each message is split into its
+     * command and payload once, however many listeners it is sent to.
+     *
+     * @param command  the command of the messages, such as PIECE
+     * @param listener the listener to add
+     */
+    public void addListener(String command, MessageListener listener) {
+        routes.computeIfAbsent(command, key -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    /**
+     * Clear all current listeners
+     */
+    public void clearListeners() {
+        this.handlers.clear();
+        this.routes.clear();
+    }
+
+    /**
+     * Receive a message from the server. Relay to any attached listeners, and to the listeners for its command
+     *
+     * @param message the message that was received
+     */
+    private void receive(String message) {
+        logger.debug("Received: {}", message);
+        Message parsed = Message.parse(message);
+        stats.messageReceived(parsed.getCommand(), message);
+
+        for (CommunicationsListener handler : handlers) {
+            handler.receiveCommunication(message);
+        }
+
+        List<MessageListener> listeners = routes.get(parsed.getCommand());
+        if (listeners != null) {
+            for (MessageListener listener : listeners) {
+                listener.receiveMessage(parsed);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,27 @@
+package uk.ac.soton.comp1206.network;
+
+/**
+ * The states of a Communicator's connection to the server.
+ */
+public enum ConnectionState {
+
+    /**
+     * Connecting for the first time
+     */
+    CONNECTING,
+
+    /**
+     * Connected, and sending messages
+     */
+    CONNECTED,
+
+    /**
+     * Lost the connection, and waiting to try again. Messages are held until connected
+     */
+    RECONNECTING,
+
+    /**
+     * Closed, and no longer connecting
+     */
+    CLOSED
+}
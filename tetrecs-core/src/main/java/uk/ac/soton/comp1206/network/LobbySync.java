@@ -0,0 +1,278 @@
+package uk.ac.soton.comp1206.network;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import uk.ac.soton.comp1206.event.ChannelListListener;
+import uk.ac.soton.comp1206.event.MessageListener;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lobby Sync keeps the lobby's list of channels up to date without polling the server any more than it has to.
+ * <p>
+ * Every CHANNELS message which arrives, whether asked for or pushed by the server, counts as fresh and puts off the
+ * next LIST. LIST is sent every second while the player is using the lobby, every four seconds once they stop, backing
+ * off to every sixteen while the list stays the same, and not at all while the window is unfocused. Lobby events which
+ * are likely to change the list, like joining or leaving a channel, ask for it straight away. A list identical to the
+ * last one is recognised by its hash and goes no further, so only real changes reach the listener.
+ */
+public class LobbySync {
+
+    private static final Logger logger = LogManager.getLogger(LobbySync.class);
+
+    /**
+     * Time between polls while the player is using the lobby, in milliseconds.
+     */
+    public static final long ACTIVE_INTERVAL = 1000;
+
+    /**
+     * Time between polls once the player is idle, in milliseconds. Doubles each time the list is unchanged.
+     */
+    public static final long IDLE_INTERVAL = 4000;
+
+    /**
+     * Longest time between polls, in milliseconds.
+     */
+    public static final long MAX_INTERVAL = 16_000;
+
+    /**
+     * How long after the last interaction the player still counts as using the lobby, in nanoseconds.
+     */
+    private static final long ACTIVE_PERIOD = 10_000_000_000L;
+
+    /**
+     * Timer for polls, shared by every lobby.
+     */
+    private static final ScheduledExecutorService polls = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "lobby-sync");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Communicator to poll through.
+     */
+    private final Communicator communicator;
+
+    /**
+     * Delivers changed lists to the listener.
+     */
+    private final MessageListener changed;
+
+    /**
+     * Listener for the list changing.
+     */
+    private volatile ChannelListListener channelListListener;
+
+    /**
+     * Whether polling has been started and not stopped, and whether the window has focus.
+     */
+    private boolean running = false;
+    private boolean focused = true;
+
+    /**
+     * The next poll, if one is scheduled.
+     */
+    private ScheduledFuture<?> next;
+
+    /**
+     * When the player last interacted with the lobby.
+     */
+    private long lastInteraction = System.nanoTime();
+
+    /**
+     * Hash and text of the last list delivered, or null before the first.
+     */
+    private int lastHash;
+    private String lastText;
+
+    /**
+     * Number of lists in a row which were the same as the one before.
+     */
+    private int unchanged = 0;
+
+    /**
+     * Metrics.
+     */
+    private long pollCount = 0;
+    private long skippedCount = 0;
+
+    /**
+     * Create a new Lobby Sync. Nothing is sent until it is started.
+     *
+     * @param communicator communicator to poll through
+     * @param executor     executor to call the listener on, such as the FX thread
+     */
+    public LobbySync(Communicator communicator, Executor executor) {
+        this.communicator = communicator;
+        Mailbox mailbox = new Mailbox(executor, communicator.getStats());
+        changed = mailbox.deliverLatest(message -> {
+            ChannelListListener listener = channelListListener;
+            if (listener != null) {
+                listener.channelsChanged(message.getLines());
+            }
+        });
+        communicator.addListener("CHANNELS", this::received);
+    }
+
+    /**
+     * Set the listener for the list changing.
+     *
+     * @param listener listener to call with each new list
+     */
+    public void setOnChannelsChanged(ChannelListListener listener) {
+        this.channelListListener = listener;
+    }
+
+    /**
+     * Start polling, asking for the list straight away.
+     */
+    public synchronized void start() {
+        running = true;
+        poll();
+    }
+
+    /**
+     * Stop polling.
+     */
+    public synchronized void stop() {
+        running = false;
+        cancel();
+    }
+
+    /**
+     * Ask for the list straight away, such as after something which is likely to have changed it.
+     */
+    public synchronized void refresh() {
+        poll();
+    }
+
+    /**
+     * Record the player interacting with the lobby, polling sooner if they had been idle.
+     */
+    public synchronized void interacted() {
+        long now = System.nanoTime();
+        boolean wasIdle = now - lastInteraction >= ACTIVE_PERIOD;
+        lastInteraction = now;
+        if (wasIdle) {
+            schedule(ACTIVE_INTERVAL);
+        }
+    }
+
+    /**
+     * Set whether the window has focus. Polling is suspended without it, and asks for the list straight away when
+     * focus returns.
+     *
+     * @param focused whether the window has focus
+     */
+    public synchronized void setFocused(boolean focused) {
+        if (this.focused == focused) {
+            return;
+        }
+        this.focused = focused;
+        if (focused) {
+            poll();
+        } else {
+            cancel();
+        }
+    }
+
+    /**
+     * Send LIST now, and schedule another in case no reply comes.
+     */
+    private synchronized void poll() {
+        if (!running || !focused) {
+            return;
+        }
+        pollCount++;
+        logger.debug("Polling channel list");
+        communicator.send("LIST");
+        schedule(getInterval());
+    }
+
+    /**
+     * Handle a list of channels, asked for or not, passing it on if it has changed.
+     *
+     * @param message CHANNELS message
+     */
+    private void received(Message message) {
+        int hash = 0;
+        for (int i = 0; i < message.length(); i++) {
+            hash = 31 * hash + message.charAt(i);
+        }
+
+        synchronized (this) {
+            if (!running) {
+                return;
+            }
+            if (lastText != null && hash == lastHash && lastText.contentEquals(message)) {
+                unchanged++;
+                skippedCount++;
+            } else {
+                unchanged = 0;
+                lastHash = hash;
+                lastText = message.toString();
+                changed.receiveMessage(message);
+            }
+            // This list is fresh, so the next poll can wait
+            schedule(getInterval());
+        }
+    }
+
+    /**
+     * Replace the next poll with one after a delay.
+     *
+     * @param delay delay in milliseconds
+     */
+    private void schedule(long delay) {
+        cancel();
+        if (running && focused) {
+            next = polls.schedule(this::poll, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Cancel the next poll.
+     */
+    private void cancel() {
+        if (next != null) {
+            next.cancel(false);
+            next = null;
+        }
+    }
+
+    /**
+     * Get the time until the next poll after a list arrives, which depends on whether the player is using the lobby and
+     * how long the list has stayed the same.
+     *
+     * @return interval in milliseconds
+     */
+    public synchronized long getInterval() {
+        if (System.nanoTime() - lastInteraction < ACTIVE_PERIOD) {
+            return ACTIVE_INTERVAL;
+        }
+        return Math.min(MAX_INTERVAL, IDLE_INTERVAL << Math.min(unchanged, 2));
+    }
+
+    /**
+     * Get the number of times LIST has been sent.
+     *
+     * @return polls
+     */
+    public synchronized long getPollCount() {
+        return pollCount;
+    }
+
+    /**
+     * Get the number of lists which were the same as the one before, and so were not passed on.
+     *
+     * @return lists skipped
+     */
+    public synchronized long getSkippedCount() {
+        return skippedCount;
+    }
+}
@@ -0,0 +1,244 @@
+package uk.ac.soton.comp1206.network;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import uk.ac.soton.comp1206.event.MessageListener;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A Mailbox collects messages arriving on the socket's thread and hands them to their listeners on another thread,
+ * such as the FX thread, in batches.
+ * <p>
+ * Rather than one task per message, the executor is given one task which delivers everything waiting, and no other
+ * until that has run, so a burst of messages costs the FX thread one task per pulse. Messages which are a complete
+ * picture of some state, like SCORES or CHANNELS, can be delivered with {@link #deliverLatest}, so any still waiting
+ * when another arrives are replaced by it rather than delivered in turn. If the mailbox is full, messages are dropped
+ * and counted rather than letting the backlog grow without limit.
+ */
+public class Mailbox {
+
+    private static final Logger logger = LogManager.getLogger(Mailbox.class);
+
+    /**
+     * Default number of messages which can wait to be delivered.
+     */
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    /**
+     * Executor deliveries are run on.
+     */
+    private final Executor executor;
+
+    /**
+     * Number of messages which can wait to be delivered.
+     */
+    private final int capacity;
+
+    /**
+     * Stats to count coalesced and dropped messages in, or null.
+     */
+    private final NetworkStats stats;
+
+    /**
+     * Deliveries waiting, in the order their messages arrived.
+     */
+    private final ConcurrentLinkedQueue<Runnable> waiting = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger depth = new AtomicInteger();
+
+    /**
+     * Whether a task to deliver the waiting messages has been given to the executor and not yet run.
+     */
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    /**
+     * Metrics.
+     */
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong drains = new AtomicLong();
+    private volatile int maxDepth = 0;
+
+    /**
+     * Create a new Mailbox with the default capacity.
+     *
+     * @param executor executor to deliver messages on
+     * @param stats    stats to count coalesced and dropped messages in, or null
+     */
+    public Mailbox(Executor executor, NetworkStats stats) {
+        this(executor, stats, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create a new Mailbox.
+     *
+     * @param executor executor to deliver messages on
+     * @param stats    stats to count coalesced and dropped messages in, or null
+     * @param capacity number of messages which can wait to be delivered
+     */
+    public Mailbox(Executor executor, NetworkStats stats, int capacity) {
+        this.executor = executor;
+        this.stats = stats;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Wrap a listener so every message is delivered to it through this mailbox, in order.
+     *
+     * @param listener listener to deliver to
+     * @return listener to add to the Communicator
+     */
+    public MessageListener deliver(MessageListener listener) {
+        return message -> offer(() -> listener.receiveMessage(message));
+    }
+
+    /**
+     * Wrap a listener so only the latest of its messages waiting is delivered. The message is delivered in the place
+     * of the first one which arrived while waiting.
+     *
+     * @param listener listener to deliver to
+     * @return listener to add to the Communicator
+     */
+    public MessageListener deliverLatest(MessageListener listener) {
+        AtomicReference<Message> latest = new AtomicReference<>();
+        return message -> {
+            if (latest.getAndSet(message) != null) {
+                // Already waiting, and will now deliver this one instead
+                coalesced();
+                return;
+            }
+            boolean queued = offer(() -> {
+                Message current = latest.getAndSet(null);
+                if (current != null) {
+                    listener.receiveMessage(current);
+                }
+            });
+            if (!queued) {
+                latest.set(null);
+            }
+        };
+    }
+
+    /**
+     * Queue a delivery and make sure a drain is scheduled.
+     *
+     * @param delivery the delivery
+     * @return false if the mailbox was full and the message was dropped
+     */
+    private boolean offer(Runnable delivery) {
+        int size = depth.incrementAndGet();
+        if (size > capacity) {
+            depth.decrementAndGet();
+            if (dropped.incrementAndGet() == 1) {
+                logger.warn("Mailbox full, dropping messages");
+            }
+            if (stats != null) {
+                stats.inboundDropped();
+            }
+            return false;
+        }
+        if (size > maxDepth) {
+            maxDepth = size;
+        }
+
+        waiting.add(delivery);
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+        return true;
+    }
+
+    /**
+     * Count a message replaced by a later one.
+     */
+    private void coalesced() {
+        coalesced.incrementAndGet();
+        if (stats != null) {
+            stats.inboundCoalesced();
+        }
+    }
+
+    /**
+     * Deliver the messages waiting. Messages arriving meanwhile are left for the next drain, so a flood cannot keep
+     * the executor's thread here.
+     */
+    private void drain() {
+        // Anything queued from now on schedules another drain
+        scheduled.set(false);
+        drains.incrementAndGet();
+
+        for (int i = depth.get(); i > 0; i--) {
+            Runnable delivery = waiting.poll();
+            if (delivery == null) {
+                break;
+            }
+            depth.decrementAndGet();
+            try {
+                delivery.run();
+                delivered.incrementAndGet();
+            } catch (Exception e) {
+                logger.error("Unable to deliver message: {}", e.toString());
+            }
+        }
+    }
+
+    /**
+     * Get the number of messages waiting to be delivered.
+     *
+     * @return depth
+     */
+    public int getDepth() {
+        return depth.get();
+    }
+
+    /**
+     * Get the most messages which have been waiting at once.
+     *
+     * @return maximum depth
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Get the number of messages delivered.
+     *
+     * @return messages delivered
+     */
+    public long getDeliveredCount() {
+        return delivered.get();
+    }
+
+    /**
+     * Get the number of messages replaced by a later one before they were delivered.
+     *
+     * @return messages coalesced
+     */
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    /**
+     * Get the number of messages dropped because the mailbox was full.
+     *
+     * @return messages dropped
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Get the number of times waiting messages were delivered, which is the number of tasks given to the executor.
+     *
+     * @return drains
+     */
+    public long getDrainCount() {
+        return drains.get();
+    }
+}
@@ -0,0 +1,262 @@
+package uk.ac.soton.comp1206.network;
+
+import uk.ac.soton.comp1206.game.PlayerScore;
+
+import java.util.ArrayList;
+
+/**
+ * A Message is a message received from the server, split once into its command and its payload.
+ * <p>
+ * The payload is not copied out of the message. The Message is a CharSequence view over it, and its parsers read the
+ * view in place, so a message can be handed to several handlers without any of them splitting it again.
+ */
+public final class Message implements CharSequence {
+
+    /**
+     * The whole message as received.
+     */
+    private final String text;
+
+    /**
+     * The command, such as PIECE or SCORES.
+     */
+    private final String command;
+
+    /**
+     * Where the payload starts and ends in the text, with surrounding whitespace left out.
+     */
+    private final int start;
+    private final int end;
+
+    /**
+     * Create a new Message view.
+     *
+     * @param text    the whole message
+     * @param command the command
+     * @param start   where the payload starts
+     * @param end     where the payload ends
+     */
+    private Message(String text, String command, int start, int end) {
+        this.text = text;
+        this.command = command;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Split a message into its command and payload. Whitespace around the message and the payload is ignored.
+     *
+     * @param text message received
+     * @return the parsed message
+     */
+    public static Message parse(String text) {
+        int start = skipWhitespace(text, 0, text.length());
+        int end = trimEnd(text, start, text.length());
+
+        int space = start;
+        while (space < end && text.charAt(space) != ' ') {
+            space++;
+        }
+        String command = text.substring(start, space);
+        int payloadStart = skipWhitespace(text, space, end);
+        return new Message(text, command, payloadStart, end);
+    }
+
+    /**
+     * Get the command of the message.
+     *
+     * @return command
+     */
+    public String getCommand() {
+        return command;
+    }
+
+    /**
+     * Get the whole message as received.
+     *
+     * @return message text
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Get the length of the payload.
+     *
+     * @return payload length
+     */
+    @Override
+    public int length() {
+        return end - start;
+    }
+
+    /**
+     * Get a character of the payload.
+     *
+     * @param index index into the payload
+     * @return the character
+     */
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length()) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return text.charAt(start + index);
+    }
+
+    /**
+     * Get part of the payload.
+     *
+     * @param from start index into the payload
+     * @param to   end index into the payload
+     * @return the part of the payload
+     */
+    @Override
+    public CharSequence subSequence(int from, int to) {
+        if (from < 0 || from > to || to > length()) {
+            throw new IndexOutOfBoundsException("from " + from + ", to " + to + ", length " + length());
+        }
+        return text.substring(start + from, start + to);
+    }
+
+    /**
+     * Get the payload as a string.
+     *
+     * @return payload
+     */
+    @Override
+    public String toString() {
+        return text.substring(start, end);
+    }
+
+    /**
+     * Read the payload as a whole number.
+     *
+     * @return the number
+     * @throws NumberFormatException if the payload is not a number
+     */
+    public int parseInt() {
+        return Integer.parseInt(text, start, end, 10);
+    }
+
+    /**
+     * Read the payload as lines, skipping empty ones. Any line ending is accepted.
+     *
+     * @return the lines
+     */
+    public ArrayList<String> getLines() {
+        ArrayList<String> lines = new ArrayList<>();
+        int from = start;
+        while (from < end) {
+            int to = lineEnd(from);
+            if (to > from) {
+                lines.add(text.substring(from, to));
+            }
+            from = nextLine(to);
+        }
+        return lines;
+    }
+
+    /**
+     * Read the payload as lines of name:score, as sent with SCORES and HISCORES. Anything after the score, such as the
+     * lives sent with SCORES, is ignored, and lines without a score are skipped.
+     *
+     * @return the scores, in the order received
+     * @throws NumberFormatException if a score is not a number
+     */
+    public ArrayList<PlayerScore> getScores() {
+        ArrayList<PlayerScore> scores = new ArrayList<>();
+        int from = start;
+        while (from < end) {
+            int to = lineEnd(from);
+            int colon = indexOf(':', from, to);
+            if (colon >= 0) {
+                int scoreEnd = indexOf(':', colon + 1, to);
+                if (scoreEnd < 0) {
+                    scoreEnd = to;
+                }
+                int score = Integer.parseInt(text, colon + 1, scoreEnd, 10);
+                scores.add(new PlayerScore(text.substring(from, colon), score));
+            }
+            from = nextLine(to);
+        }
+        return scores;
+    }
+
+    /**
+     * Find where the line starting at an index ends.
+     *
+     * @param from start of the line
+     * @return index of the line ending, or the end of the payload
+     */
+    private int lineEnd(int from) {
+        int to = from;
+        while (to < end && text.charAt(to) != '\n' && text.charAt(to) != '\r') {
+            to++;
+        }
+        return to;
+    }
+
+    /**
+     * Step over a line ending.
+     *
+     * @param index index of the line ending
+     * @return start of the next line
+     */
+    private int nextLine(int index) {
+        if (index < end && text.charAt(index) == '\r') {
+            index++;
+        }
+        if (index < end && text.charAt(index) == '\n') {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Find a character between two indexes of the text.
+     *
+     * @param c    character to find
+     * @param from index to search from
+     * @param to   index to search up to
+     * @return index of the character, or -1 if it is not there
+     */
+    private int indexOf(char c, int from, int to) {
+        for (int index = from; index < to; index++) {
+            if (text.charAt(index) == c) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Skip whitespace forwards.
+     *
+     * @param text  text to read
+     * @param index index to start at
+     * @param end   index to stop at
+     * @return index of the first character which is not whitespace
+     */
+    private static int skipWhitespace(String text, int index, int end) {
+        while (index < end && Character.isWhitespace(text.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Skip whitespace backwards.
+     *
+     * @param text  text to read
+     * @param start index to stop at
+     * @param index index to end at
+     * @return index after the last character which is not whitespace
+     */
+    private static int trimEnd(String text, int start, int index) {
+        while (index > start && Character.isWhitespace(text.charAt(index - 1))) {
+            index--;
+        }
+        return index;
+    }
+}
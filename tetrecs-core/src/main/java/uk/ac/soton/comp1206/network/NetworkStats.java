@@ -0,0 +1,276 @@
+package uk.ac.soton.comp1206.network;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToLongFunction;
+
+/**
+ * Network Stats measures a Communicator's traffic: how long each request takes to be answered, how many messages and
+ * bytes go each way per second, and the round trip time of web socket pings.
+ * <p>
+ * The server answers PIECE, HISCORES and LIST requests in the order they were sent, so each reply is timed against the
+ * oldest request of its kind still waiting, unless that is so old it must have been refused. Everything is recorded
+ * without locking, from whichever thread sends or receives, and can be read from any thread, including over JMX once
+ * registered. Bytes are counted one per character, as the protocol is ASCII.
+ */
+public class NetworkStats implements NetworkStatsMXBean {
+
+    private static final Logger logger = LogManager.getLogger(NetworkStats.class);
+
+    /**
+     * Requests timed, and the command of their reply.
+     */
+    private static final Map<String, String> TIMED = Map.of("PIECE", "PIECE", "HISCORES", "HISCORES",
+            "LIST", "CHANNELS");
+
+    /**
+     * Age after which a request is assumed to have been answered with an ERROR instead, in nanoseconds.
+     */
+    private static final long STALE = 10_000_000_000L;
+
+    /**
+     * When each timed request still waiting for a reply was sent, by the command of the reply.
+     */
+    private final Map<String, ConcurrentLinkedQueue<Long>> pending = new LinkedHashMap<>();
+
+    /**
+     * Latency of each timed reply in microseconds, by its command.
+     */
+    private final Map<String, LatencyHistogram> latencies = new LinkedHashMap<>();
+
+    /**
+     * Round trip time of web socket pings in microseconds.
+     */
+    private final LatencyHistogram pings = new LatencyHistogram();
+
+    /**
+     * Traffic in each direction.
+     */
+    private final RateMeter messagesSent = new RateMeter();
+    private final RateMeter messagesReceived = new RateMeter();
+    private final RateMeter bytesSent = new RateMeter();
+    private final RateMeter bytesReceived = new RateMeter();
+
+    /**
+     * Inbound messages replaced by a later one, or dropped, before reaching their listener.
+     */
+    private final AtomicLong inboundCoalesced = new AtomicLong();
+    private final AtomicLong inboundDropped = new AtomicLong();
+
+    /**
+     * Create new Network Stats.
+     */
+    public NetworkStats() {
+        for (String reply : TIMED.values()) {
+            pending.put(reply, new ConcurrentLinkedQueue<>());
+            latencies.put(reply, new LatencyHistogram());
+        }
+    }
+
+    /**
+     * Record a request being sent, if it is one which is timed.
+     *
+     * @param message message being sent
+     */
+    public void requestSent(String message) {
+        String reply = TIMED.get(message);
+        if (reply != null) {
+            pending.get(reply).add(System.nanoTime());
+        }
+    }
+
+    /**
+     * Record a message going out on the socket.
+     *
+     * @param message message sent
+     */
+    public void messageSent(String message) {
+        long now = System.nanoTime();
+        messagesSent.record(1, now);
+        bytesSent.record(message.length(), now);
+    }
+
+    /**
+     * Record a message arriving, timing it if it is the reply to a timed request.
+     *
+     * @param command command of the message
+     * @param message whole message
+     */
+    public void messageReceived(String command, String message) {
+        long now = System.nanoTime();
+        messagesReceived.record(1, now);
+        bytesReceived.record(message.length(), now);
+
+        ConcurrentLinkedQueue<Long> times = pending.get(command);
+        if (times != null) {
+            // Skip requests which were refused, so they are not matched to later replies
+            Long sent = times.poll();
+            while (sent != null && now - sent > STALE) {
+                sent = times.poll();
+            }
+            if (sent != null) {
+                latencies.get(command).record((now - sent) / 1000);
+            }
+        }
+    }
+
+    /**
+     * Record the round trip time of a ping.
+     *
+     * @param nanos round trip time in nanoseconds
+     */
+    public void pingTimed(long nanos) {
+        pings.record(nanos / 1000);
+    }
+
+    /**
+     * Record an inbound message replaced by a later one before reaching its listener.
+     */
+    public void inboundCoalesced() {
+        inboundCoalesced.incrementAndGet();
+    }
+
+    /**
+     * Record an inbound message dropped because its listener had fallen too far behind.
+     */
+    public void inboundDropped() {
+        inboundDropped.incrementAndGet();
+    }
+
+    /**
+     * Register with the platform MBean server, to be seen in a JMX console.
+     *
+     * @param name name to register under
+     */
+    public void register(String name) {
+        try {
+            ObjectName objectName = new ObjectName("uk.ac.soton.comp1206:type=NetworkStats,name=" + name);
+            if (!ManagementFactory.getPlatformMBeanServer().isRegistered(objectName)) {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+            }
+        } catch (JMException e) {
+            logger.error("Unable to register network stats: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Get the commands of the replies timed.
+     *
+     * @return reply commands
+     */
+    public static Collection<String> getTimedReplies() {
+        return TIMED.values();
+    }
+
+    /**
+     * Get the latencies of a reply.
+     *
+     * @param reply command of the reply
+     * @return latencies in microseconds, or null if the reply is not timed
+     */
+    public LatencyHistogram getLatency(String reply) {
+        return latencies.get(reply);
+    }
+
+    /**
+     * Get the round trip times of pings.
+     *
+     * @return round trip times in microseconds
+     */
+    public LatencyHistogram getPings() {
+        return pings;
+    }
+
+    @Override
+    public long getMessagesSent() {
+        return messagesSent.getTotal();
+    }
+
+    @Override
+    public long getMessagesReceived() {
+        return messagesReceived.getTotal();
+    }
+
+    @Override
+    public long getBytesSent() {
+        return bytesSent.getTotal();
+    }
+
+    @Override
+    public long getBytesReceived() {
+        return bytesReceived.getTotal();
+    }
+
+    @Override
+    public double getSendRate() {
+        return messagesSent.getRate(System.nanoTime());
+    }
+
+    @Override
+    public double getReceiveRate() {
+        return messagesReceived.getRate(System.nanoTime());
+    }
+
+    @Override
+    public double getSendByteRate() {
+        return bytesSent.getRate(System.nanoTime());
+    }
+
+    @Override
+    public double getReceiveByteRate() {
+        return bytesReceived.getRate(System.nanoTime());
+    }
+
+    @Override
+    public long getInboundCoalesced() {
+        return inboundCoalesced.get();
+    }
+
+    @Override
+    public long getInboundDropped() {
+        return inboundDropped.get();
+    }
+
+    @Override
+    public long getPingMedian() {
+        return pings.getPercentile(50);
+    }
+
+    @Override
+    public Map<String, Long> getLatencyCounts() {
+        return summarise(LatencyHistogram::getCount);
+    }
+
+    @Override
+    public Map<String, Long> getLatencyMedians() {
+        return summarise(histogram -> histogram.getPercentile(50));
+    }
+
+    @Override
+    public Map<String, Long> getLatency99thPercentiles() {
+        return summarise(histogram -> histogram.getPercentile(99));
+    }
+
+    /**
+     * Summarise each reply's latencies.
+     *
+     * @param summary summary of a histogram
+     * @return summaries by the command of the reply
+     */
+    private Map<String, Long> summarise(ToLongFunction<LatencyHistogram> summary) {
+        Map<String, Long> summaries = new LinkedHashMap<>();
+        for (Map.Entry<String, LatencyHistogram> entry : latencies.entrySet()) {
+            summaries.put(entry.getKey(), summary.applyAsLong(entry.getValue()));
+        }
+        return summaries;
+    }
+}
@@ -0,0 +1,107 @@
+package uk.ac.soton.comp1206.network;
+
+import java.util.Map;
+
+/**
+ * The management interface of NetworkStats, for viewing a Communicator's traffic and latency in a JMX console.
+ */
+public interface NetworkStatsMXBean {
+
+    /**
+     * Get the number of messages sent.
+     *
+     * @return messages sent
+     */
+    long getMessagesSent();
+
+    /**
+     * Get the number of messages received.
+     *
+     * @return messages received
+     */
+    long getMessagesReceived();
+
+    /**
+     * Get the number of bytes sent.
+     *
+     * @return bytes sent
+     */
+    long getBytesSent();
+
+    /**
+     * Get the number of bytes received.
+     *
+     * @return bytes received
+     */
+    long getBytesReceived();
+
+    /**
+     * Get the recent rate of messages sent.
+     *
+     * @return messages per second
+     */
+    double getSendRate();
+
+    /**
+     * Get the recent rate of messages received.
+     *
+     * @return messages per second
+     */
+    double getReceiveRate();
+
+    /**
+     * Get the recent rate of bytes sent.
+     *
+     * @return bytes per second
+     */
+    double getSendByteRate();
+
+    /**
+     * Get the recent rate of bytes received.
+     *
+     * @return bytes per second
+     */
+    double getReceiveByteRate();
+
+    /**
+     * Get the number of inbound messages replaced by a later one before reaching their listener.
+     *
+     * @return messages coalesced
+     */
+    long getInboundCoalesced();
+
+    /**
+     * Get the number of inbound messages dropped because their listener had fallen too far behind.
+     *
+     * @return messages dropped
+     */
+    long getInboundDropped();
+
+    /**
+     * Get the median web socket ping round trip time.
+     *
+     * @return round trip time in microseconds
+     */
+    long getPingMedian();
+
+    /**
+     * Get the number of replies timed, by the command of the reply.
+     *
+     * @return reply counts
+     */
+    Map<String, Long> getLatencyCounts();
+
+    /**
+     * Get the median latency of each reply.
+     *
+     * @return median latencies in microseconds, by the command of the reply
+     */
+    Map<String, Long> getLatencyMedians();
+
+    /**
+     * Get the 99th percentile latency of each reply.
+     *
+     * @return 99th percentile latencies in microseconds, by the command of the reply
+     */
+    Map<String, Long> getLatency99thPercentiles();
+}
@@ -0,0 +1,402 @@
+package uk.ac.soton.comp1206.network;
+
+import com.neovisionaries.ws.client.WebSocket;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The Outbound Queue takes messages from any thread and sends them to the server from its own thread, so a slow socket
+ * never holds up the thread sending a message, which is usually the FX thread.
+ * <p>
+ * Messages wait in a bounded queue. When the sender thread wakes it lingers briefly so messages sent together, like a
+ * burst of PIECE requests, go out as one batch followed by a single flush. Only the latest BOARD message matters, so
+ * BOARD messages are not queued: each one replaces the last one still waiting, and the one sent goes through a
+ * BoardEncoder so an unchanged board is not sent at all. While there is no socket, the sender holds the messages it has
+ * taken in order and sends them before anything queued after them. If the queue is full the message is dropped and
+ * counted rather than blocking the caller.
+ */
+public class OutboundQueue {
+
+    private static final Logger logger = LogManager.getLogger(OutboundQueue.class);
+
+    /**
+     * Prefix of the messages which replace any earlier one still waiting.
+     */
+    private static final String BOARD = "BOARD ";
+
+    /**
+     * Placed on the queue to wake the sender when only a BOARD message is waiting.
+     */
+    private static final String WAKE = new String("WAKE");
+
+    /**
+     * Default number of messages which can wait to be sent.
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    /**
+     * Default time to wait for more messages before sending a batch, in milliseconds.
+     */
+    public static final long DEFAULT_LINGER = 2;
+
+    /**
+     * Longest wait before looking at the socket again while holding messages, in nanoseconds. Setting a socket ends
+     * the wait early.
+     */
+    private static final long HOLD_WAIT = 100_000_000L;
+
+    /**
+     * Messages waiting to be sent.
+     */
+    private final ArrayBlockingQueue<String> queue;
+
+    /**
+     * Number of messages which can wait to be sent, queued and held together.
+     */
+    private final int capacity;
+
+    /**
+     * The latest BOARD message waiting to be sent.
+     */
+    private final AtomicReference<String> board = new AtomicReference<>();
+
+    /**
+     * Encodes BOARD messages against the last board sent. Only used by the sender thread, apart from its settings.
+     */
+    private final BoardEncoder boardEncoder = new BoardEncoder();
+
+    /**
+     * Messages being sent in the current batch. Only used by the sender thread.
+     */
+    private final ArrayList<String> batch = new ArrayList<>();
+
+    /**
+     * Messages taken off the queue while there was no socket, oldest first, to be sent before anything still queued.
+     * Only used by the sender thread.
+     */
+    private final ArrayDeque<String> held = new ArrayDeque<>();
+
+    /**
+     * Thread sending the messages.
+     */
+    private final Thread sender;
+
+    /**
+     * Socket to send to, or null to hold messages until there is one.
+     */
+    private volatile WebSocket socket;
+
+    /**
+     * Time to wait for more messages before sending a batch, in milliseconds.
+     */
+    private volatile long linger = DEFAULT_LINGER;
+
+    /**
+     * Set when the socket is replaced, so the sender forgets the last board sent on the old one.
+     */
+    private volatile boolean newSocket = false;
+
+    /**
+     * Stats to record each message sent in, or null.
+     */
+    private volatile NetworkStats stats;
+
+    /**
+     * Whether the sender should keep running.
+     */
+    private volatile boolean running = true;
+
+    /**
+     * Metrics.
+     */
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile int maxDepth = 0;
+    private volatile int heldDepth = 0;
+
+    /**
+     * Create a new Outbound Queue with the default capacity.
+     *
+     * @param socket socket to send to, or null to hold messages until one is set
+     */
+    public OutboundQueue(WebSocket socket) {
+        this(socket, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create a new Outbound Queue and start its sender thread.
+     *
+     * @param socket   socket to send to, or null to hold messages until one is set
+     * @param capacity number of messages which can wait to be sent
+     */
+    public OutboundQueue(WebSocket socket, int capacity) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.capacity = capacity;
+        setSocket(socket);
+
+        sender = new Thread(this::run, "outbound-queue");
+        sender.setDaemon(true);
+        sender.start();
+    }
+
+    /**
+     * Queue a message to be sent. Never blocks.
+     *
+     * @param message message to send
+     * @return false if the queue was full and the message was dropped
+     */
+    public boolean offer(String message) {
+        if (message.startsWith(BOARD)) {
+            if (board.getAndSet(message) != null) {
+                coalesced.incrementAndGet();
+                return true;
+            }
+            // Wake the sender, if it is not already awake
+            queue.offer(WAKE);
+            return true;
+        }
+
+        if (queue.size() + heldDepth >= capacity || !queue.offer(message)) {
+            dropped.incrementAndGet();
+            logger.warn("Outbound queue full, dropping message: {}", message);
+            return false;
+        }
+
+        int depth = queue.size() + heldDepth;
+        if (depth > maxDepth) {
+            maxDepth = depth;
+        }
+        return true;
+    }
+
+    /**
+     * Set the socket messages are sent to. Messages are held while the socket is null or closed. The first board sent
+     * on a new socket is sent in full.
+     *
+     * @param socket socket to send to
+     */
+    public void setSocket(WebSocket socket) {
+        if (socket != null) {
+            // Each batch is flushed once it has been written
+            socket.setAutoFlush(false);
+            newSocket = true;
+        }
+        this.socket = socket;
+        queue.offer(WAKE);
+        if (sender != null) {
+            LockSupport.unpark(sender);
+        }
+    }
+
+    /**
+     * Get the encoder used for BOARD messages, to set its snapshot interval or read its metrics.
+     *
+     * @return the board encoder
+     */
+    public BoardEncoder getBoardEncoder() {
+        return boardEncoder;
+    }
+
+    /**
+     * Set the stats to record each message sent in.
+     *
+     * @param stats network stats, or null for none
+     */
+    public void setNetworkStats(NetworkStats stats) {
+        this.stats = stats;
+    }
+
+    /**
+     * Set the time to wait for more messages before sending a batch.
+     *
+     * @param linger linger time in milliseconds, 0 to send straight away
+     */
+    public void setLinger(long linger) {
+        this.linger = linger;
+    }
+
+    /**
+     * Stop the sender thread. Messages still waiting are not sent.
+     */
+    public void close() {
+        running = false;
+        sender.interrupt();
+    }
+
+    /**
+     * Send batches of messages until closed.
+     */
+    private void run() {
+        while (running) {
+            try {
+                // Wait for a message, or for a socket to be set, unless messages are already held
+                String first = null;
+                if (held.isEmpty()) {
+                    first = queue.poll(1, TimeUnit.SECONDS);
+                    if (first == null && board.get() == null) {
+                        continue;
+                    }
+                }
+
+                // Hold on while there is nothing to send to
+                WebSocket socket = this.socket;
+                if (socket == null || !socket.isOpen()) {
+                    hold(first);
+                    LockSupport.parkNanos(HOLD_WAIT);
+                    continue;
+                }
+
+                // Wait for anything sent alongside it
+                if (linger > 0) {
+                    Thread.sleep(linger);
+                }
+
+                // Held messages are older than anything still queued
+                batch.addAll(held);
+                held.clear();
+                heldDepth = 0;
+                if (first != null) {
+                    batch.add(first);
+                }
+                queue.drainTo(batch);
+                send(socket);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.error("Failed to send messages: {}", e.getMessage());
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Send the current batch, then any BOARD message waiting, then flush the socket.
+     *
+     * @param socket socket to send to
+     */
+    private void send(WebSocket socket) {
+        NetworkStats stats = this.stats;
+        int count = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            String message = batch.get(i);
+            if (message != WAKE) {
+                logger.debug("Sending message: {}", message);
+                socket.sendText(message);
+                if (stats != null) {
+                    stats.messageSent(message);
+                }
+                count++;
+            }
+        }
+        batch.clear();
+
+        if (newSocket) {
+            newSocket = false;
+            boardEncoder.reset();
+        }
+        String latest = board.getAndSet(null);
+        if (latest != null) {
+            latest = boardEncoder.encode(latest);
+        }
+        if (latest != null) {
+            logger.debug("Sending message: {}", latest);
+            socket.sendText(latest);
+            if (stats != null) {
+                stats.messageSent(latest);
+            }
+            count++;
+        }
+
+        if (count > 0) {
+            socket.flush();
+            sent.addAndGet(count);
+            batches.incrementAndGet();
+        }
+    }
+
+    /**
+     * Hold a message taken off the queue while waiting for a socket, along with everything queued behind it, in order.
+     * The queue and the held messages share the capacity, so once it is reached new messages stay on the queue and
+     * further ones are dropped by offer.
+     *
+     * @param first message taken off the queue, or null
+     */
+    private void hold(String first) {
+        if (first != null && first != WAKE) {
+            held.add(first);
+        }
+        queue.drainTo(batch, Math.max(0, capacity - held.size()));
+        for (String message : batch) {
+            if (message != WAKE) {
+                held.add(message);
+            }
+        }
+        batch.clear();
+        heldDepth = held.size();
+    }
+
+    /**
+     * Get the number of messages waiting to be sent.
+     *
+     * @return queue depth
+     */
+    public int getQueueDepth() {
+        return queue.size() + heldDepth + (board.get() != null ? 1 : 0);
+    }
+
+    /**
+     * Get the most messages which have been waiting at once.
+     *
+     * @return maximum queue depth
+     */
+    public int getMaxQueueDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Get the number of messages sent.
+     *
+     * @return messages sent
+     */
+    public long getSentCount() {
+        return sent.get();
+    }
+
+    /**
+     * Get the number of batches sent. Each batch is one flush of the socket.
+     *
+     * @return batches sent
+     */
+    public long getBatchCount() {
+        return batches.get();
+    }
+
+    /**
+     * Get the number of BOARD messages replaced by a later one before they were sent.
+     *
+     * @return messages coalesced
+     */
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    /**
+     * Get the number of messages dropped because the queue was full.
+     *
+     * @return messages dropped
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+}
@@ -0,0 +1,89 @@
+package uk.ac.soton.comp1206.network;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A Rate Meter counts events in one second slots without locking, and reports the average rate over the last few
+ * whole seconds.
+ * <p>
+ * When a slot moves on to a new second its count is reset, and an event recorded by another thread at that moment can
+ * be lost. That is accepted for a meter, in return for never blocking the thread recording.
+ */
+public class RateMeter {
+
+    /**
+     * Number of whole seconds the rate is averaged over.
+     */
+    public static final int WINDOW = 5;
+
+    /**
+     * Number of slots, one more than the window for the second still being counted.
+     */
+    private static final int SLOTS = WINDOW + 1;
+
+    /**
+     * The second each slot is counting, and its count.
+     */
+    private final AtomicLongArray seconds = new AtomicLongArray(SLOTS);
+    private final AtomicLongArray counts = new AtomicLongArray(SLOTS);
+
+    /**
+     * Total of everything recorded.
+     */
+    private final AtomicLong total = new AtomicLong();
+
+    /**
+     * Create a new Rate Meter.
+     */
+    public RateMeter() {
+        // No slot is counting any second yet
+        for (int i = 0; i < SLOTS; i++) {
+            seconds.set(i, Long.MIN_VALUE);
+        }
+    }
+
+    /**
+     * Record some events.
+     *
+     * @param amount number of events, such as messages or bytes
+     * @param now    time in nanoseconds
+     */
+    public void record(long amount, long now) {
+        long second = Math.floorDiv(now, 1_000_000_000L);
+        int slot = Math.floorMod(second, SLOTS);
+        long held = seconds.get(slot);
+        if (held != second && seconds.compareAndSet(slot, held, second)) {
+            counts.set(slot, 0);
+        }
+        counts.addAndGet(slot, amount);
+        total.addAndGet(amount);
+    }
+
+    /**
+     * Get the average rate over the last whole seconds.
+     *
+     * @param now time in nanoseconds
+     * @return events per second
+     */
+    public double getRate(long now) {
+        long second = Math.floorDiv(now, 1_000_000_000L);
+        long sum = 0;
+        for (int i = 0; i < SLOTS; i++) {
+            long held = seconds.get(i);
+            if (held < second && held >= second - WINDOW) {
+                sum += counts.get(i);
+            }
+        }
+        return (double) sum / WINDOW;
+    }
+
+    /**
+     * Get the total of everything recorded.
+     *
+     * @return total
+     */
+    public long getTotal() {
+        return total.get();
+    }
+}
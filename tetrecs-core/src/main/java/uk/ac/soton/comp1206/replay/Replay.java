@@ -0,0 +1,150 @@
+package uk.ac.soton.comp1206.replay;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * A recorded singleplayer game: the grid size, the seed of its pieces and every action taken, in order.
+ * <p>
+ * The binary format is a four byte header ("TRP" and a version), the columns and rows as varints, the seed as eight
+ * bytes, then one record per action. Each record starts with a varint holding the milliseconds since the previous
+ * action shifted left two bits, with the action in the low bits. Block clicks are followed by the zig-zag encoded
+ * column and row, and rotations by the zig-zag encoded number of rotations. Most records are two or three bytes.
+ */
+public class Replay {
+
+    /**
+     * First bytes of every replay
+     */
+    static final byte[] MAGIC = {'T', 'R', 'P'};
+
+    /**
+     * Version of the format written
+     */
+    static final byte VERSION = 1;
+
+    /**
+     * Length of the fixed part of the header
+     */
+    private static final int FIXED_HEADER = MAGIC.length + 1;
+
+    /**
+     * Number of columns
+     */
+    private final int cols;
+
+    /**
+     * Number of rows
+     */
+    private final int rows;
+
+    /**
+     * Seed of the piece source
+     */
+    private final long seed;
+
+    /**
+     * The encoded replay
+     */
+    private final byte[] data;
+
+    /**
+     * Position of the first action record
+     */
+    private final int actionsOffset;
+
+    /**
+     * Decode the header of an encoded replay.
+     *
+     * @param data encoded replay, which is not copied
+     * @throws IOException if the header is not valid
+     */
+    public Replay(byte[] data) throws IOException {
+        if (data.length < FIXED_HEADER) {
+            throw new IOException("Not a replay: too short");
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (data[i] != MAGIC[i]) {
+                throw new IOException("Not a replay: bad header");
+            }
+        }
+        if (data[MAGIC.length] != VERSION) {
+            throw new IOException("Unsupported replay version " + data[MAGIC.length]);
+        }
+
+        Varint.Reader reader = new Varint.Reader(data, FIXED_HEADER, data.length);
+        long cols = reader.read();
+        long rows = reader.read();
+        if (cols > Integer.MAX_VALUE || rows > Integer.MAX_VALUE) {
+            throw new IOException("Invalid replay grid size " + cols + "x" + rows);
+        }
+        int offset = reader.getPosition();
+        if (offset + Long.BYTES > data.length) {
+            throw new IOException("Replay ends part way through the header");
+        }
+
+        this.cols = (int) cols;
+        this.rows = (int) rows;
+        this.seed = ByteBuffer.wrap(data, offset, Long.BYTES).getLong();
+        this.data = data;
+        this.actionsOffset = offset + Long.BYTES;
+    }
+
+    /**
+     * Read a whole replay from a stream.
+     *
+     * @param in stream to read
+     * @return the replay
+     * @throws IOException if the stream could not be read or is not a replay
+     */
+    public static Replay read(InputStream in) throws IOException {
+        return new Replay(new DataInputStream(in).readAllBytes());
+    }
+
+    /**
+     * Get a reader positioned at the first action record.
+     *
+     * @return reader
+     */
+    Varint.Reader actions() {
+        return new Varint.Reader(data, actionsOffset, data.length);
+    }
+
+    /**
+     * Get the number of columns
+     *
+     * @return columns
+     */
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * Get the number of rows
+     *
+     * @return rows
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Get the seed of the piece source
+     *
+     * @return seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Get the encoded replay
+     *
+     * @return a copy of the bytes
+     */
+    public byte[] toByteArray() {
+        return data.clone();
+    }
+}
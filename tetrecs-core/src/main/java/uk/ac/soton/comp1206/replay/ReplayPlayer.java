@@ -0,0 +1,89 @@
+package uk.ac.soton.comp1206.replay;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import uk.ac.soton.comp1206.game.GameAction;
+import uk.ac.soton.comp1206.game.PieceSource;
+import uk.ac.soton.comp1206.game.SingleplayerGame;
+import uk.ac.soton.comp1206.timer.VirtualScheduler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Plays a Replay again headlessly, as fast as it can. The game uses the recorded seed and a virtual clock, and the
+ * game loop only runs out where a timeout was recorded, so the game ends in exactly the state it was recorded in.
+ */
+public class ReplayPlayer {
+
+    private static final Logger logger = LogManager.getLogger(ReplayPlayer.class);
+
+    private static final GameAction[] ACTIONS = GameAction.values();
+
+    private ReplayPlayer() {
+    }
+
+    /**
+     * Play a replay to the end.
+     *
+     * @param replay replay to play
+     * @return the game, in its final state
+     * @throws IOException if the replay is corrupt
+     */
+    public static SingleplayerGame play(Replay replay) throws IOException {
+        VirtualScheduler scheduler = new VirtualScheduler();
+        SingleplayerGame game = new SingleplayerGame(replay.getCols(), replay.getRows(), scheduler,
+                new PieceSource(replay.getSeed()));
+        game.start();
+
+        Varint.Reader reader = replay.actions();
+        while (reader.hasMore()) {
+            // The recorded delay is only kept for reference; time moves on when a timeout is reached
+            long header = reader.read();
+            GameAction action = ACTIONS[(int) (header & 3)];
+            switch (action) {
+                case BLOCK_CLICKED -> {
+                    int x = (int) Varint.unzigzag(reader.read());
+                    int y = (int) Varint.unzigzag(reader.read());
+                    if (game.blockClicked(x, y)) {
+                        game.restartGameLoop();
+                    }
+                }
+                case ROTATE -> game.rotatePiece((int) Varint.unzigzag(reader.read()));
+                case SWAP -> game.swapCurrentPiece();
+                case TIMEOUT -> scheduler.advanceToNextExpiry();
+            }
+        }
+        game.stop();
+        return game;
+    }
+
+    /**
+     * Play a replay file and print the final state of the game.
+     *
+     * @param args path of the replay file
+     * @throws IOException if the file could not be read or is not a replay
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: ReplayPlayer <replay file>");
+            System.exit(1);
+        }
+
+        Replay replay;
+        try (InputStream in = Files.newInputStream(Path.of(args[0]))) {
+            replay = Replay.read(in);
+        }
+
+        long started = System.nanoTime();
+        SingleplayerGame game = play(replay);
+        long elapsed = (System.nanoTime() - started) / 1000;
+        logger.info("Replay finished in {}us", elapsed);
+
+        System.out.println("Seed " + replay.getSeed() + " on " + replay.getCols() + "x" + replay.getRows()
+                + ": score " + game.getScore() + ", level " + game.getLevel() + ", lives " + game.getLives()
+                + " (" + elapsed + "us)");
+    }
+}
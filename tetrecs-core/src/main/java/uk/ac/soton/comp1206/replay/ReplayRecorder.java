@@ -0,0 +1,124 @@
+package uk.ac.soton.comp1206.replay;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import uk.ac.soton.comp1206.event.GameActionListener;
+import uk.ac.soton.comp1206.game.GameAction;
+import uk.ac.soton.comp1206.game.SingleplayerGame;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records every action taken in a singleplayer game into the compact binary Replay format. Actions are encoded into
+ * an in-memory buffer as they happen, so recording never blocks the game on I/O.
+ */
+public class ReplayRecorder implements GameActionListener {
+
+    private static final Logger logger = LogManager.getLogger(ReplayRecorder.class);
+
+    /**
+     * The encoded replay so far
+     */
+    private byte[] buffer = new byte[256];
+
+    /**
+     * Number of bytes used in the buffer
+     */
+    private int length = 0;
+
+    /**
+     * Number of actions recorded
+     */
+    private int actions = 0;
+
+    /**
+     * Time of the last action
+     */
+    private long lastAction = System.nanoTime();
+
+    /**
+     * Create a new ReplayRecorder and write the replay header
+     *
+     * @param cols number of columns
+     * @param rows number of rows
+     * @param seed seed of the piece source
+     */
+    public ReplayRecorder(int cols, int rows, long seed) {
+        System.arraycopy(Replay.MAGIC, 0, buffer, 0, Replay.MAGIC.length);
+        buffer[Replay.MAGIC.length] = Replay.VERSION;
+        length = Replay.MAGIC.length + 1;
+        length = Varint.write(buffer, length, cols);
+        length = Varint.write(buffer, length, rows);
+        ByteBuffer.wrap(buffer, length, Long.BYTES).putLong(seed);
+        length += Long.BYTES;
+    }
+
+    /**
+     * Start recording a game. Must be called before the game is started.
+     *
+     * @param game game to record
+     * @return the recorder
+     */
+    public static ReplayRecorder record(SingleplayerGame game) {
+        ReplayRecorder recorder = new ReplayRecorder(game.getCols(), game.getRows(), game.getPieceSource().getSeed());
+        game.setOnGameAction(recorder);
+        logger.info("Recording game with seed {}", game.getPieceSource().getSeed());
+        return recorder;
+    }
+
+    @Override
+    public void gameAction(GameAction action, int x, int y) {
+        // Make room for the longest possible record
+        if (length + Varint.MAX_LENGTH * 3 > buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+
+        long now = System.nanoTime();
+        long delay = TimeUnit.NANOSECONDS.toMillis(now - lastAction);
+        lastAction = now;
+
+        length = Varint.write(buffer, length, (delay << 2) | action.ordinal());
+        switch (action) {
+            case BLOCK_CLICKED -> {
+                length = Varint.write(buffer, length, Varint.zigzag(x));
+                length = Varint.write(buffer, length, Varint.zigzag(y));
+            }
+            case ROTATE -> length = Varint.write(buffer, length, Varint.zigzag(x));
+            default -> {
+            }
+        }
+        actions++;
+    }
+
+    /**
+     * Get the number of actions recorded
+     *
+     * @return actions
+     */
+    public int getActionCount() {
+        return actions;
+    }
+
+    /**
+     * Get the replay recorded so far
+     *
+     * @return encoded replay
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, length);
+    }
+
+    /**
+     * Write the replay recorded so far to a stream
+     *
+     * @param out stream to write to
+     * @throws IOException if the stream could not be written
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(buffer, 0, length);
+    }
+}
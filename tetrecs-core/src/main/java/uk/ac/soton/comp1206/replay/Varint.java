@@ -0,0 +1,116 @@
+package uk.ac.soton.comp1206.replay;
+
+import java.io.EOFException;
+
+/**
+ * Variable length integer encoding used by replays. Each byte holds seven bits of the value, lowest first, with the
+ * top bit set when more bytes follow. Signed values are zig-zag encoded first so small negative numbers stay short.
+ */
+class Varint {
+
+    /**
+     * Longest encoding of a long
+     */
+    static final int MAX_LENGTH = 10;
+
+    private Varint() {
+    }
+
+    /**
+     * Write an unsigned value.
+     *
+     * @param buffer buffer to write into, with at least MAX_LENGTH bytes free at offset
+     * @param offset position to write at
+     * @param value  value to write
+     * @return position after the value
+     */
+    static int write(byte[] buffer, int offset, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer[offset++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[offset++] = (byte) value;
+        return offset;
+    }
+
+    /**
+     * Zig-zag encode a signed value.
+     *
+     * @param value signed value
+     * @return unsigned value
+     */
+    static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    /**
+     * Decode a zig-zag encoded value.
+     *
+     * @param value unsigned value
+     * @return signed value
+     */
+    static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Reads varints from a byte array.
+     */
+    static class Reader {
+        private final byte[] buffer;
+        private final int end;
+        private int position;
+
+        /**
+         * Create a new Reader
+         *
+         * @param buffer bytes to read
+         * @param offset position to start at
+         * @param end    position to stop at
+         */
+        Reader(byte[] buffer, int offset, int end) {
+            this.buffer = buffer;
+            this.position = offset;
+            this.end = end;
+        }
+
+        /**
+         * Whether there is anything left to read.
+         *
+         * @return true if there are bytes left
+         */
+        boolean hasMore() {
+            return position < end;
+        }
+
+        /**
+         * Get the position of the next byte to read.
+         *
+         * @return position
+         */
+        int getPosition() {
+            return position;
+        }
+
+        /**
+         * Read an unsigned value.
+         *
+         * @return value
+         * @throws EOFException if the bytes end part way through a value or the value is too long
+         */
+        long read() throws EOFException {
+            long value = 0;
+            for (int shift = 0; shift < Long.SIZE; shift += 7) {
+                if (position >= end) {
+                    throw new EOFException("Replay ends part way through a value");
+                }
+                byte b = buffer[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new EOFException("Replay value is too long");
+        }
+    }
+}
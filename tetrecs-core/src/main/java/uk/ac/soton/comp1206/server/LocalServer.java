@@ -0,0 +1,771 @@
+package uk.ac.soton.comp1206.server;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import uk.ac.soton.comp1206.game.PieceSource;
+import uk.ac.soton.comp1206.network.BoardEncoder;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The Local Server is an in-process TetrECS server on a localhost web socket, for playing offline or over a LAN and
+ * for load testing the multiplayer code without the university server.
+ * <p>
+ * It speaks the protocol the client already uses: LIST, CREATE, JOIN, PART, NICK, USERS, MSG, START, PIECE, BOARD,
+ * SCORE, LIVES, DIE, SCORES, HISCORES, HISCORE and QUIT, plus BOARDDELTA from the BoardEncoder. Everyone in a channel
+ * is given the same pieces in the same order. High scores only last as long as the server.
+ * <p>
+ * Each connection is read by its own thread, and every message is handled while holding the server's lock, so the
+ * channels and players never need any other synchronisation. Replies and broadcasts are only queued while holding the
+ * lock, and written once it is released, so a slow client can only hold up the thread writing to it, never the rest of
+ * the server.
+ */
+public class LocalServer {
+
+    private static final Logger logger = LogManager.getLogger(LocalServer.class);
+
+    /**
+     * Port the university server uses.
+     */
+    public static final int DEFAULT_PORT = 9700;
+
+    /**
+     * Number of high scores kept.
+     */
+    private static final int HISCORES = 10;
+
+    /**
+     * Address to listen on, or null for every interface.
+     */
+    private final InetAddress address;
+
+    /**
+     * Port to listen on, 0 for any free port.
+     */
+    private final int requestedPort;
+
+    /**
+     * Channels by name, in the order they were created.
+     */
+    private final Map<String, Channel> channels = new LinkedHashMap<>();
+
+    /**
+     * Everyone connected.
+     */
+    private final List<Player> players = new ArrayList<>();
+
+    /**
+     * Players with messages queued since the last write, in the order they were first queued.
+     */
+    private final List<Player> unsent = new ArrayList<>();
+
+    /**
+     * High scores, highest first, as name:score.
+     */
+    private final List<String> hiscores = new ArrayList<>();
+
+    /**
+     * Seeds for each channel's pieces.
+     */
+    private final SplittableRandom seeds = new SplittableRandom();
+
+    /**
+     * The listening socket, once started.
+     */
+    private ServerSocket serverSocket;
+
+    /**
+     * Number given to the next player, for their default name.
+     */
+    private int nextPlayer = 1;
+
+    /**
+     * Create a new Local Server listening on localhost only. Nothing listens until it is started.
+     *
+     * @param port port to listen on, 0 for any free port
+     */
+    public LocalServer(int port) {
+        this(InetAddress.getLoopbackAddress(), port);
+    }
+
+    /**
+     * Create a new Local Server. Nothing listens until it is started.
+     *
+     * @param address address to listen on, or null for every interface so others on the LAN can join
+     * @param port    port to listen on, 0 for any free port
+     */
+    public LocalServer(InetAddress address, int port) {
+        this.address = address;
+        this.requestedPort = port;
+    }
+
+    /**
+     * Start listening.
+     *
+     * @return the port listened on
+     * @throws IOException if the port could not be bound
+     */
+    public synchronized int start() throws IOException {
+        serverSocket = new ServerSocket(requestedPort, 50, address);
+        logger.info("Local server listening on {}", getUri());
+
+        Thread acceptor = new Thread(this::accept, "local-server");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Stop listening and disconnect everyone.
+     */
+    public synchronized void stop() {
+        logger.info("Stopping local server");
+        try {
+            if (serverSocket != null) {
+                serverSocket.close();
+            }
+        } catch (IOException ignored) {
+        }
+        for (Player player : players) {
+            player.connection.close();
+        }
+    }
+
+    /**
+     * Get the port being listened on.
+     *
+     * @return port
+     */
+    public synchronized int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Get the address for a Communicator to connect to.
+     *
+     * @return web socket URI
+     */
+    public String getUri() {
+        return "ws://localhost:" + getPort();
+    }
+
+    /**
+     * Get the number of players connected.
+     *
+     * @return number of players
+     */
+    public synchronized int getPlayerCount() {
+        return players.size();
+    }
+
+    /**
+     * Get the number of open channels.
+     *
+     * @return number of channels
+     */
+    public synchronized int getChannelCount() {
+        return channels.size();
+    }
+
+    /**
+     * Accept connections until stopped, serving each on its own thread.
+     */
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                Thread thread = new Thread(() -> serve(socket), "local-server-" + socket.getPort());
+                thread.setDaemon(true);
+                thread.start();
+            } catch (SocketException e) {
+                // Closed by stop
+                return;
+            } catch (IOException e) {
+                logger.error("Failed to accept connection: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Handle every message from a connection until it closes.
+     *
+     * @param socket accepted socket
+     */
+    private void serve(Socket socket) {
+        Player player = null;
+        try {
+            WebSocketConnection connection = new WebSocketConnection(socket);
+            connection.handshake();
+
+            synchronized (this) {
+                player = new Player(connection, "Guest" + nextPlayer++, unsent);
+                players.add(player);
+            }
+            logger.info("{} connected", player.name);
+
+            String message;
+            while ((message = connection.readMessage()) != null) {
+                boolean open;
+                List<Player> recipients;
+                synchronized (this) {
+                    open = handle(player, message.trim());
+                    recipients = takeUnsent();
+                }
+                write(recipients);
+                if (!open) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            logger.debug("Connection failed: {}", e.getMessage());
+        } finally {
+            if (player != null) {
+                List<Player> recipients;
+                synchronized (this) {
+                    part(player);
+                    players.remove(player);
+                    recipients = takeUnsent();
+                }
+                write(recipients);
+                logger.info("{} disconnected", player.name);
+                player.connection.close();
+            } else {
+                try {
+                    socket.close();
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+
+    /**
+     * Take the players with messages queued. Called holding the lock.
+     *
+     * @return players to write to
+     */
+    private List<Player> takeUnsent() {
+        if (unsent.isEmpty()) {
+            return List.of();
+        }
+        List<Player> recipients = new ArrayList<>(unsent);
+        for (Player recipient : recipients) {
+            recipient.unsent = false;
+        }
+        unsent.clear();
+        return recipients;
+    }
+
+    /**
+     * Write the messages queued for some players. Called without holding the lock.
+     *
+     * @param recipients players to write to
+     */
+    private void write(List<Player> recipients) {
+        for (Player recipient : recipients) {
+            recipient.flush();
+        }
+    }
+
+    /**
+     * Handle a message from a player.
+     *
+     * @param player  player who sent it
+     * @param message the message
+     * @return false if the player quit
+     */
+    private boolean handle(Player player, String message) {
+        String[] components = message.split(" ", 2);
+        String command = components[0];
+        String data = components.length > 1 ? components[1] : "";
+
+        switch (command) {
+            case "LIST" -> player.send("CHANNELS " + String.join("\n", channels.keySet()));
+            case "CREATE" -> create(player, data.trim());
+            case "JOIN" -> join(player, data.trim());
+            case "PART" -> {
+                if (part(player)) {
+                    player.send("PARTED");
+                }
+            }
+            case "NICK" -> nick(player, data.trim());
+            case "USERS" -> {
+                if (inChannel(player)) {
+                    player.send(users(player.channel));
+                }
+            }
+            case "MSG" -> {
+                if (inChannel(player)) {
+                    broadcast(player.channel, "MSG " + player.name + ":" + data, null);
+                }
+            }
+            case "START" -> start(player);
+            case "PIECE" -> {
+                if (inChannel(player)) {
+                    player.send("PIECE " + player.pieces.next().getShape());
+                }
+            }
+            case BoardEncoder.BOARD, BoardEncoder.BOARD_DELTA -> board(player, message);
+            case "SCORE" -> {
+                if (inChannel(player) && parse(player, data)) {
+                    player.score = Integer.parseInt(data.trim());
+                    broadcast(player.channel, scores(player.channel), null);
+                }
+            }
+            case "LIVES" -> {
+                if (inChannel(player) && parse(player, data)) {
+                    player.lives = Integer.parseInt(data.trim());
+                    broadcast(player.channel, scores(player.channel), null);
+                }
+            }
+            case "DIE" -> {
+                if (inChannel(player)) {
+                    player.dead = true;
+                    broadcast(player.channel, scores(player.channel), null);
+                }
+            }
+            case "SCORES" -> {
+                if (inChannel(player)) {
+                    player.send(scores(player.channel));
+                }
+            }
+            case "HISCORES" -> player.send("HISCORES " + String.join("\n", hiscores));
+            case "HISCORE" -> hiscore(player, data.trim());
+            case "QUIT" -> {
+                return false;
+            }
+            default -> player.send("ERROR Unknown command: " + command);
+        }
+        return true;
+    }
+
+    /**
+     * Create a channel and join it as the host.
+     *
+     * @param player player creating it
+     * @param name   channel name
+     */
+    private void create(Player player, String name) {
+        if (name.isEmpty() || name.contains("\n")) {
+            player.send("ERROR Invalid channel name");
+            return;
+        }
+        if (channels.containsKey(name)) {
+            player.send("ERROR Channel already exists");
+            return;
+        }
+        part(player);
+
+        Channel channel = new Channel(name, seeds.nextLong());
+        channels.put(name, channel);
+        channel.host = player;
+        enter(player, channel);
+        player.send("HOST");
+    }
+
+    /**
+     * Join an existing channel, leaving any other one.
+     *
+     * @param player player joining
+     * @param name   channel name
+     */
+    private void join(Player player, String name) {
+        Channel channel = channels.get(name);
+        if (channel == null) {
+            player.send("ERROR No such channel");
+            return;
+        }
+        if (channel == player.channel) {
+            return;
+        }
+        if (channel.started) {
+            player.send("ERROR Game already in progress");
+            return;
+        }
+        part(player);
+        enter(player, channel);
+    }
+
+    /**
+     * Put a player in a channel and let everyone know.
+     *
+     * @param player  player entering
+     * @param channel the channel
+     */
+    private void enter(Player player, Channel channel) {
+        channel.players.add(player);
+        player.channel = channel;
+        player.reset(channel.seed);
+        player.send("JOIN " + channel.name);
+        broadcast(channel, users(channel), null);
+    }
+
+    /**
+     * Take a player out of their channel, passing on the host and closing the channel once empty.
+     *
+     * @param player player leaving
+     * @return whether they were in a channel
+     */
+    private boolean part(Player player) {
+        Channel channel = player.channel;
+        if (channel == null) {
+            return false;
+        }
+        channel.players.remove(player);
+        player.channel = null;
+
+        if (channel.players.isEmpty()) {
+            channels.remove(channel.name);
+            return true;
+        }
+        if (channel.host == player) {
+            channel.host = channel.players.get(0);
+            channel.host.send("HOST");
+        }
+        broadcast(channel, users(channel), null);
+        return true;
+    }
+
+    /**
+     * Change a player's name.
+     *
+     * @param player player
+     * @param name   new name
+     */
+    private void nick(Player player, String name) {
+        if (name.isEmpty() || name.contains(":") || name.contains("\n")) {
+            player.send("ERROR Invalid name");
+            return;
+        }
+        String old = player.name;
+        player.name = name;
+        player.send("NICK " + name);
+        if (player.channel != null) {
+            broadcast(player.channel, "NICK " + old + ":" + name, player);
+            broadcast(player.channel, users(player.channel), null);
+        }
+    }
+
+    /**
+     * Start the game in the host's channel.
+     *
+     * @param player player asking to start
+     */
+    private void start(Player player) {
+        if (!inChannel(player)) {
+            return;
+        }
+        Channel channel = player.channel;
+        if (channel.host != player) {
+            player.send("ERROR Only the host can start the game");
+            return;
+        }
+        channel.started = true;
+        for (Player member : channel.players) {
+            member.reset(channel.seed);
+        }
+        broadcast(channel, "START", null);
+    }
+
+    /**
+     * Apply a BOARD or BOARDDELTA message to a player's board, and pass the whole board on to the rest of the channel.
+     *
+     * @param player  player sending it
+     * @param message the message
+     */
+    private void board(Player player, String message) {
+        if (!inChannel(player)) {
+            return;
+        }
+        if (message.startsWith(BoardEncoder.BOARD + " ")) {
+            int cells = message.split(" ").length - 1;
+            if (player.board == null || player.board.length != cells) {
+                player.board = new int[cells];
+            }
+        }
+        if (player.board == null || !BoardEncoder.decode(player.board, message)) {
+            player.send("ERROR Invalid board");
+            return;
+        }
+
+        StringBuilder board = new StringBuilder("BOARD ").append(player.name).append(':');
+        for (int i = 0; i < player.board.length; i++) {
+            board.append(i == 0 ? "" : " ").append(player.board[i]);
+        }
+        broadcast(player.channel, board.toString(), player);
+    }
+
+    /**
+     * Record a high score.
+     *
+     * @param player player sending it
+     * @param data   name:score
+     */
+    private void hiscore(Player player, String data) {
+        String[] components = data.split(":", 2);
+        if (components.length < 2 || !parse(player, components[1])) {
+            player.send("ERROR Invalid score");
+            return;
+        }
+        int score = Integer.parseInt(components[1].trim());
+
+        int index = 0;
+        while (index < hiscores.size() && Integer.parseInt(hiscores.get(index).split(":", 2)[1]) >= score) {
+            index++;
+        }
+        hiscores.add(index, components[0] + ":" + score);
+        if (hiscores.size() > HISCORES) {
+            hiscores.remove(hiscores.size() - 1);
+        }
+        player.send("NEWSCORE " + components[0] + ":" + score);
+    }
+
+    /**
+     * Check a player is in a channel, telling them if not.
+     *
+     * @param player the player
+     * @return whether they are in a channel
+     */
+    private boolean inChannel(Player player) {
+        if (player.channel == null) {
+            player.send("ERROR Not in a channel");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Check a number can be parsed, telling the player if not.
+     *
+     * @param player player who sent it
+     * @param data   the number
+     * @return whether it is a number
+     */
+    private boolean parse(Player player, String data) {
+        try {
+            Integer.parseInt(data.trim());
+            return true;
+        } catch (NumberFormatException e) {
+            player.send("ERROR Not a number: " + data);
+            return false;
+        }
+    }
+
+    /**
+     * Build the USERS message for a channel.
+     *
+     * @param channel the channel
+     * @return message
+     */
+    private String users(Channel channel) {
+        StringBuilder users = new StringBuilder("USERS ");
+        for (int i = 0; i < channel.players.size(); i++) {
+            users.append(i == 0 ? "" : "\n").append(channel.players.get(i).name);
+        }
+        return users.toString();
+    }
+
+    /**
+     * Build the SCORES message for a channel.
+     *
+     * @param channel the channel
+     * @return message
+     */
+    private String scores(Channel channel) {
+        StringBuilder scores = new StringBuilder("SCORES ");
+        for (int i = 0; i < channel.players.size(); i++) {
+            Player player = channel.players.get(i);
+            scores.append(i == 0 ? "" : "\n").append(player.name).append(':').append(player.score).append(':')
+                    .append(player.dead ? "DEAD" : String.valueOf(player.lives));
+        }
+        return scores.toString();
+    }
+
+    /**
+     * Send a message to everyone in a channel.
+     *
+     * @param channel the channel
+     * @param message message to send
+     * @param except  player not to send it to, or null
+     */
+    private void broadcast(Channel channel, String message, Player except) {
+        for (Player player : channel.players) {
+            if (player != except) {
+                player.send(message);
+            }
+        }
+    }
+
+    /**
+     * Run a local server on its own, listening on every interface.
+     *
+     * @param args optional port, 9700 by default
+     * @throws IOException if the port could not be bound
+     * @throws InterruptedException if interrupted while running
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        LocalServer server = new LocalServer(null, port);
+        server.start();
+        Thread.currentThread().join();
+    }
+
+    /**
+     * A channel players can join to play together.
+     */
+    private static class Channel {
+
+        /**
+         * Channel name.
+         */
+        private final String name;
+
+        /**
+         * Seed for everyone's pieces.
+         */
+        private final long seed;
+
+        /**
+         * Players in the channel, in the order they joined.
+         */
+        private final List<Player> players = new ArrayList<>();
+
+        /**
+         * Player who can start the game.
+         */
+        private Player host;
+
+        /**
+         * Whether the game has started.
+         */
+        private boolean started = false;
+
+        /**
+         * Create a new channel.
+         *
+         * @param name channel name
+         * @param seed seed for everyone's pieces
+         */
+        private Channel(String name, long seed) {
+            this.name = name;
+            this.seed = seed;
+        }
+    }
+
+    /**
+     * Someone connected to the server.
+     */
+    private static class Player {
+
+        /**
+         * Connection to the player.
+         */
+        private final WebSocketConnection connection;
+
+        /**
+         * Player name.
+         */
+        private String name;
+
+        /**
+         * Channel the player is in, or null.
+         */
+        private Channel channel;
+
+        /**
+         * Game state reported by the player.
+         */
+        private int score;
+        private int lives;
+        private boolean dead;
+        private int[] board;
+
+        /**
+         * Pieces given to the player.
+         */
+        private PieceSource pieces;
+
+        /**
+         * Messages queued for the player, in the order the server handled them.
+         */
+        private final ConcurrentLinkedQueue<String> outbox = new ConcurrentLinkedQueue<>();
+
+        /**
+         * Held by the thread writing the outbox to the socket.
+         */
+        private final ReentrantLock writing = new ReentrantLock();
+
+        /**
+         * The server's list of players with messages queued, and whether this player is on it. Guarded by the server.
+         */
+        private final List<Player> unsentPlayers;
+        private boolean unsent = false;
+
+        /**
+         * Create a new player.
+         *
+         * @param connection    connection to the player
+         * @param name          default name
+         * @param unsentPlayers the server's list of players with messages queued
+         */
+        private Player(WebSocketConnection connection, String name, List<Player> unsentPlayers) {
+            this.connection = connection;
+            this.name = name;
+            this.unsentPlayers = unsentPlayers;
+        }
+
+        /**
+         * Reset the game state for a new game.
+         *
+         * @param seed seed for the channel's pieces
+         */
+        private void reset(long seed) {
+            score = 0;
+            lives = 3;
+            dead = false;
+            board = null;
+            pieces = new PieceSource(seed);
+        }
+
+        /**
+         * Queue a message to the player, to be written once the server's lock is released. Called holding the lock.
+         *
+         * @param message message to send
+         */
+        private void send(String message) {
+            outbox.add(message);
+            if (!unsent) {
+                unsent = true;
+                unsentPlayers.add(this);
+            }
+        }
+
+        /**
+         * Write the queued messages to the socket. If another thread is already writing them, it is left to write
+         * these too, so only one thread ever waits on a slow client.
+         */
+        private void flush() {
+            while (!outbox.isEmpty() && writing.tryLock()) {
+                try {
+                    String message;
+                    while ((message = outbox.poll()) != null) {
+                        connection.send(message);
+                    }
+                } finally {
+                    writing.unlock();
+                }
+            }
+        }
+    }
+}
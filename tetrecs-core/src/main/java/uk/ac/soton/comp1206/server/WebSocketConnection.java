@@ -0,0 +1,267 @@
+package uk.ac.soton.comp1206.server;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Locale;
+
+/**
+ * A WebSocketConnection is the server side of a single web socket, just enough of RFC 6455 for the messages TetrECS
+ * sends: the opening handshake, text messages split over any number of frames, pings and closing.
+ * <p>
+ * Messages are read by one thread with readMessage, and may be sent from any thread.
+ */
+class WebSocketConnection {
+
+    /**
+     * Added to the client's key to accept the handshake.
+     */
+    private static final String ACCEPT_GUID = "258EAFA5-E914-47DA-95CA-C5AB0DC85B11";
+
+    /**
+     * Largest message accepted, in bytes.
+     */
+    private static final int MAX_MESSAGE = 1 << 20;
+
+    /**
+     * Frame opcodes.
+     */
+    private static final int CONTINUATION = 0x0;
+    private static final int TEXT = 0x1;
+    private static final int CLOSE = 0x8;
+    private static final int PING = 0x9;
+    private static final int PONG = 0xA;
+
+    /**
+     * The socket to the client.
+     */
+    private final Socket socket;
+
+    /**
+     * Streams from and to the client.
+     */
+    private final DataInputStream in;
+    private final OutputStream out;
+
+    /**
+     * Payload of the message being read, which may arrive over several frames.
+     */
+    private final ByteArrayOutputStream message = new ByteArrayOutputStream();
+
+    /**
+     * Set once a close frame has been sent.
+     */
+    private boolean closed = false;
+
+    /**
+     * Wrap an accepted socket. Nothing is read until handshake is called.
+     *
+     * @param socket accepted socket
+     * @throws IOException if the socket streams cannot be opened
+     */
+    WebSocketConnection(Socket socket) throws IOException {
+        this.socket = socket;
+        this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        this.out = new BufferedOutputStream(socket.getOutputStream());
+    }
+
+    /**
+     * Read the client's opening handshake and accept it.
+     *
+     * @throws IOException if the request is not a web socket handshake
+     */
+    void handshake() throws IOException {
+        String key = null;
+        String line = readLine();
+        if (line == null || !line.startsWith("GET ")) {
+            throw new IOException("Not a web socket request: " + line);
+        }
+        while ((line = readLine()) != null && !line.isEmpty()) {
+            int colon = line.indexOf(':');
+            if (colon > 0 && line.substring(0, colon).trim().toLowerCase(Locale.ROOT).equals("sec-websocket-key")) {
+                key = line.substring(colon + 1).trim();
+            }
+        }
+        if (key == null) {
+            throw new IOException("Missing Sec-WebSocket-Key");
+        }
+
+        String response = "HTTP/1.1 101 Switching Protocols\r\n"
+                + "Upgrade: websocket\r\n"
+                + "Connection: Upgrade\r\n"
+                + "Sec-WebSocket-Accept: " + accept(key) + "\r\n\r\n";
+        synchronized (out) {
+            out.write(response.getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+        }
+    }
+
+    /**
+     * Read the next text message, answering any pings along the way.
+     *
+     * @return the message, or null once the client has closed the connection
+     * @throws IOException if the connection fails or the client breaks the protocol
+     */
+    String readMessage() throws IOException {
+        message.reset();
+        while (true) {
+            int first;
+            try {
+                first = in.readUnsignedByte();
+            } catch (EOFException e) {
+                return null;
+            }
+            boolean fin = (first & 0x80) != 0;
+            int opcode = first & 0x0F;
+
+            int second = in.readUnsignedByte();
+            boolean masked = (second & 0x80) != 0;
+            long length = second & 0x7F;
+            if (length == 126) {
+                length = in.readUnsignedShort();
+            } else if (length == 127) {
+                length = in.readLong();
+            }
+            if (length < 0 || length + message.size() > MAX_MESSAGE) {
+                throw new IOException("Message too large: " + length);
+            }
+
+            byte[] mask = new byte[4];
+            if (masked) {
+                in.readFully(mask);
+            }
+            byte[] payload = new byte[(int) length];
+            in.readFully(payload);
+            if (masked) {
+                for (int i = 0; i < payload.length; i++) {
+                    payload[i] ^= mask[i & 3];
+                }
+            }
+
+            switch (opcode) {
+                case TEXT, CONTINUATION -> {
+                    message.write(payload);
+                    if (fin) {
+                        return message.toString(StandardCharsets.UTF_8);
+                    }
+                }
+                case PING -> sendFrame(PONG, payload);
+                case CLOSE -> {
+                    sendFrame(CLOSE, payload.length >= 2 ? new byte[]{payload[0], payload[1]} : new byte[0]);
+                    return null;
+                }
+                case PONG -> {
+                    // Nothing to do
+                }
+                default -> throw new IOException("Unsupported opcode: " + opcode);
+            }
+        }
+    }
+
+    /**
+     * Send a text message. Safe to call from any thread.
+     *
+     * @param text message to send
+     */
+    void send(String text) {
+        try {
+            sendFrame(TEXT, text.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            // The reading thread will find out the connection has gone
+            close();
+        }
+    }
+
+    /**
+     * Close the connection.
+     */
+    void close() {
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    /**
+     * Send a single unmasked frame.
+     *
+     * @param opcode  frame opcode
+     * @param payload frame payload
+     * @throws IOException if the frame could not be written
+     */
+    private void sendFrame(int opcode, byte[] payload) throws IOException {
+        synchronized (out) {
+            if (closed) {
+                return;
+            }
+            out.write(0x80 | opcode);
+            if (payload.length < 126) {
+                out.write(payload.length);
+            } else if (payload.length <= 0xFFFF) {
+                out.write(126);
+                out.write(payload.length >>> 8);
+                out.write(payload.length);
+            } else {
+                out.write(127);
+                for (int shift = 56; shift >= 0; shift -= 8) {
+                    out.write((int) ((long) payload.length >>> shift));
+                }
+            }
+            out.write(payload);
+            out.flush();
+            if (opcode == CLOSE) {
+                closed = true;
+            }
+        }
+    }
+
+    /**
+     * Read a line of the handshake.
+     *
+     * @return the line without its line ending, or null at the end of the stream
+     * @throws IOException if the line could not be read
+     */
+    private String readLine() throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = in.read()) != -1) {
+            if (c == '\n') {
+                int end = line.length();
+                if (end > 0 && line.charAt(end - 1) == '\r') {
+                    line.setLength(end - 1);
+                }
+                return line.toString();
+            }
+            if (line.length() > 8192) {
+                throw new IOException("Handshake line too long");
+            }
+            line.append((char) c);
+        }
+        return line.length() > 0 ? line.toString() : null;
+    }
+
+    /**
+     * Work out the Sec-WebSocket-Accept value for a client's key.
+     *
+     * @param key the client's Sec-WebSocket-Key
+     * @return accept value
+     */
+    private static String accept(String key) {
+        try {
+            MessageDigest sha1 = MessageDigest.getInstance("SHA-1");
+            byte[] digest = sha1.digest((key + ACCEPT_GUID).getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 is not available", e);
+        }
+    }
+}
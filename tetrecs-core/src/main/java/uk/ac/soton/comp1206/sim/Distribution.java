@@ -0,0 +1,98 @@
+package uk.ac.soton.comp1206.sim;
+
+import java.util.Arrays;
+
+/**
+ * The distribution of one statistic, such as the final score, over every simulated game.
+ */
+public class Distribution {
+
+    /**
+     * The values, sorted in ascending order
+     */
+    private final int[] values;
+
+    /**
+     * Sum of the values
+     */
+    private final long total;
+
+    /**
+     * Create a new Distribution
+     *
+     * @param values the value from each game
+     */
+    public Distribution(int[] values) {
+        this.values = values.clone();
+        Arrays.sort(this.values);
+        long total = 0;
+        for (int value : this.values) {
+            total += value;
+        }
+        this.total = total;
+    }
+
+    /**
+     * Get the number of values
+     *
+     * @return count
+     */
+    public int getCount() {
+        return values.length;
+    }
+
+    /**
+     * Get the mean value
+     *
+     * @return mean, or 0 if there are no values
+     */
+    public double getMean() {
+        return values.length == 0 ? 0 : (double) total / values.length;
+    }
+
+    /**
+     * Get the smallest value
+     *
+     * @return minimum, or 0 if there are no values
+     */
+    public int getMin() {
+        return values.length == 0 ? 0 : values[0];
+    }
+
+    /**
+     * Get the largest value
+     *
+     * @return maximum, or 0 if there are no values
+     */
+    public int getMax() {
+        return values.length == 0 ? 0 : values[values.length - 1];
+    }
+
+    /**
+     * Get a percentile using the nearest rank
+     *
+     * @param percentile percentile between 0 and 100
+     * @return the value, or 0 if there are no values
+     */
+    public int getPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Invalid percentile: " + percentile);
+        }
+        if (values.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100 * values.length);
+        return values[Math.max(rank - 1, 0)];
+    }
+
+    /**
+     * Return a string representation of this Distribution
+     *
+     * @return string representation
+     */
+    @Override
+    public String toString() {
+        return String.format("mean %.1f, min %d, p10 %d, p50 %d, p90 %d, p99 %d, max %d", getMean(), getMin(),
+                getPercentile(10), getPercentile(50), getPercentile(90), getPercentile(99), getMax());
+    }
+}
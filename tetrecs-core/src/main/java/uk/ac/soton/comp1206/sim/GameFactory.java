@@ -0,0 +1,22 @@
+package uk.ac.soton.comp1206.sim;
+
+import uk.ac.soton.comp1206.game.Game;
+import uk.ac.soton.comp1206.game.PieceSource;
+import uk.ac.soton.comp1206.timer.GameScheduler;
+
+/**
+ * A Game Factory creates the games a Simulator plays, so rule changes can be tried out in a subclass of Game.
+ */
+public interface GameFactory {
+
+    /**
+     * Create a game.
+     *
+     * @param cols      number of columns
+     * @param rows      number of rows
+     * @param scheduler scheduler to drive the game loop
+     * @param pieces    source of the game's pieces
+     * @return a new game
+     */
+    Game create(int cols, int rows, GameScheduler scheduler, PieceSource pieces);
+}
@@ -0,0 +1,43 @@
+package uk.ac.soton.comp1206.sim;
+
+import uk.ac.soton.comp1206.game.Game;
+import uk.ac.soton.comp1206.hint.Hint;
+import uk.ac.soton.comp1206.hint.HintEngine;
+
+import java.util.SplittableRandom;
+
+/**
+ * A policy which always plays the best placement found by a HintEngine, after a fixed thinking time.
+ */
+public class HintPlacementPolicy implements PlacementPolicy {
+
+    /**
+     * Engine to find placements with
+     */
+    private final HintEngine engine;
+
+    /**
+     * Thinking time in milliseconds
+     */
+    private final long delay;
+
+    /**
+     * Create a new HintPlacementPolicy
+     *
+     * @param engine engine to find placements with
+     * @param delay  thinking time in milliseconds
+     */
+    public HintPlacementPolicy(HintEngine engine, long delay) {
+        this.engine = engine;
+        this.delay = delay;
+    }
+
+    @Override
+    public Placement choose(Game game, SplittableRandom random) {
+        Hint hint = engine.best(game);
+        if (hint == null) {
+            return null;
+        }
+        return new Placement(hint.getX(), hint.getY(), hint.getRotations(), hint.isSwap(), delay);
+    }
+}
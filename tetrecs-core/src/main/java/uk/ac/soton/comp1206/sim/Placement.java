@@ -0,0 +1,104 @@
+package uk.ac.soton.comp1206.sim;
+
+/**
+ * A move chosen by a PlacementPolicy: optionally swap pieces, rotate the current piece, then click a block.
+ */
+public class Placement {
+
+    /**
+     * Column to click, as passed to Game.blockClicked
+     */
+    private final int x;
+
+    /**
+     * Row to click, as passed to Game.blockClicked
+     */
+    private final int y;
+
+    /**
+     * Number of clockwise rotations to apply to the current piece
+     */
+    private final int rotations;
+
+    /**
+     * Whether to swap the current and following piece before rotating
+     */
+    private final boolean swap;
+
+    /**
+     * Time in virtual milliseconds spent thinking before the move is made
+     */
+    private final long delay;
+
+    /**
+     * Create a new Placement
+     *
+     * @param x         column to click
+     * @param y         row to click
+     * @param rotations number of clockwise rotations to apply to the current piece
+     * @param swap      whether to swap pieces before rotating
+     * @param delay     virtual milliseconds before the move is made
+     */
+    public Placement(int x, int y, int rotations, boolean swap, long delay) {
+        this.x = x;
+        this.y = y;
+        this.rotations = rotations;
+        this.swap = swap;
+        this.delay = delay;
+    }
+
+    /**
+     * Get the column to click
+     *
+     * @return column
+     */
+    public int getX() {
+        return x;
+    }
+
+    /**
+     * Get the row to click
+     *
+     * @return row
+     */
+    public int getY() {
+        return y;
+    }
+
+    /**
+     * Get the number of clockwise rotations to apply
+     *
+     * @return rotations
+     */
+    public int getRotations() {
+        return rotations;
+    }
+
+    /**
+     * Whether to swap pieces before rotating
+     *
+     * @return true to swap
+     */
+    public boolean isSwap() {
+        return swap;
+    }
+
+    /**
+     * Get the time spent thinking before the move is made
+     *
+     * @return delay in virtual milliseconds
+     */
+    public long getDelay() {
+        return delay;
+    }
+
+    /**
+     * Return a string representation of this Placement
+     *
+     * @return string representation
+     */
+    @Override
+    public String toString() {
+        return (swap ? "swap, " : "") + "rotate " + rotations + ", click " + x + "," + y + " after " + delay + "ms";
+    }
+}
@@ -0,0 +1,21 @@
+package uk.ac.soton.comp1206.sim;
+
+import uk.ac.soton.comp1206.game.Game;
+
+import java.util.SplittableRandom;
+
+/**
+ * A Placement Policy decides how a simulated player plays. The Simulator calls the same policy from many threads at
+ * once, each with its own game and random source, so implementations should keep no state of their own.
+ */
+public interface PlacementPolicy {
+
+    /**
+     * Choose the next move to make in a game.
+     *
+     * @param game   the game being played
+     * @param random random source for this game
+     * @return the move, or null to do nothing and let the game loop run out
+     */
+    Placement choose(Game game, SplittableRandom random);
+}
@@ -0,0 +1,103 @@
+package uk.ac.soton.comp1206.sim;
+
+import uk.ac.soton.comp1206.game.Game;
+import uk.ac.soton.comp1206.game.GamePiece;
+import uk.ac.soton.comp1206.game.Grid;
+
+import java.util.SplittableRandom;
+
+/**
+ * A policy which plays a random legal placement of either piece, in any rotation, after a random thinking time.
+ */
+public class RandomPlacementPolicy implements PlacementPolicy {
+
+    /**
+     * Shortest thinking time in milliseconds
+     */
+    private final long minDelay;
+
+    /**
+     * Longest thinking time in milliseconds
+     */
+    private final long maxDelay;
+
+    /**
+     * Create a policy which moves after between one and three seconds.
+     */
+    public RandomPlacementPolicy() {
+        this(1000, 3000);
+    }
+
+    /**
+     * Create a new RandomPlacementPolicy
+     *
+     * @param minDelay shortest thinking time in milliseconds
+     * @param maxDelay longest thinking time in milliseconds
+     */
+    public RandomPlacementPolicy(long minDelay, long maxDelay) {
+        if (minDelay < 0 || maxDelay < minDelay) {
+            throw new IllegalArgumentException("Invalid delay: " + minDelay + "-" + maxDelay);
+        }
+        this.minDelay = minDelay;
+        this.maxDelay = maxDelay;
+    }
+
+    @Override
+    public Placement choose(Game game, SplittableRandom random) {
+        // Count the legal placements first, then walk them again to find the chosen one
+        int count = find(game, -1);
+        if (count == 0) {
+            return null;
+        }
+        int chosen = find(game, random.nextInt(count));
+
+        // Unpack the chosen placement
+        int width = game.getCols() + GamePiece.SIZE;
+        int height = game.getRows() + GamePiece.SIZE;
+        int x = chosen % width - GamePiece.SIZE;
+        int y = (chosen / width) % height - GamePiece.SIZE;
+        int rotations = (chosen / (width * height)) % GamePiece.ROTATIONS;
+        boolean swap = chosen / (width * height * GamePiece.ROTATIONS) != 0;
+        long delay = minDelay + random.nextLong(maxDelay - minDelay + 1);
+
+        // Clicks are made on the centre of the piece
+        return new Placement(x + 1, y + 1, rotations, swap, delay);
+    }
+
+    /**
+     * Walk every legal placement of the current and following piece.
+     *
+     * @param game   the game being played
+     * @param target index of the placement to find, or -1 to count them
+     * @return the number of legal placements if counting, otherwise the encoded placement that was found. The piece
+     * origin is offset by the piece size in the encoding, as it can be off the top or left of the grid.
+     */
+    private int find(Game game, int target) {
+        Grid grid = game.getGrid();
+        int cols = game.getCols();
+        int rows = game.getRows();
+        int width = cols + GamePiece.SIZE;
+        int height = rows + GamePiece.SIZE;
+        int found = 0;
+
+        for (int swap = 0; swap < 2; swap++) {
+            GamePiece piece = swap == 0 ? game.getCurrentPiece() : game.getFollowingPiece();
+            for (int rotations = 0; rotations < GamePiece.ROTATIONS; rotations++) {
+                GamePiece rotated = piece.rotate(rotations);
+                for (int y = -rotated.getMinY(); y < rows - rotated.getMaxY(); y++) {
+                    for (int x = -rotated.getMinX(); x < cols - rotated.getMaxX(); x++) {
+                        if (!grid.canPlayPiece(rotated, x, y)) {
+                            continue;
+                        }
+                        if (found == target) {
+                            return ((swap * GamePiece.ROTATIONS + rotations) * height + y + GamePiece.SIZE) * width
+                                    + x + GamePiece.SIZE;
+                        }
+                        found++;
+                    }
+                }
+            }
+        }
+        return found;
+    }
+}
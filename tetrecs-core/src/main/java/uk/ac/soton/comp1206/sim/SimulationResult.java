@@ -0,0 +1,133 @@
+package uk.ac.soton.comp1206.sim;
+
+/**
+ * The outcome of a batch of simulated games.
+ */
+public class SimulationResult {
+
+    /**
+     * Final score of each game
+     */
+    private final Distribution scores;
+
+    /**
+     * Final level of each game
+     */
+    private final Distribution levels;
+
+    /**
+     * Number of lives lost in each game, counting the one that ended it
+     */
+    private final Distribution livesLost;
+
+    /**
+     * Number of pieces played in each game
+     */
+    private final Distribution pieces;
+
+    /**
+     * Number of games stopped at the piece limit rather than played to the end
+     */
+    private final int unfinished;
+
+    /**
+     * Wall clock time the batch took in milliseconds
+     */
+    private final long elapsed;
+
+    /**
+     * Create a new SimulationResult
+     *
+     * @param scores     final score of each game
+     * @param levels     final level of each game
+     * @param livesLost  lives lost in each game
+     * @param pieces     pieces played in each game
+     * @param unfinished number of games stopped at the piece limit
+     * @param elapsed    wall clock time in milliseconds
+     */
+    public SimulationResult(int[] scores, int[] levels, int[] livesLost, int[] pieces, int unfinished, long elapsed) {
+        this.scores = new Distribution(scores);
+        this.levels = new Distribution(levels);
+        this.livesLost = new Distribution(livesLost);
+        this.pieces = new Distribution(pieces);
+        this.unfinished = unfinished;
+        this.elapsed = elapsed;
+    }
+
+    /**
+     * Get the number of games played
+     *
+     * @return games
+     */
+    public int getGames() {
+        return scores.getCount();
+    }
+
+    /**
+     * Get the distribution of final scores
+     *
+     * @return scores
+     */
+    public Distribution getScores() {
+        return scores;
+    }
+
+    /**
+     * Get the distribution of final levels
+     *
+     * @return levels
+     */
+    public Distribution getLevels() {
+        return levels;
+    }
+
+    /**
+     * Get the distribution of lives lost
+     *
+     * @return lives lost
+     */
+    public Distribution getLivesLost() {
+        return livesLost;
+    }
+
+    /**
+     * Get the distribution of pieces played
+     *
+     * @return pieces
+     */
+    public Distribution getPieces() {
+        return pieces;
+    }
+
+    /**
+     * Get the number of games stopped at the piece limit
+     *
+     * @return unfinished games
+     */
+    public int getUnfinished() {
+        return unfinished;
+    }
+
+    /**
+     * Get the wall clock time the batch took
+     *
+     * @return elapsed milliseconds
+     */
+    public long getElapsed() {
+        return elapsed;
+    }
+
+    /**
+     * Return a string representation of this SimulationResult
+     *
+     * @return string representation
+     */
+    @Override
+    public String toString() {
+        return getGames() + " games in " + elapsed + "ms (" + unfinished + " unfinished)\n"
+                + "  score:      " + scores + "\n"
+                + "  level:      " + levels + "\n"
+                + "  lives lost: " + livesLost + "\n"
+                + "  pieces:     " + pieces;
+    }
+}
@@ -0,0 +1,271 @@
+package uk.ac.soton.comp1206.sim;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import uk.ac.soton.comp1206.game.Game;
+import uk.ac.soton.comp1206.game.PieceSource;
+import uk.ac.soton.comp1206.game.SingleplayerGame;
+import uk.ac.soton.comp1206.timer.VirtualScheduler;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The Simulator plays batches of complete games with a PlacementPolicy and reports how they went, for trying out
+ * changes to the scoring and game loop rules.
+ * <p>
+ * Each game runs on a VirtualScheduler, so the game loop timer expires as soon as the simulated player runs out of
+ * time rather than after real seconds. Games are independent and split across a fork-join pool to use every core.
+ */
+public class Simulator {
+
+    private static final Logger logger = LogManager.getLogger(Simulator.class);
+
+    /**
+     * Number of games each fork-join task plays without splitting further
+     */
+    private static final int GAMES_PER_TASK = 64;
+
+    /**
+     * Default number of pieces after which a game is stopped
+     */
+    private static final int DEFAULT_MAX_PIECES = 10000;
+
+    /**
+     * Number of columns
+     */
+    private final int cols;
+
+    /**
+     * Number of rows
+     */
+    private final int rows;
+
+    /**
+     * Policy the simulated players use
+     */
+    private final PlacementPolicy policy;
+
+    /**
+     * Factory for the games to play
+     */
+    private final GameFactory factory;
+
+    /**
+     * Pool to play games on
+     */
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    /**
+     * Number of pieces after which a game is stopped, in case the policy never loses
+     */
+    private int maxPieces = DEFAULT_MAX_PIECES;
+
+    /**
+     * Create a Simulator which plays SingleplayerGames
+     *
+     * @param cols   number of columns
+     * @param rows   number of rows
+     * @param policy policy the simulated players use
+     */
+    public Simulator(int cols, int rows, PlacementPolicy policy) {
+        this(cols, rows, policy, SingleplayerGame::new);
+    }
+
+    /**
+     * Create a Simulator
+     *
+     * @param cols    number of columns
+     * @param rows    number of rows
+     * @param policy  policy the simulated players use
+     * @param factory factory for the games to play
+     */
+    public Simulator(int cols, int rows, PlacementPolicy policy, GameFactory factory) {
+        this.cols = cols;
+        this.rows = rows;
+        this.policy = policy;
+        this.factory = factory;
+    }
+
+    /**
+     * Set the pool to play games on. The common pool is used by default.
+     *
+     * @param pool fork-join pool
+     */
+    public void setPool(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Set the number of pieces after which a game is stopped.
+     *
+     * @param maxPieces piece limit
+     */
+    public void setMaxPieces(int maxPieces) {
+        this.maxPieces = maxPieces;
+    }
+
+    /**
+     * Play a batch of games. Game i draws its pieces and its policy's choices from two sources split from one seeded
+     * with seed + i, so for a given seed every game deals the same pieces and the same policy makes the same choices,
+     * and a rule change can be compared on identical games.
+     *
+     * @param games number of games to play
+     * @param seed  seed for the piece and policy random sources
+     * @return the results
+     */
+    public SimulationResult run(int games, long seed) {
+        logger.info("Simulating {} games on a {}x{} grid", games, cols, rows);
+        long started = System.currentTimeMillis();
+
+        Batch batch = new Batch(games, seed);
+        pool.invoke(new PlayTask(batch, 0, games));
+
+        int unfinished = 0;
+        for (boolean finished : batch.finished) {
+            if (!finished) {
+                unfinished++;
+            }
+        }
+        SimulationResult result = new SimulationResult(batch.scores, batch.levels, batch.livesLost, batch.pieces,
+                unfinished, System.currentTimeMillis() - started);
+        logger.info("Simulation finished in {}ms", result.getElapsed());
+        return result;
+    }
+
+    /**
+     * Play a single game to the end, or until the piece limit is reached.
+     *
+     * @param batch batch to record the result in
+     * @param index index of the game in the batch
+     */
+    private void play(Batch batch, int index) {
+        VirtualScheduler scheduler = new VirtualScheduler();
+        SplittableRandom seeds = new SplittableRandom(batch.seed + index);
+        Game game = factory.create(cols, rows, scheduler, new PieceSource(seeds.nextLong()));
+        SplittableRandom random = seeds.split();
+
+        // Game over is delivered straight away, as the game uses the default executor
+        boolean[] over = new boolean[1];
+        game.setOnGameOver(() -> over[0] = true);
+        game.start();
+
+        int pieces = 0;
+        int livesLost = 0;
+        while (!over[0] && pieces < maxPieces) {
+            Placement placement = policy.choose(game, random);
+
+            // Nothing to play, so wait for the loop to run out
+            if (placement == null) {
+                livesLost += scheduler.advanceToNextExpiry() ? 1 : 0;
+                continue;
+            }
+
+            // Think, and choose again if the loop ran out in the meantime
+            int expired = scheduler.advance(placement.getDelay());
+            if (expired > 0) {
+                livesLost += expired;
+                continue;
+            }
+
+            if (placement.isSwap()) {
+                game.swapCurrentPiece();
+            }
+            if (placement.getRotations() != 0) {
+                game.rotatePiece(placement.getRotations());
+            }
+            if (game.blockClicked(placement.getX(), placement.getY())) {
+                game.restartGameLoop();
+                pieces++;
+            } else {
+                // An illegal move wastes the rest of the loop
+                livesLost += scheduler.advanceToNextExpiry() ? 1 : 0;
+            }
+        }
+        game.stop();
+
+        batch.scores[index] = game.getScore();
+        batch.levels[index] = game.getLevel();
+        // The expiry which ended the game took no life, as there were none left
+        batch.livesLost[index] = over[0] ? livesLost - 1 : livesLost;
+        batch.pieces[index] = pieces;
+        batch.finished[index] = over[0];
+    }
+
+    /**
+     * Results of a batch, filled in by index as each game finishes.
+     */
+    private static class Batch {
+        private final long seed;
+        private final int[] scores;
+        private final int[] levels;
+        private final int[] livesLost;
+        private final int[] pieces;
+        private final boolean[] finished;
+
+        /**
+         * Create a new Batch
+         *
+         * @param games number of games
+         * @param seed  seed for the policy random sources
+         */
+        private Batch(int games, long seed) {
+            this.seed = seed;
+            scores = new int[games];
+            levels = new int[games];
+            livesLost = new int[games];
+            pieces = new int[games];
+            finished = new boolean[games];
+        }
+    }
+
+    /**
+     * Plays a range of games in a batch, splitting in half until the range is small enough.
+     */
+    private class PlayTask extends RecursiveAction {
+        private final Batch batch;
+        private final int from;
+        private final int to;
+
+        /**
+         * Create a new PlayTask
+         *
+         * @param batch batch to record results in
+         * @param from  index of the first game
+         * @param to    index after the last game
+         */
+        private PlayTask(Batch batch, int from, int to) {
+            this.batch = batch;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= GAMES_PER_TASK) {
+                for (int i = from; i < to; i++) {
+                    play(batch, i);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new PlayTask(batch, from, middle), new PlayTask(batch, middle, to));
+        }
+    }
+
+    /**
+     * Play a batch of random games and print the results.
+     *
+     * @param args number of games, columns, rows and seed, all optional
+     */
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        int cols = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        int rows = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 0;
+
+        Simulator simulator = new Simulator(cols, rows, new RandomPlacementPolicy());
+        System.out.println(simulator.run(games, seed));
+    }
+}
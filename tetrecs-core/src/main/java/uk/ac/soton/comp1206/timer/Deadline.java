@@ -0,0 +1,133 @@
+package uk.ac.soton.comp1206.timer;
+
+import uk.ac.soton.comp1206.event.DeadlineListener;
+
+/**
+ * A Deadline is a single cancellable timeout, such as the end of a game loop. As well as expiring, it can raise
+ * warnings at fixed fractions of its duration, so a game only ever needs one entry in a GameScheduler however many
+ * warnings it wants.
+ * <p>
+ * A Deadline is reused for every loop of a game: starting it again moves it rather than creating a new timeout.
+ * Its scheduling state is owned by the GameScheduler it was started on.
+ */
+public class Deadline {
+
+    /**
+     * Listener to tell about warnings and expiry.
+     */
+    private final DeadlineListener listener;
+
+    /**
+     * Fractions of the duration at which to raise warnings, in ascending order.
+     */
+    private final double[] warnings;
+
+    /**
+     * Time the deadline was started, in scheduler time.
+     */
+    long start;
+
+    /**
+     * Length of the deadline in milliseconds.
+     */
+    long duration;
+
+    /**
+     * Number of warnings raised so far. Equal to the number of warnings once only expiry remains.
+     */
+    int stage;
+
+    /**
+     * Incremented every time the deadline is started or cancelled, so stale events can be ignored.
+     */
+    volatile long generation;
+
+    /**
+     * Scheduler specific position of this deadline, e.g. the wheel tick it is due on.
+     */
+    long due;
+
+    /**
+     * Links to the neighbouring deadlines in the scheduler bucket holding this one.
+     */
+    Deadline next;
+    Deadline prev;
+
+    /**
+     * Whether the deadline is currently held by a scheduler.
+     */
+    boolean scheduled;
+
+    /**
+     * Create a new Deadline.
+     *
+     * @param listener listener to tell about warnings and expiry
+     * @param warnings fractions of the duration at which to raise warnings, in ascending order
+     */
+    public Deadline(DeadlineListener listener, double... warnings) {
+        this.listener = listener;
+        this.warnings = warnings.clone();
+    }
+
+    /**
+     * Reset the deadline to start counting down from the given time.
+     *
+     * @param now      current scheduler time
+     * @param duration length of the deadline in milliseconds
+     */
+    void reset(long now, long duration) {
+        this.start = now;
+        this.duration = duration;
+        this.stage = 0;
+        this.generation++;
+    }
+
+    /**
+     * Get the time of the next warning or expiry.
+     *
+     * @return next event time in scheduler time
+     */
+    long nextEventTime() {
+        if (stage < warnings.length) {
+            return start + (long) (duration * warnings[stage]);
+        }
+        return start + duration;
+    }
+
+    /**
+     * Whether only the expiry is left to happen.
+     *
+     * @return true if all warnings have been raised
+     */
+    boolean isExpiring() {
+        return stage >= warnings.length;
+    }
+
+    /**
+     * Tell the listener about the event that has just been reached. Called by the scheduler after it has advanced
+     * the stage, without holding any scheduler locks.
+     *
+     * @param event      the stage that was reached
+     * @param generation the generation the event belongs to
+     */
+    void fire(int event, long generation) {
+        if (generation != this.generation) {
+            // The deadline was restarted or cancelled after this event was collected
+            return;
+        }
+        if (event < warnings.length) {
+            listener.deadlineWarning(event);
+        } else {
+            listener.deadlineExpired();
+        }
+    }
+
+    /**
+     * Get the time the deadline will expire, in scheduler time.
+     *
+     * @return expiry time
+     */
+    public long getExpiry() {
+        return start + duration;
+    }
+}
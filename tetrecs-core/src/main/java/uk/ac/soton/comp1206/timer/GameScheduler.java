@@ -0,0 +1,30 @@
+package uk.ac.soton.comp1206.timer;
+
+/**
+ * A GameScheduler drives the Deadlines of one or more games, telling each deadline's listener when its warnings and
+ * expiry are reached.
+ */
+public interface GameScheduler {
+
+    /**
+     * Get the current time as seen by this scheduler.
+     *
+     * @return time in milliseconds
+     */
+    long currentTimeMillis();
+
+    /**
+     * Start a deadline counting down from now, replacing any countdown it already had.
+     *
+     * @param deadline the deadline to start
+     * @param duration length of the deadline in milliseconds
+     */
+    void start(Deadline deadline, long duration);
+
+    /**
+     * Cancel a deadline so none of its remaining events happen.
+     *
+     * @param deadline the deadline to cancel
+     */
+    void cancel(Deadline deadline);
+}
@@ -0,0 +1,249 @@
+package uk.ac.soton.comp1206.timer;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A hashed timing wheel which drives the deadlines of many games from a single thread.
+ * <p>
+ * Time is split into ticks, and each deadline is linked into the bucket for the tick it is due on. Every tick the
+ * worker thread visits one bucket and fires the deadlines in it which are due; deadlines due on a later turn of the
+ * wheel are left where they are. Starting or cancelling a deadline just moves it between buckets, so restarting a game
+ * loop allocates nothing.
+ */
+public class TimingWheel implements GameScheduler {
+
+    private static final Logger logger = LogManager.getLogger(TimingWheel.class);
+
+    /**
+     * Length of a tick in milliseconds for the shared wheel.
+     */
+    private static final long DEFAULT_TICK = 10;
+
+    /**
+     * Number of buckets in the shared wheel.
+     */
+    private static final int DEFAULT_BUCKETS = 512;
+
+    /**
+     * The wheel shared by all games, created when first used.
+     */
+    private static TimingWheel shared;
+
+    /**
+     * Length of a tick in milliseconds.
+     */
+    private final long tick;
+
+    /**
+     * Head of the list of deadlines in each bucket.
+     */
+    private final Deadline[] buckets;
+
+    /**
+     * Mask to turn a tick number into a bucket index.
+     */
+    private final int mask;
+
+    /**
+     * Time the wheel was created, which scheduler time is measured from.
+     */
+    private final long startNanos = System.nanoTime();
+
+    /**
+     * Deadlines reached during the current tick, with the event and generation each reached. Only used by the worker.
+     */
+    private final ArrayList<Deadline> reached = new ArrayList<>();
+    private int[] reachedEvents = new int[16];
+    private long[] reachedGenerations = new long[16];
+
+    /**
+     * The thread which turns the wheel.
+     */
+    private final Thread worker;
+
+    /**
+     * The tick the worker will process next.
+     */
+    private long currentTick = 0;
+
+    /**
+     * Create a new timing wheel and start its worker thread.
+     *
+     * @param tick    length of a tick in milliseconds
+     * @param buckets number of buckets, which must be a power of two
+     */
+    public TimingWheel(long tick, int buckets) {
+        if (tick <= 0 || buckets <= 0 || Integer.bitCount(buckets) != 1) {
+            throw new IllegalArgumentException("Invalid timing wheel: " + tick + "ms x " + buckets);
+        }
+        this.tick = tick;
+        this.buckets = new Deadline[buckets];
+        this.mask = buckets - 1;
+
+        worker = new Thread(this::run, "game-timer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Get the timing wheel shared by all games.
+     *
+     * @return shared timing wheel
+     */
+    public static synchronized TimingWheel getShared() {
+        if (shared == null) {
+            logger.info("Starting shared timing wheel");
+            shared = new TimingWheel(DEFAULT_TICK, DEFAULT_BUCKETS);
+        }
+        return shared;
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    @Override
+    public synchronized void start(Deadline deadline, long duration) {
+        unlink(deadline);
+        deadline.reset(currentTimeMillis(), duration);
+        link(deadline);
+    }
+
+    @Override
+    public synchronized void cancel(Deadline deadline) {
+        unlink(deadline);
+        deadline.generation++;
+    }
+
+    /**
+     * Stop the worker thread. Any deadlines still scheduled will never fire.
+     */
+    public void shutdown() {
+        worker.interrupt();
+    }
+
+    /**
+     * Link a deadline into the bucket for the tick its next event is due on.
+     *
+     * @param deadline deadline to link
+     */
+    private void link(Deadline deadline) {
+        // A tick is processed once it has ended, so never schedule into one which has already been processed
+        long due = Math.max(deadline.nextEventTime() / tick, currentTick);
+        int index = (int) (due & mask);
+
+        deadline.due = due;
+        deadline.prev = null;
+        deadline.next = buckets[index];
+        if (buckets[index] != null) {
+            buckets[index].prev = deadline;
+        }
+        buckets[index] = deadline;
+        deadline.scheduled = true;
+    }
+
+    /**
+     * Unlink a deadline from whichever bucket holds it.
+     *
+     * @param deadline deadline to unlink
+     */
+    private void unlink(Deadline deadline) {
+        if (!deadline.scheduled) {
+            return;
+        }
+        if (deadline.prev != null) {
+            deadline.prev.next = deadline.next;
+        } else {
+            buckets[(int) (deadline.due & mask)] = deadline.next;
+        }
+        if (deadline.next != null) {
+            deadline.next.prev = deadline.prev;
+        }
+        deadline.next = null;
+        deadline.prev = null;
+        deadline.scheduled = false;
+    }
+
+    /**
+     * Turn the wheel until interrupted.
+     */
+    private void run() {
+        try {
+            while (true) {
+                // Wait for the end of the next tick
+                long sleep;
+                synchronized (this) {
+                    sleep = (currentTick + 1) * tick - currentTimeMillis();
+                }
+                if (sleep > 0) {
+                    Thread.sleep(sleep);
+                }
+                collect();
+                fire();
+            }
+        } catch (InterruptedException e) {
+            logger.info("Timing wheel stopped");
+        }
+    }
+
+    /**
+     * Collect the deadlines due on the current tick, moving on to their next event.
+     */
+    private synchronized void collect() {
+        long processing = currentTick++;
+        Deadline deadline = buckets[(int) (processing & mask)];
+        while (deadline != null) {
+            Deadline next = deadline.next;
+            if (deadline.due <= processing) {
+                unlink(deadline);
+
+                // Remember which event was reached, then schedule the one after it
+                int event = deadline.stage;
+                if (!deadline.isExpiring()) {
+                    deadline.stage++;
+                    link(deadline);
+                }
+                addReached(deadline, event);
+            }
+            deadline = next;
+        }
+    }
+
+    /**
+     * Record a deadline reached this tick.
+     *
+     * @param deadline the deadline
+     * @param event    the event it reached
+     */
+    private void addReached(Deadline deadline, int event) {
+        int size = reached.size();
+        if (size == reachedEvents.length) {
+            reachedEvents = Arrays.copyOf(reachedEvents, size * 2);
+            reachedGenerations = Arrays.copyOf(reachedGenerations, size * 2);
+        }
+        reachedEvents[size] = event;
+        reachedGenerations[size] = deadline.generation;
+        reached.add(deadline);
+    }
+
+    /**
+     * Tell listeners about the deadlines reached this tick, outside the lock so they can start deadlines again.
+     */
+    private void fire() {
+        for (int i = 0; i < reached.size(); i++) {
+            try {
+                reached.get(i).fire(reachedEvents[i], reachedGenerations[i]);
+            } catch (Exception e) {
+                logger.error("Deadline listener failed: " + e.getMessage());
+                e.printStackTrace();
+            }
+        }
+        reached.clear();
+    }
+}
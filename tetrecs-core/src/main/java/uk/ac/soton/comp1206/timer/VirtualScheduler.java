@@ -0,0 +1,125 @@
+package uk.ac.soton.comp1206.timer;
+
+import java.util.ArrayList;
+
+/**
+ * A GameScheduler with a virtual clock, for running games faster than real time. Time only moves when {@link #advance}
+ * or {@link #advanceToNextExpiry} is called, and deadline events are fired on the calling thread as the clock passes
+ * them.
+ * <p>
+ * A VirtualScheduler is not thread safe; each simulated game should have its own.
+ */
+public class VirtualScheduler implements GameScheduler {
+
+    /**
+     * Deadlines currently scheduled.
+     */
+    private final ArrayList<Deadline> deadlines = new ArrayList<>();
+
+    /**
+     * The current virtual time.
+     */
+    private long now = 0;
+
+    @Override
+    public long currentTimeMillis() {
+        return now;
+    }
+
+    @Override
+    public void start(Deadline deadline, long duration) {
+        deadline.reset(now, duration);
+        if (!deadline.scheduled) {
+            deadline.scheduled = true;
+            deadlines.add(deadline);
+        }
+    }
+
+    @Override
+    public void cancel(Deadline deadline) {
+        if (deadline.scheduled) {
+            deadline.scheduled = false;
+            deadlines.remove(deadline);
+        }
+        deadline.generation++;
+    }
+
+    /**
+     * Move the clock forward, firing every deadline event reached on the way in time order.
+     *
+     * @param millis how far to move the clock
+     * @return number of deadlines which expired
+     */
+    public int advance(long millis) {
+        long target = now + millis;
+        int expired = 0;
+        Deadline deadline;
+        while ((deadline = earliest()) != null && deadline.nextEventTime() <= target) {
+            if (fireNext(deadline)) {
+                expired++;
+            }
+        }
+        now = target;
+        return expired;
+    }
+
+    /**
+     * Move the clock straight to the next expiry, firing any warnings before it.
+     *
+     * @return false if there was nothing scheduled to expire
+     */
+    public boolean advanceToNextExpiry() {
+        Deadline deadline;
+        while ((deadline = earliest()) != null) {
+            if (fireNext(deadline)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get the number of deadlines currently scheduled.
+     *
+     * @return number of deadlines
+     */
+    public int getScheduledCount() {
+        return deadlines.size();
+    }
+
+    /**
+     * Find the deadline with the earliest next event.
+     *
+     * @return the deadline, or null if none are scheduled
+     */
+    private Deadline earliest() {
+        Deadline earliest = null;
+        for (int i = 0; i < deadlines.size(); i++) {
+            Deadline deadline = deadlines.get(i);
+            if (earliest == null || deadline.nextEventTime() < earliest.nextEventTime()) {
+                earliest = deadline;
+            }
+        }
+        return earliest;
+    }
+
+    /**
+     * Move the clock to the next event of a deadline and fire it.
+     *
+     * @param deadline the deadline
+     * @return whether the event was the deadline expiring
+     */
+    private boolean fireNext(Deadline deadline) {
+        now = Math.max(now, deadline.nextEventTime());
+        int event = deadline.stage;
+        boolean expiring = deadline.isExpiring();
+        if (expiring) {
+            deadline.scheduled = false;
+            deadlines.remove(deadline);
+        } else {
+            deadline.stage++;
+        }
+        deadline.fire(event, deadline.generation);
+        return expiring;
+    }
+}